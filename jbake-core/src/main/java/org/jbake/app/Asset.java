@@ -1,19 +1,30 @@
 package org.jbake.app;
 
 import org.apache.commons.configuration2.CompositeConfiguration;
-import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.IOUtils;
 import org.jbake.app.configuration.JBakeConfiguration;
 import org.jbake.app.configuration.JBakeConfigurationFactory;
+import org.jbake.util.ParallelExecutor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.File;
 import java.io.FileFilter;
 import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Deals with assets (static files such as css, js or image files).
@@ -23,8 +34,15 @@ import java.util.List;
 public class Asset {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(Asset.class);
-    private final List<Throwable> errors = new LinkedList<>();
+    private static final int CLONE_BATCH_SIZE = 200;
+    private final List<Throwable> errors = Collections.synchronizedList(new LinkedList<Throwable>());
+    private final List<File> copiedFiles = Collections.synchronizedList(new LinkedList<File>());
+    private final Set<String> assetPaths = Collections.synchronizedSet(new HashSet<String>());
+    private final AtomicInteger unchangedCount = new AtomicInteger();
     private final JBakeConfiguration config;
+    private final CopyMode copyMode;
+    private volatile Boolean cloneSupported;
+    private volatile AssetManifest manifest;
 
     /**
      * @param source      Source file for the asset
@@ -37,6 +55,7 @@ public class Asset {
     @Deprecated
     public Asset(File source, File destination, CompositeConfiguration config) {
         this.config = new JBakeConfigurationFactory().createDefaultJbakeConfiguration(source, destination, config);
+        this.copyMode = CopyMode.of(this.config.getAssetCopyMode());
     }
 
     /**
@@ -46,6 +65,7 @@ public class Asset {
      */
     public Asset(JBakeConfiguration config) {
         this.config = config;
+        this.copyMode = CopyMode.of(config.getAssetCopyMode());
     }
 
     /**
@@ -62,13 +82,65 @@ public class Asset {
      * @param path The starting path
      */
     public void copy(File path) {
-        FileFilter filter = new FileFilter() {
+        copy(path, config.getDestinationFolder(), assetFilter());
+    }
+
+    private FileFilter assetFilter() {
+        return new FileFilter() {
             @Override
             public boolean accept(File file) {
                 return (!config.getAssetIgnoreHidden() || !file.isHidden()) && (file.isFile() || FileUtil.directoryOnlyIfNotIgnored(file, config));
             }
         };
-        copy(path, config.getDestinationFolder(), filter);
+    }
+
+    /**
+     * Hashes the content of all asset files and writes the asset manifest to the destination folder. Assets copied
+     * afterwards also get a fingerprinted copy, whose file name contains the hash.
+     * Hashes are reused from the manifest of the previous bake for assets with the same size and modification time.
+     *
+     * @return the asset manifest
+     */
+    public AssetManifest fingerprint() {
+        File manifestFile = new File(config.getDestinationFolder(), config.getAssetFingerprintManifest());
+        AssetManifest previous = AssetManifest.read(manifestFile);
+        AssetManifest next = new AssetManifest();
+
+        List<Callable<Void>> tasks = new ArrayList<>();
+        collectFingerprints(config.getAssetFolder(), "", assetFilter(), previous, next, tasks);
+        collectFingerprints(config.getContentFolder(), "", FileUtil.getNotContentFileFilter(config), previous, next, tasks);
+        errors.addAll(ParallelExecutor.run(config.getRenderThreads(), "fingerprints", tasks));
+
+        try {
+            next.write(manifestFile);
+            assetPaths.add(config.getAssetFingerprintManifest());
+        } catch (IOException e) {
+            LOGGER.error("Writing asset manifest [{}]... failed!", manifestFile, e);
+            errors.add(e);
+        }
+        manifest = next;
+        return next;
+    }
+
+    private void collectFingerprints(File sourceFolder, String prefix, FileFilter filter, final AssetManifest previous,
+                                     final AssetManifest next, List<Callable<Void>> tasks) {
+        final File[] assets = sourceFolder.listFiles(filter);
+        if (assets != null) {
+            for (final File asset : assets) {
+                final String path = prefix + asset.getName();
+                if (asset.isFile()) {
+                    tasks.add(new Callable<Void>() {
+                        @Override
+                        public Void call() throws Exception {
+                            next.add(path, asset, previous);
+                            return null;
+                        }
+                    });
+                } else if (asset.isDirectory()) {
+                    collectFingerprints(asset, path + FileUtil.URI_SEPARATOR_CHAR, filter, previous, next, tasks);
+                }
+            }
+        }
     }
 
     /**
@@ -131,6 +203,41 @@ public class Asset {
         return new ArrayList<>(errors);
     }
 
+    /**
+     * Accessor method to the paths of all asset files in the destination folder, whether they were copied during
+     * the bake or were already up to date
+     *
+     * @return a set of paths relative to the destination folder.
+     */
+    public Set<String> getAssetPaths() {
+        synchronized (assetPaths) {
+            return new HashSet<>(assetPaths);
+        }
+    }
+
+    /**
+     * @return the asset manifest written by {@link #fingerprint()}, or null if assets are not fingerprinted
+     */
+    public AssetManifest getManifest() {
+        return manifest;
+    }
+
+    /**
+     * @return the number of asset files which were not copied because they were up to date
+     */
+    public int getUnchangedCount() {
+        return unchangedCount.get();
+    }
+
+    /**
+     * Accessor method to the files copied to the destination folder during the bake
+     *
+     * @return a list of copied files.
+     */
+    public List<File> getCopiedFiles() {
+        return new ArrayList<>(copiedFiles);
+    }
+
     private String assetSubPath(File asset) throws IOException {
         // First, strip asset folder from file path
         String targetFolder = asset.getCanonicalPath().replace(config.getAssetFolder().getCanonicalPath() + File.separatorChar, "");
@@ -140,27 +247,335 @@ public class Asset {
     }
 
     private void copy(File sourceFolder, File targetFolder, final FileFilter filter) {
+        List<Callable<Void>> tasks = new ArrayList<>();
+        collect(sourceFolder, targetFolder, filter, tasks);
+        // copyFile records its own I/O errors, unexpected failures of a task are returned
+        errors.addAll(ParallelExecutor.run(config.getRenderThreads(), "assets", tasks));
+    }
+
+    private void collect(File sourceFolder, final File targetFolder, FileFilter filter, List<Callable<Void>> tasks) {
         final File[] assets = sourceFolder.listFiles(filter);
         if (assets != null) {
             Arrays.sort(assets);
-            for (File asset : assets) {
+            // cloning starts a process, the files of a folder are cloned by a single one
+            boolean cloneFolder = copyMode == CopyMode.CLONE && isCloneSupported();
+            final List<File> files = new ArrayList<>();
+            for (final File asset : assets) {
                 final File target = new File(targetFolder, asset.getName());
-                if (asset.isFile()) {
-                    copyFile(asset, target);
+                if (asset.isFile() && cloneFolder) {
+                    files.add(asset);
+                } else if (asset.isFile()) {
+                    tasks.add(new Callable<Void>() {
+                        @Override
+                        public Void call() {
+                            copyIfChanged(asset, target);
+                            return null;
+                        }
+                    });
                 } else if (asset.isDirectory()) {
-                    copy(asset, target, filter);
+                    collect(asset, target, filter, tasks);
+                }
+            }
+            if (!files.isEmpty()) {
+                tasks.add(new Callable<Void>() {
+                    @Override
+                    public Void call() {
+                        cloneIfChanged(files, targetFolder);
+                        return null;
+                    }
+                });
+            }
+        }
+    }
+
+    private void copyIfChanged(File asset, File target) {
+        if (isChanged(asset, target)) {
+            copyFile(asset, target);
+        }
+        copyFingerprinted(asset, target);
+    }
+
+    /**
+     * Clones the changed asset files of a folder, in batches of {@link #CLONE_BATCH_SIZE} files per process.
+     * Files of a batch which could not be cloned are copied.
+     */
+    private void cloneIfChanged(List<File> assets, File targetFolder) {
+        List<File> changed = new ArrayList<>();
+        for (File asset : assets) {
+            if (isChanged(asset, new File(targetFolder, asset.getName()))) {
+                changed.add(asset);
+            }
+        }
+        for (int i = 0; i < changed.size(); i += CLONE_BATCH_SIZE) {
+            List<File> batch = changed.subList(i, Math.min(changed.size(), i + CLONE_BATCH_SIZE));
+            if (!cloneFiles(batch, targetFolder)) {
+                for (File asset : batch) {
+                    copyFile(asset, new File(targetFolder, asset.getName()));
+                }
+            }
+        }
+        for (File asset : assets) {
+            copyFingerprinted(asset, new File(targetFolder, asset.getName()));
+        }
+    }
+
+    private boolean cloneFiles(List<File> assets, File targetFolder) {
+        List<String> sources = new ArrayList<>();
+        try {
+            for (File asset : assets) {
+                Path target = prepareTarget(new File(targetFolder, asset.getName()));
+                Files.deleteIfExists(target);
+                sources.add(asset.getPath());
+            }
+            if (!isCloneSupported() || !clone(sources, targetFolder.toPath())) {
+                return false;
+            }
+        } catch (IOException e) {
+            LOGGER.debug("Unable to clone the assets of [{}], copying them instead", targetFolder, e);
+            return false;
+        }
+        for (File asset : assets) {
+            copiedFiles.add(new File(targetFolder, asset.getName()));
+            LOGGER.info("{} [{}]... done!", CopyMode.CLONE.progress, asset.getPath());
+        }
+        return true;
+    }
+
+    /**
+     * Records the path of an asset in the destination folder and tells whether it has to be published.
+     */
+    private boolean isChanged(File asset, File target) {
+        if (target.toPath().startsWith(config.getDestinationFolder().toPath())) {
+            assetPaths.add(destinationPath(target));
+        }
+        boolean upToDate = false;
+        try {
+            upToDate = isUpToDate(asset, target);
+        } catch (IOException e) {
+            LOGGER.debug("Unable to compare [{}] with [{}], copying it", asset, target, e);
+        }
+        if (upToDate) {
+            LOGGER.debug("Copying [{}]... unchanged, skipped", asset.getPath());
+            unchangedCount.incrementAndGet();
+        }
+        return !upToDate;
+    }
+
+    private String destinationPath(File target) {
+        Path destination = config.getDestinationFolder().toPath();
+        return FileUtil.asPath(destination.relativize(target.toPath()).toFile());
+    }
+
+    /**
+     * Publishes the fingerprinted copy of an asset, if it has one. As its content never changes, copying it is only
+     * needed if it does not exist yet. When assets are copied or cloned, it is a hard link to the copy made already.
+     */
+    private void copyFingerprinted(File asset, File target) {
+        AssetManifest current = manifest;
+        if (current == null || !target.toPath().startsWith(config.getDestinationFolder().toPath())) {
+            return;
+        }
+        String fingerprintedPath = current.getFingerprintedPath(destinationPath(target));
+        if (fingerprintedPath == null) {
+            return;
+        }
+        File copy = new File(config.getDestinationFolder(), fingerprintedPath);
+        assetPaths.add(fingerprintedPath);
+        try {
+            if (isUpToDate(asset, copy)) {
+                return;
+            }
+            Path path = copy.toPath();
+            Files.createDirectories(path.toAbsolutePath().getParent());
+            Files.deleteIfExists(path);
+            if (copyMode == CopyMode.COPY || copyMode == CopyMode.CLONE) {
+                try {
+                    Files.createLink(path, target.toPath());
+                    return;
+                } catch (IOException | UnsupportedOperationException e) {
+                    LOGGER.debug("Unable to link [{}] to [{}], copying it instead", copy, target, e);
                 }
             }
+            CopyMode used = publish(asset.toPath(), path);
+            LOGGER.info("{} [{}] to [{}]... done!", used.progress, asset.getPath(), fingerprintedPath);
+        } catch (IOException e) {
+            LOGGER.error("Copying [{}] to [{}]... failed!", asset.getPath(), fingerprintedPath, e);
+            errors.add(e);
+        }
+    }
+
+    /**
+     * An asset is up to date if the target has the same size and modification time, which the copy preserves.
+     */
+    private boolean isUpToDate(File asset, File target) throws IOException {
+        Path source = asset.toPath();
+        Path copy = target.toPath();
+        if (Files.isSymbolicLink(copy) != (copyMode == CopyMode.SYMLINK)) {
+            // published with another copy mode
+            return false;
+        }
+        return Files.isRegularFile(copy)
+            && Files.size(copy) == Files.size(source)
+            && Files.getLastModifiedTime(copy).equals(Files.getLastModifiedTime(source));
+    }
+
+    /**
+     * Publishes an asset file using the configured copy mode, falling back to copying it if that fails.
+     *
+     * @return the copy mode actually used
+     */
+    private CopyMode publish(Path source, Path target) throws IOException {
+        try {
+            switch (copyMode) {
+                case HARDLINK:
+                    Files.createLink(target, source);
+                    return CopyMode.HARDLINK;
+                case SYMLINK:
+                    Files.createSymbolicLink(target, source.toAbsolutePath());
+                    return CopyMode.SYMLINK;
+                case CLONE:
+                    if (isCloneSupported() && clone(Collections.singletonList(source.toString()), target)) {
+                        return CopyMode.CLONE;
+                    }
+                    break;
+                default:
+                    break;
+            }
+        } catch (IOException | UnsupportedOperationException e) {
+            LOGGER.debug("Unable to {} [{}], copying it instead", copyMode, source, e);
+            Files.deleteIfExists(target);
+        }
+        Files.copy(source, target, StandardCopyOption.COPY_ATTRIBUTES);
+        return CopyMode.COPY;
+    }
+
+    /**
+     * Tells whether the destination folder supports cloning, by cloning a probe file once. Assets are copied for the
+     * whole bake if it does not.
+     */
+    private boolean isCloneSupported() {
+        Boolean supported = cloneSupported;
+        if (supported != null) {
+            return supported;
+        }
+        synchronized (this) {
+            if (cloneSupported == null) {
+                cloneSupported = probeClone();
+            }
+            return cloneSupported;
+        }
+    }
+
+    private boolean probeClone() {
+        Path probe = null;
+        Path clone = null;
+        try {
+            Path folder = Files.createDirectories(config.getDestinationFolder().toPath());
+            probe = Files.createTempFile(folder, ".clone-probe", ".tmp");
+            clone = probe.resolveSibling(probe.getFileName() + ".clone");
+            Files.write(probe, new byte[]{0});
+            return clone(Collections.singletonList(probe.toString()), clone);
+        } catch (IOException e) {
+            LOGGER.warn("Unable to clone asset files, copying them instead", e);
+            return false;
+        } finally {
+            deleteQuietly(probe);
+            deleteQuietly(clone);
+        }
+    }
+
+    /**
+     * Creates copy-on-write clones of files, which share their blocks with the source until either is modified.
+     * Java has no API for this, so it is left to <code>cp</code> on file systems supporting it. A failure is taken
+     * as the file system not supporting it, so there is no point in trying for every file.
+     *
+     * @param sources the files to clone
+     * @param target  the clone of a single file, or the folder to clone the files into
+     * @return true if the clones were created
+     */
+    private boolean clone(List<String> sources, Path target) throws IOException {
+        boolean mac = System.getProperty("os.name", "").toLowerCase(Locale.ENGLISH).startsWith("mac");
+        List<String> command = mac
+            ? new ArrayList<>(Arrays.asList("cp", "-c", "-p"))
+            : new ArrayList<>(Arrays.asList("cp", "--reflink=always", "--preserve=timestamps"));
+        command.addAll(sources);
+        command.add(target.toString());
+        ProcessBuilder builder = new ProcessBuilder(command);
+        builder.redirectErrorStream(true);
+        try {
+            Process process = builder.start();
+            String output = IOUtils.toString(process.getInputStream(), Charset.defaultCharset());
+            if (process.waitFor() == 0) {
+                return true;
+            }
+            LOGGER.warn("Unable to clone asset files, copying them instead: {}", output.trim());
+        } catch (IOException e) {
+            LOGGER.warn("Unable to clone asset files, copying them instead", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while cloning " + sources, e);
+        }
+        cloneSupported = false;
+        return false;
+    }
+
+    private static void deleteQuietly(Path file) {
+        if (file != null) {
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException e) {
+                LOGGER.debug("Unable to delete [{}]", file, e);
+            }
         }
     }
 
+    private Path prepareTarget(File targetFile) throws IOException {
+        Path target = targetFile.toPath();
+        if (Files.exists(target) && !Files.isWritable(target)) {
+            throw new IOException("Destination '" + targetFile + "' exists but is read-only");
+        }
+        Files.createDirectories(target.toAbsolutePath().getParent());
+        return target;
+    }
+
     private void copyFile(File asset, File targetFolder) {
         try {
-            FileUtils.copyFile(asset, targetFolder);
-            LOGGER.info("Copying [{}]... done!", asset.getPath());
+            Path target = prepareTarget(targetFolder);
+            // replace instead of overwriting, the target may be a hard link shared with another output generation
+            Files.deleteIfExists(target);
+            CopyMode used = publish(asset.toPath(), target);
+            copiedFiles.add(targetFolder);
+            LOGGER.info("{} [{}]... done!", used.progress, asset.getPath());
         } catch (IOException e) {
             LOGGER.error("Copying [{}]... failed!", asset.getPath(), e);
             errors.add(e);
         }
     }
+
+    private enum CopyMode {
+        COPY("Copying"), HARDLINK("Hard linking"), SYMLINK("Linking"), CLONE("Cloning");
+
+        private final String progress;
+
+        CopyMode(String progress) {
+            this.progress = progress;
+        }
+
+        static CopyMode of(String mode) {
+            if (mode == null || mode.trim().isEmpty()) {
+                return COPY;
+            }
+            try {
+                return valueOf(mode.trim().toUpperCase(Locale.ENGLISH));
+            } catch (IllegalArgumentException e) {
+                LOGGER.warn("Unknown asset copy mode [{}], copying assets instead", mode);
+                return COPY;
+            }
+        }
+
+        @Override
+        public String toString() {
+            return name().toLowerCase(Locale.ENGLISH);
+        }
+    }
 }
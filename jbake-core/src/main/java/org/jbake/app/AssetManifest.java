@@ -0,0 +1,221 @@
+package org.jbake.app;
+
+import org.jbake.util.Fingerprint;
+import org.json.simple.JSONValue;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.AbstractMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Maps the paths of asset files to the paths of their fingerprinted copies, which contain a hash of their content.
+ * <p>
+ * Templates look up fingerprinted paths through the <code>asset</code> model extractor, either by calling it like
+ * a function, <code>asset("css/app.css")</code>, or as a map, <code>asset["css/app.css"]</code> or
+ * <code>asset.get("css/app.css")</code>, depending on what the template engine supports. Paths without a
+ * fingerprinted copy are returned unchanged.
+ * <p>
+ * The manifest is written to the destination folder as JSON. Besides the fingerprinted path it records the hash, size
+ * and modification time of every asset, so the next bake only hashes assets which changed.
+ */
+public class AssetManifest extends AbstractMap<String, String> {
+
+    /**
+     * Key the signature of the fingerprinted paths is stored with in the content store.
+     */
+    public static final String FINGERPRINT_KEY = "asset-manifest";
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(AssetManifest.class);
+    private static final int HASH_LENGTH = 10;
+    private static final String URL = "url";
+    private static final String SHA1 = "sha1";
+    private static final String SIZE = "size";
+    private static final String MODIFIED = "modified";
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    /**
+     * Reads a manifest written by a previous bake.
+     *
+     * @param file the manifest file
+     * @return the manifest, empty if the file does not exist or can not be read
+     */
+    public static AssetManifest read(File file) {
+        AssetManifest manifest = new AssetManifest();
+        if (!file.isFile()) {
+            return manifest;
+        }
+        try (Reader reader = Files.newBufferedReader(file.toPath(), StandardCharsets.UTF_8)) {
+            Object json = JSONValue.parse(reader);
+            if (json instanceof Map) {
+                for (Map.Entry<?, ?> asset : ((Map<?, ?>) json).entrySet()) {
+                    if (asset.getValue() instanceof Map) {
+                        Map<?, ?> value = (Map<?, ?>) asset.getValue();
+                        manifest.entries.put(asset.getKey().toString(), new Entry(
+                            String.valueOf(value.get(URL)), String.valueOf(value.get(SHA1)),
+                            toLong(value.get(SIZE)), toLong(value.get(MODIFIED))));
+                    }
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            LOGGER.warn("Unable to read asset manifest [{}]", file, e);
+        }
+        return manifest;
+    }
+
+    private static long toLong(Object value) {
+        return value instanceof Number ? ((Number) value).longValue() : -1;
+    }
+
+    /**
+     * Adds an asset, hashing its content unless the previous manifest has a hash for the same size and modification time.
+     *
+     * @param path     the path of the asset relative to the destination folder, using '/' as separator
+     * @param source   the asset file
+     * @param previous the manifest of the previous bake
+     * @throws Exception if the asset could not be hashed
+     */
+    public void add(String path, File source, AssetManifest previous) throws Exception {
+        long size = source.length();
+        long modified = source.lastModified();
+        Entry entry = previous.entries.get(path);
+        if (entry == null || entry.size != size || entry.modified != modified) {
+            String sha1 = FileUtil.sha1(source);
+            entry = new Entry(fingerprintedPath(path, sha1), sha1, size, modified);
+        }
+        entries.put(path, entry);
+    }
+
+    /**
+     * Inserts the beginning of the hash before the extension: <code>css/app.css</code> becomes
+     * <code>css/app.3f9a1c02d4.css</code>.
+     */
+    static String fingerprintedPath(String path, String sha1) {
+        String hash = sha1.substring(0, Math.min(HASH_LENGTH, sha1.length()));
+        int slash = path.lastIndexOf('/');
+        int dot = path.lastIndexOf('.');
+        if (dot <= slash + 1) {
+            return path + "." + hash;
+        }
+        return path.substring(0, dot) + "." + hash + path.substring(dot);
+    }
+
+    /**
+     * Writes the manifest, replacing the file atomically.
+     *
+     * @param file the manifest file
+     * @throws IOException if the manifest could not be written
+     */
+    public void write(File file) throws IOException {
+        Map<String, Object> json = new TreeMap<>();
+        for (Map.Entry<String, Entry> asset : entries.entrySet()) {
+            Map<String, Object> value = new LinkedHashMap<>();
+            value.put(URL, asset.getValue().url);
+            value.put(SHA1, asset.getValue().sha1);
+            value.put(SIZE, asset.getValue().size);
+            value.put(MODIFIED, asset.getValue().modified);
+            json.put(asset.getKey(), value);
+        }
+
+        Path target = file.toPath();
+        Files.createDirectories(target.toAbsolutePath().getParent());
+        // replace instead of overwriting, the manifest may be a hard link shared with another output generation
+        Path temp = target.resolveSibling("." + target.getFileName() + ".tmp");
+        try {
+            Files.write(temp, JSONValue.toJSONString(json).getBytes(StandardCharsets.UTF_8));
+            try {
+                Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * @return a signature of all fingerprinted paths, which changes whenever the content of an asset changes
+     */
+    public String getSignature() {
+        Fingerprint fingerprint = new Fingerprint();
+        for (Map.Entry<String, String> asset : new TreeMap<>(this).entrySet()) {
+            fingerprint.add(asset.getKey()).add(asset.getValue());
+        }
+        return fingerprint.toHex();
+    }
+
+    /**
+     * @param path the path of an asset relative to the destination folder
+     * @return the path of its fingerprinted copy, or null if the asset is not in the manifest
+     */
+    public String getFingerprintedPath(String path) {
+        Entry entry = entries.get(path);
+        return entry == null ? null : entry.url;
+    }
+
+    /**
+     * @param path the path of an asset relative to the destination folder
+     * @return the path of its fingerprinted copy, or the path itself if the asset is not in the manifest
+     */
+    @Override
+    public String get(Object path) {
+        if (path == null) {
+            return null;
+        }
+        String key = path.toString();
+        String url = getFingerprintedPath(key.startsWith("/") ? key.substring(1) : key);
+        return url == null ? key : (key.startsWith("/") ? "/" + url : url);
+    }
+
+    /**
+     * Lets Groovy templates use <code>asset("css/app.css")</code>.
+     *
+     * @param path the path of an asset relative to the destination folder
+     * @return the path of its fingerprinted copy, or the path itself if the asset is not in the manifest
+     */
+    public String call(String path) {
+        return get(path);
+    }
+
+    @Override
+    public boolean containsKey(Object path) {
+        return entries.containsKey(path);
+    }
+
+    @Override
+    public Set<Map.Entry<String, String>> entrySet() {
+        Set<Map.Entry<String, String>> result = new HashSet<>();
+        for (Map.Entry<String, Entry> asset : entries.entrySet()) {
+            result.add(new SimpleImmutableEntry<>(asset.getKey(), asset.getValue().url));
+        }
+        return result;
+    }
+
+    private static final class Entry {
+        private final String url;
+        private final String sha1;
+        private final long size;
+        private final long modified;
+
+        private Entry(String url, String sha1, long size, long modified) {
+            this.url = url;
+            this.sha1 = sha1;
+            this.size = size;
+            this.modified = modified;
+        }
+    }
+}
@@ -44,7 +44,9 @@ import org.slf4j.LoggerFactory;
 
 import java.io.File;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Map;
 import java.util.Set;
 
 /**
@@ -52,7 +54,7 @@ import java.util.Set;
  */
 public class ContentStore {
 
-    private static final String STATEMENT_GET_PUBLISHED_POST_BY_TYPE_AND_TAG = "select * from Documents where status='published' and type='%s' and ? in tags order by date desc";
+    private static final String STATEMENT_GET_PUBLISHED_POST_BY_TYPE_AND_TAG = "select * from Documents where status='published' and type='%s' and ? in tags order by date desc, sourceuri";
     private static final String STATEMENT_GET_DOCUMENT_STATUS_BY_DOCTYPE_AND_URI = "select sha1,rendered from Documents where sourceuri=?";
     private static final String STATEMENT_GET_PUBLISHED_COUNT = "select count(*) as count from Documents where status='published' and type='%s'";
     private static final String STATEMENT_MARK_CONTENT_AS_RENDERD = "update Documents set rendered=true where rendered=false and type='%s' and sourceuri='%s' and cached=true";
@@ -60,14 +62,24 @@ public class ContentStore {
     private static final String STATEMENT_GET_UNDRENDERED_CONTENT = "select * from Documents where rendered=false order by date desc";
     private static final String STATEMENT_GET_SIGNATURE_FOR_TEMPLATES = "select sha1 from Signatures where key='templates'";
     private static final String STATEMENT_GET_TAGS_FROM_PUBLISHED_POSTS = "select tags from Documents where status='published' and type='post'";
-    private static final String STATEMENT_GET_ALL_CONTENT_BY_DOCTYPE = "select * from Documents where type='%s' order by date desc";
-    private static final String STATEMENT_GET_PUBLISHED_CONTENT_BY_DOCTYPE = "select * from Documents where status='published' and type='%s' order by date desc";
-    private static final String STATEMENT_GET_PUBLISHED_POSTS_BY_TAG = "select * from Documents where status='published' and type='post' and ? in tags order by date desc";
+    private static final String STATEMENT_GET_ALL_CONTENT_BY_DOCTYPE = "select * from Documents where type='%s' order by date desc, sourceuri";
+    private static final String STATEMENT_GET_PUBLISHED_CONTENT_BY_DOCTYPE = "select * from Documents where status='published' and type='%s' order by date desc, sourceuri";
+    private static final String STATEMENT_GET_PUBLISHED_POSTS_BY_TAG = "select * from Documents where status='published' and type='post' and ? in tags order by date desc, sourceuri";
     private static final String STATEMENT_GET_TAGS_BY_DOCTYPE = "select tags from Documents where status='published' and type='%s'";
     private static final String STATEMENT_INSERT_TEMPLATES_SIGNATURE = "insert into Signatures(key,sha1) values('templates',?)";
     private static final String STATEMENT_DELETE_ALL = "delete from Documents where type='%s'";
     private static final String STATEMENT_UPDATE_TEMPLATE_SIGNATURE = "update Signatures set sha1=? where key='templates'";
     private static final String STATEMENT_GET_DOCUMENT_COUNT_BY_TYPE = "select count(*) as count from Documents where type='%s'";
+    private static final String STATEMENT_GET_DOCUMENT_SIGNATURES = "select type, sourceuri, sha1, date, status, tags from Documents order by date desc, sourceuri";
+    private static final String STATEMENT_GET_PUBLISHED_TAGS = "select type, tags from Documents where status='published'";
+    private static final String STATEMENT_GET_PUBLISHED_LOCATIONS = "select type, uri, noExtensionUri, date from Documents where status='published' order by date, sourceuri";
+    private static final String STATEMENT_GET_FINGERPRINT = "select sha1 from Fingerprints where key=?";
+    private static final String STATEMENT_INSERT_FINGERPRINT = "insert into Fingerprints(key,sha1) values(?,?)";
+    private static final String STATEMENT_UPDATE_FINGERPRINT = "update Fingerprints set sha1=? where key=?";
+    private static final String STATEMENT_DELETE_FINGERPRINTS = "delete from Fingerprints";
+    private static final String STATEMENT_GET_FINGERPRINTS_BY_PREFIX = "select key, sha1 from Fingerprints where key like ?";
+    private static final String STATEMENT_DELETE_FINGERPRINT = "delete from Fingerprints where key=?";
+    private static final String STATEMENT_MARK_CONTENT_AS_UNRENDERED = "update Documents set rendered=false where type='%s'";
 
     private final Logger logger = LoggerFactory.getLogger(ContentStore.class);
     private final String type;
@@ -134,6 +146,9 @@ public class ContentStore {
         if (!schema.existsClass(Schema.SIGNATURES)) {
             createSignatureType(schema);
         }
+        if (!schema.existsClass(Schema.FINGERPRINTS)) {
+            createFingerprintType(schema);
+        }
     }
 
     public void close() {
@@ -209,10 +224,34 @@ public class ContentStore {
         return getPublishedContent("post", applyPaging);
     }
 
+    /**
+     * @param limit the maximum number of posts, 0 or less for all posts
+     * @return the newest published posts
+     */
+    public DocumentList<DocumentModel> getPublishedPosts(int limit) {
+        String query = String.format(STATEMENT_GET_PUBLISHED_CONTENT_BY_DOCTYPE, "post");
+        if (limit > 0) {
+            query += " LIMIT " + limit;
+        }
+        return query(query);
+    }
+
     public DocumentList<DocumentModel> getPublishedPostsByTag(String tag) {
         return query(STATEMENT_GET_PUBLISHED_POSTS_BY_TAG, tag);
     }
 
+    /**
+     * @param tag   the tag
+     * @param limit the maximum number of posts, 0 or less for all posts
+     * @return the newest published posts with the tag
+     */
+    public DocumentList<DocumentModel> getPublishedPostsByTag(String tag, int limit) {
+        if (limit > 0) {
+            return query(STATEMENT_GET_PUBLISHED_POSTS_BY_TAG + " LIMIT " + limit, tag);
+        }
+        return query(STATEMENT_GET_PUBLISHED_POSTS_BY_TAG, tag);
+    }
+
     public DocumentList<DocumentModel> getPublishedDocumentsByTag(String tag) {
         final DocumentList<DocumentModel> documents = new DocumentList<>();
 
@@ -224,6 +263,29 @@ public class ContentStore {
         return documents;
     }
 
+    /**
+     * Get the attributes identifying the content of all documents, without their bodies.
+     *
+     * @return type, sourceuri, sha1, date, status and tags of all documents
+     */
+    public DocumentList<DocumentModel> getDocumentSignatures() {
+        return query(STATEMENT_GET_DOCUMENT_SIGNATURES);
+    }
+
+    /**
+     * @return the type, uri and date of all published documents, oldest first, without loading their bodies
+     */
+    public DocumentList<DocumentModel> getPublishedLocations() {
+        return query(STATEMENT_GET_PUBLISHED_LOCATIONS);
+    }
+
+    /**
+     * @return the type and tags of all published documents, without loading their bodies
+     */
+    public DocumentList<DocumentModel> getPublishedDocumentTags() {
+        return query(STATEMENT_GET_PUBLISHED_TAGS);
+    }
+
     public DocumentList<DocumentModel> getPublishedPages() {
         return getPublishedContent("page");
     }
@@ -277,6 +339,16 @@ public class ContentStore {
         executeCommand(statement);
     }
 
+    /**
+     * Marks all documents of a type as unrendered, so they are rendered again without being parsed again.
+     *
+     * @param docType the document type
+     */
+    public void markContentAsUnrendered(String docType) {
+        String statement = String.format(STATEMENT_MARK_CONTENT_AS_UNRENDERED, docType);
+        executeCommand(statement);
+    }
+
     private void updateSignatures(String currentTemplatesSignature) {
         executeCommand(STATEMENT_UPDATE_TEMPLATE_SIGNATURE, currentTemplatesSignature);
     }
@@ -290,19 +362,63 @@ public class ContentStore {
         executeCommand(STATEMENT_INSERT_TEMPLATES_SIGNATURE, currentTemplatesSignature);
     }
 
-    private DocumentList<DocumentModel> query(String sql) {
+    /**
+     * Get the fingerprint of the inputs an output was last rendered from.
+     *
+     * @param key the key identifying the output
+     * @return the fingerprint or null if the output has not been rendered yet
+     */
+    public String getFingerprint(String key) {
+        DocumentList<DocumentModel> docs = query(STATEMENT_GET_FINGERPRINT, key);
+        if (docs.isEmpty()) {
+            return null;
+        }
+        return docs.get(0).getSha1();
+    }
+
+    public synchronized void updateFingerprint(String key, String fingerprint) {
+        if (getFingerprint(key) == null) {
+            executeCommand(STATEMENT_INSERT_FINGERPRINT, key, fingerprint);
+        } else {
+            executeCommand(STATEMENT_UPDATE_FINGERPRINT, fingerprint, key);
+        }
+    }
+
+    /**
+     * Get all fingerprints whose key starts with a prefix.
+     *
+     * @param prefix the prefix of the keys
+     * @return the fingerprints keyed by their key
+     */
+    public Map<String, String> getFingerprints(String prefix) {
+        Map<String, String> fingerprints = new HashMap<>();
+        for (DocumentModel doc : query(STATEMENT_GET_FINGERPRINTS_BY_PREFIX, prefix + "%")) {
+            fingerprints.put((String) doc.get("key"), doc.getSha1());
+        }
+        return fingerprints;
+    }
+
+    public void deleteFingerprint(String key) {
+        executeCommand(STATEMENT_DELETE_FINGERPRINT, key);
+    }
+
+    public void deleteFingerprints() {
+        executeCommand(STATEMENT_DELETE_FINGERPRINTS);
+    }
+
+    private synchronized DocumentList<DocumentModel> query(String sql) {
         activateOnCurrentThread();
         OResultSet results = db.query(sql);
         return DocumentList.wrap(results);
     }
 
-    private DocumentList<DocumentModel> query(String sql, Object... args) {
+    private synchronized DocumentList<DocumentModel> query(String sql, Object... args) {
         activateOnCurrentThread();
         OResultSet results = db.command(sql, args);
         return DocumentList.wrap(results);
     }
 
-    private void executeCommand(String query, Object... args) {
+    private synchronized void executeCommand(String query, Object... args) {
         activateOnCurrentThread();
         db.command(query, args);
     }
@@ -355,6 +471,13 @@ public class ContentStore {
         signatures.createIndex("sha1Idx", OClass.INDEX_TYPE.UNIQUE, ModelAttributes.SHA1);
     }
 
+    private void createFingerprintType(OSchema schema) {
+        OClass fingerprints = schema.createClass(Schema.FINGERPRINTS);
+        fingerprints.createProperty("key", OType.STRING).setNotNull(true);
+        fingerprints.createIndex(Schema.FINGERPRINTS + "keyIndex", OClass.INDEX_TYPE.UNIQUE, "key");
+        fingerprints.createProperty(ModelAttributes.SHA1, OType.STRING).setNotNull(true);
+    }
+
     public void updateAndClearCacheIfNeeded(boolean needed, File templateFolder) {
 
         boolean clearCache = needed;
@@ -364,11 +487,19 @@ public class ContentStore {
         }
 
         if (clearCache) {
-            deleteAllDocumentTypes();
-            this.updateSchema();
+            clearCache();
         }
     }
 
+    /**
+     * Deletes all documents and fingerprints, so everything is parsed and rendered again.
+     */
+    public void clearCache() {
+        deleteAllDocumentTypes();
+        deleteFingerprints();
+        this.updateSchema();
+    }
+
     private boolean updateTemplateSignatureIfChanged(File templateFolder) {
         boolean templateSignatureChanged = false;
 
@@ -416,6 +547,7 @@ public class ContentStore {
     protected abstract class Schema {
         static final String DOCUMENTS = "Documents";
         static final String SIGNATURES = "Signatures";
+        static final String FINGERPRINTS = "Fingerprints";
     }
 
 }
@@ -9,6 +9,7 @@ import org.jbake.model.DocumentModel;
 import org.jbake.model.DocumentStatus;
 import org.jbake.model.DocumentTypes;
 import org.jbake.model.ModelAttributes;
+import org.jbake.util.Fingerprint;
 import org.jbake.util.HtmlUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -106,7 +107,7 @@ public class Crawler {
 
         StringBuilder sb = new StringBuilder();
         sb.append("Processing [").append(sourceFile.getPath()).append("]... ");
-        String sha1 = buildHash(sourceFile);
+        String sha1 = buildContentHash(sourceFile);
         String uri = buildURI(sourceFile);
         DocumentStatus status = findDocumentStatus(uri, sha1);
         if (status == DocumentStatus.UPDATED) {
@@ -180,6 +181,22 @@ public class Crawler {
         return sha1;
     }
 
+    /**
+     * The srcset added to the body of a document depends on the image variant settings, so the hash of a content file
+     * includes them and the file is crawled again when they change.
+     */
+    private String buildContentHash(final File sourceFile) {
+        String sha1 = buildHash(sourceFile);
+        if (!config.getImgDerivativeSrcset() || config.getImgDerivativeWidths().isEmpty()) {
+            return sha1;
+        }
+        return new Fingerprint().add(sha1)
+            .add(config.getImgDerivativeWidths())
+            .add(config.getImgDerivativeExtensions())
+            .add(config.getSiteHost())
+            .toHex();
+    }
+
     private String buildURI(final File sourceFile) {
         String uri = FileUtil.asPath(sourceFile).replace(FileUtil.asPath(config.getContentFolder()), "");
 
@@ -274,6 +291,10 @@ public class Crawler {
                     HtmlUtil.fixImageSourceUrls(document, config);
                 }
 
+                if (config.getImgDerivativeSrcset() && !config.getImgDerivativeWidths().isEmpty()) {
+                    HtmlUtil.addImageSrcset(document, config);
+                }
+
                 db.addDocument(document);
             } else {
                 logger.warn("{} has an unknown document type '{}' and has been ignored!", sourceFile, document.getType());
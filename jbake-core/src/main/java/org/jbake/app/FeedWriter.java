@@ -0,0 +1,192 @@
+package org.jbake.app;
+
+import org.jbake.app.configuration.JBakeConfiguration;
+import org.jbake.app.output.OutputFiles;
+import org.jbake.model.DocumentModel;
+
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+import java.io.File;
+import java.io.Writer;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+import java.util.TimeZone;
+
+/**
+ * Writes an Atom or RSS 2.0 feed of posts without a template. Entries are streamed to the output file one by one, no
+ * model of the whole feed is built.
+ *
+ * @see <a href="https://tools.ietf.org/html/rfc4287">The Atom Syndication Format</a>
+ * @see <a href="https://www.rssboard.org/rss-specification">RSS 2.0 Specification</a>
+ */
+public class FeedWriter {
+
+    public static final String ATOM = "atom";
+    public static final String RSS = "rss";
+
+    private static final String ATOM_NAMESPACE = "http://www.w3.org/2005/Atom";
+    private static final String ENCODING = "UTF-8";
+
+    private final JBakeConfiguration config;
+    private final OutputFiles outputFiles;
+    private final boolean atom;
+    private final XMLOutputFactory xmlOutputFactory = XMLOutputFactory.newInstance();
+
+    /**
+     * @param config      the configuration, {@link JBakeConfiguration#getFeedFormat()} must be atom or rss
+     * @param outputFiles writes the feed files
+     * @throws IllegalArgumentException if the feed format is not supported
+     */
+    public FeedWriter(JBakeConfiguration config, OutputFiles outputFiles) {
+        this.config = config;
+        this.outputFiles = outputFiles;
+        String format = config.getFeedFormat().trim().toLowerCase(Locale.ENGLISH);
+        if (!ATOM.equals(format) && !RSS.equals(format)) {
+            throw new IllegalArgumentException("Unsupported feed format [" + config.getFeedFormat() + "], use " + ATOM + " or " + RSS);
+        }
+        this.atom = ATOM.equals(format);
+    }
+
+    /**
+     * Writes a feed.
+     *
+     * @param file  the feed file in the destination folder
+     * @param title the title of the feed
+     * @param posts the posts in the feed, newest first
+     * @throws Exception if the feed could not be written
+     */
+    public void write(File file, String title, List<DocumentModel> posts) throws Exception {
+        write(file, title, posts, null);
+    }
+
+    /**
+     * Writes a feed, calling back once it is on disk.
+     *
+     * @param file    the feed file in the destination folder
+     * @param title   the title of the feed
+     * @param posts   the posts in the feed, newest first
+     * @param written called after the feed was written, see {@link OutputFiles#createWriter(File, String, Runnable)}
+     * @throws Exception if the feed could not be written
+     */
+    public void write(File file, String title, List<DocumentModel> posts, Runnable written) throws Exception {
+        String selfUrl = url(config.getDestinationFolder().toPath().relativize(file.toPath()).toString().replace(File.separatorChar, '/'));
+        try (Writer out = outputFiles.createWriter(file, ENCODING, written)) {
+            XMLStreamWriter xml = xmlOutputFactory.createXMLStreamWriter(out);
+            try {
+                xml.writeStartDocument(ENCODING, "1.0");
+                xml.writeCharacters("\n");
+                if (atom) {
+                    writeAtom(xml, selfUrl, title, posts);
+                } else {
+                    writeRss(xml, selfUrl, title, posts);
+                }
+                xml.writeCharacters("\n");
+                xml.writeEndDocument();
+                xml.flush();
+            } finally {
+                xml.close();
+            }
+        }
+    }
+
+    private void writeAtom(XMLStreamWriter xml, String selfUrl, String title, List<DocumentModel> posts) throws XMLStreamException {
+        SimpleDateFormat dateFormat = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ssXXX", Locale.ENGLISH);
+        dateFormat.setTimeZone(TimeZone.getTimeZone("UTC"));
+
+        xml.writeStartElement("feed");
+        xml.writeDefaultNamespace(ATOM_NAMESPACE);
+        writeElement(xml, "title", title);
+        writeLink(xml, null, url(""));
+        writeLink(xml, "self", selfUrl);
+        writeElement(xml, "id", selfUrl);
+        writeElement(xml, "updated", dateFormat.format(newest(posts)));
+        for (DocumentModel post : posts) {
+            String url = url(post);
+            xml.writeCharacters("\n  ");
+            xml.writeStartElement("entry");
+            writeElement(xml, "title", post.getTitle());
+            writeLink(xml, null, url);
+            writeElement(xml, "id", url);
+            writeElement(xml, "updated", dateFormat.format(date(post)));
+            xml.writeStartElement("content");
+            xml.writeAttribute("type", "html");
+            xml.writeCharacters(post.getBody() == null ? "" : post.getBody());
+            xml.writeEndElement();
+            xml.writeEndElement();
+        }
+        xml.writeCharacters("\n");
+        xml.writeEndElement();
+    }
+
+    private void writeRss(XMLStreamWriter xml, String selfUrl, String title, List<DocumentModel> posts) throws XMLStreamException {
+        SimpleDateFormat dateFormat = new SimpleDateFormat("EEE, dd MMM yyyy HH:mm:ss Z", Locale.ENGLISH);
+
+        xml.writeStartElement("rss");
+        xml.writeAttribute("version", "2.0");
+        xml.writeNamespace("atom", ATOM_NAMESPACE);
+        xml.writeStartElement("channel");
+        writeElement(xml, "title", title);
+        writeElement(xml, "link", url(""));
+        xml.writeStartElement("atom", "link", ATOM_NAMESPACE);
+        xml.writeAttribute("href", selfUrl);
+        xml.writeAttribute("rel", "self");
+        xml.writeAttribute("type", "application/rss+xml");
+        xml.writeEndElement();
+        writeElement(xml, "description", title);
+        writeElement(xml, "lastBuildDate", dateFormat.format(newest(posts)));
+        for (DocumentModel post : posts) {
+            String url = url(post);
+            xml.writeCharacters("\n  ");
+            xml.writeStartElement("item");
+            writeElement(xml, "title", post.getTitle());
+            writeElement(xml, "link", url);
+            xml.writeStartElement("guid");
+            xml.writeAttribute("isPermaLink", "true");
+            xml.writeCharacters(url);
+            xml.writeEndElement();
+            writeElement(xml, "pubDate", dateFormat.format(date(post)));
+            writeElement(xml, "description", post.getBody());
+            xml.writeEndElement();
+        }
+        xml.writeCharacters("\n");
+        xml.writeEndElement();
+        xml.writeEndElement();
+    }
+
+    private void writeLink(XMLStreamWriter xml, String rel, String href) throws XMLStreamException {
+        xml.writeEmptyElement("link");
+        if (rel != null) {
+            xml.writeAttribute("rel", rel);
+        }
+        xml.writeAttribute("href", href);
+    }
+
+    private void writeElement(XMLStreamWriter xml, String name, String value) throws XMLStreamException {
+        xml.writeStartElement(name);
+        xml.writeCharacters(value == null ? "" : value);
+        xml.writeEndElement();
+    }
+
+    private Date newest(List<DocumentModel> posts) {
+        return posts.isEmpty() ? new Date() : date(posts.get(0));
+    }
+
+    private Date date(DocumentModel post) {
+        return post.getDate() == null ? new Date(0) : post.getDate();
+    }
+
+    private String url(DocumentModel post) {
+        return url(post.getNoExtensionUri() != null ? post.getNoExtensionUri() : post.getUri());
+    }
+
+    private String url(String path) {
+        String siteHost = config.getSiteHost();
+        if (siteHost.endsWith("/") || path.startsWith("/") || path.isEmpty()) {
+            return siteHost + path;
+        }
+        return siteHost + "/" + path;
+    }
+}
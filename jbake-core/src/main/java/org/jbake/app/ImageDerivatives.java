@@ -0,0 +1,383 @@
+package org.jbake.app;
+
+import org.jbake.app.configuration.JBakeConfiguration;
+import org.jbake.util.ParallelExecutor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Dimension;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Generates smaller variants of the image assets in the destination folder for each configured width, so pages can
+ * offer them through <code>srcset</code>. The variant of <code>img/photo.jpg</code> 640 pixels wide is written to
+ * <code>img/photo-640w.jpg</code>. Images are never scaled up, a variant at least as wide as the image is a copy of it.
+ * <p>
+ * Variants are kept in a cache folder named after the hash of the image they were generated from, so they are only
+ * generated again when the image changes, even if the destination folder is cleaned. The content store keeps the hash
+ * of every image together with its size and modification time, so unchanged images are not hashed again either.
+ * <p>
+ * A decoded image takes four bytes per pixel, so only {@link #DECODING_THREADS} images are decoded at a time, and
+ * images much wider than their widest variant are decoded at a fraction of their size.
+ */
+public class ImageDerivatives {
+
+    public static final String FINGERPRINT_PREFIX = "image:";
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ImageDerivatives.class);
+    private static final String JPEG = "jpg";
+    private static final int DECODING_THREADS = 2;
+
+    private final JBakeConfiguration config;
+    private final List<Integer> widths;
+    private final int quality;
+    private final File cacheFolder;
+    private final Set<String> extensions = new HashSet<>();
+    private final Set<String> derivativePaths = Collections.synchronizedSet(new HashSet<String>());
+    private final AtomicInteger generatedCount = new AtomicInteger();
+    private final AtomicLong tempFileCounter = new AtomicLong();
+    private final Semaphore decoding;
+
+    public ImageDerivatives(JBakeConfiguration config) {
+        this.config = config;
+        this.widths = config.getImgDerivativeWidths();
+        this.quality = Math.max(1, Math.min(100, config.getImgDerivativeQuality()));
+        File cache = new File(config.getImgDerivativeCache());
+        this.cacheFolder = cache.isAbsolute() ? cache : new File(config.getSourceFolder(), cache.getPath());
+        for (String extension : config.getImgDerivativeExtensions()) {
+            extensions.add(extension.trim().toLowerCase(Locale.ENGLISH));
+        }
+        this.decoding = new Semaphore(Math.max(1, Math.min(DECODING_THREADS, config.getRenderThreads())));
+    }
+
+    /**
+     * @param path the path of an image
+     * @return true if variants are generated for the image
+     */
+    public boolean accepts(String path) {
+        return !widths.isEmpty() && extensions.contains(extension(path));
+    }
+
+    /**
+     * Inserts the width before the extension: <code>img/photo.jpg</code> becomes <code>img/photo-640w.jpg</code>.
+     *
+     * @param path  the path of an image
+     * @param width the width of the variant
+     * @return the path of the variant
+     */
+    public static String derivativePath(String path, int width) {
+        int slash = path.lastIndexOf('/');
+        int dot = path.lastIndexOf('.');
+        if (dot <= slash + 1) {
+            return path + "-" + width + "w";
+        }
+        return path.substring(0, dot) + "-" + width + "w" + path.substring(dot);
+    }
+
+    /**
+     * Reads the width of an image from its header, without decoding the image.
+     *
+     * @param image the image file, may be null
+     * @return the width in pixels, 0 if the image does not exist or its width can not be read
+     */
+    public static int readWidth(File image) {
+        Dimension size = readSize(image);
+        return size == null ? 0 : size.width;
+    }
+
+    private static Dimension readSize(File image) {
+        if (image == null || !image.isFile()) {
+            return null;
+        }
+        try (ImageInputStream input = ImageIO.createImageInputStream(image)) {
+            if (input == null) {
+                return null;
+            }
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(input);
+            if (readers.hasNext()) {
+                ImageReader reader = readers.next();
+                try {
+                    reader.setInput(input, true, true);
+                    return new Dimension(reader.getWidth(0), reader.getHeight(0));
+                } finally {
+                    reader.dispose();
+                }
+            }
+        } catch (IOException e) {
+            LOGGER.debug("Unable to read the size of image [{}]", image, e);
+        }
+        return null;
+    }
+
+    /**
+     * Generates the variants of the accepted images on {@link JBakeConfiguration#getRenderThreads()} threads.
+     *
+     * @param paths the paths of the assets in the destination folder
+     * @param db    the content store keeping the hashes of the images
+     * @return the errors which occurred while generating variants
+     */
+    public List<Throwable> generate(Collection<String> paths, ContentStore db) {
+        final Map<String, String> previous = db.getFingerprints(FINGERPRINT_PREFIX);
+        final Map<String, String> current = new ConcurrentHashMap<>();
+        List<Callable<Void>> tasks = new ArrayList<>();
+        for (final String path : paths) {
+            if (accepts(path)) {
+                tasks.add(new Callable<Void>() {
+                    @Override
+                    public Void call() throws Exception {
+                        current.put(FINGERPRINT_PREFIX + path, generate(path, previous.get(FINGERPRINT_PREFIX + path)));
+                        return null;
+                    }
+                });
+            }
+        }
+        List<Throwable> errors = ParallelExecutor.run(config.getRenderThreads(), "images", tasks);
+
+        // the content store is only updated from this thread
+        for (String key : previous.keySet()) {
+            if (!current.containsKey(key)) {
+                db.deleteFingerprint(key);
+            }
+        }
+        for (Map.Entry<String, String> image : current.entrySet()) {
+            if (!image.getValue().equals(previous.get(image.getKey()))) {
+                db.updateFingerprint(image.getKey(), image.getValue());
+            }
+        }
+        return errors;
+    }
+
+    /**
+     * @return the paths of all variants in the destination folder, whether they were generated during the bake or were
+     * already up to date
+     */
+    public Set<String> getDerivativePaths() {
+        synchronized (derivativePaths) {
+            return new HashSet<>(derivativePaths);
+        }
+    }
+
+    /**
+     * @return the number of variants generated during the bake, not counting those taken from the cache folder
+     */
+    public int getGeneratedCount() {
+        return generatedCount.get();
+    }
+
+    /**
+     * Publishes the variants of one image.
+     *
+     * @return the fingerprint of the image, made of its size, modification time and hash
+     */
+    private String generate(String path, String previous) throws Exception {
+        File image = new File(config.getDestinationFolder(), path);
+        String stamp = image.length() + ":" + image.lastModified() + ":";
+        String sha1;
+        if (previous != null && previous.startsWith(stamp)) {
+            sha1 = previous.substring(stamp.length());
+        } else {
+            sha1 = FileUtil.sha1(image);
+        }
+        String fingerprint = stamp + sha1;
+
+        Dimension size = null;
+        BufferedImage source = null;
+        boolean decodingAcquired = false;
+        try {
+            for (int width : widths) {
+                String derivative = derivativePath(path, width);
+                File target = new File(config.getDestinationFolder(), derivative);
+                derivativePaths.add(derivative);
+                if (fingerprint.equals(previous) && target.isFile()) {
+                    continue;
+                }
+
+                File cached = new File(cacheFolder, sha1 + "-" + width + "w-" + quality + "." + extension(path));
+                if (!cached.isFile()) {
+                    if (size == null) {
+                        size = readSize(image);
+                        if (size == null) {
+                            LOGGER.warn("Unable to read image [{}], no variants generated", image);
+                            return fingerprint;
+                        }
+                    }
+                    if (source == null && width < size.width) {
+                        decoding.acquire();
+                        decodingAcquired = true;
+                        source = read(image, size.width);
+                        if (source == null) {
+                            LOGGER.warn("Unable to read image [{}], no variants generated", image);
+                            return fingerprint;
+                        }
+                    }
+                    write(image, size, width < size.width ? source : null, width, cached);
+                    generatedCount.incrementAndGet();
+                }
+                publish(cached, target);
+                LOGGER.info("Generating [{}]... done!", derivative);
+            }
+        } finally {
+            if (decodingAcquired) {
+                decoding.release();
+            }
+        }
+        return fingerprint;
+    }
+
+    /**
+     * Decodes an image, skipping pixels if it is more than twice as wide as the widest variant narrower than it. The
+     * image is still at least twice as wide as that variant, so scaling it down smooths out the skipped pixels.
+     */
+    private BufferedImage read(File image, int imageWidth) throws IOException {
+        int widest = 1;
+        for (int width : widths) {
+            if (width < imageWidth) {
+                widest = Math.max(widest, width);
+            }
+        }
+        int subsampling = Math.max(1, imageWidth / (2 * widest));
+        try (ImageInputStream input = ImageIO.createImageInputStream(image)) {
+            if (input == null) {
+                return null;
+            }
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(input);
+            if (!readers.hasNext()) {
+                return null;
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                ImageReadParam param = reader.getDefaultReadParam();
+                param.setSourceSubsampling(subsampling, subsampling, 0, 0);
+                return reader.read(0, param);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    /**
+     * @param source the decoded image, or null to copy the image as the variant is at least as wide
+     */
+    private void write(File image, Dimension size, BufferedImage source, int width, File cached) throws IOException {
+        Path target = cached.toPath();
+        Files.createDirectories(target.toAbsolutePath().getParent());
+        // other bakes may share the cache folder, so the variant only appears once it is complete
+        Path temp = target.resolveSibling("." + target.getFileName() + "." + tempFileCounter.incrementAndGet() + ".tmp");
+        try {
+            if (source == null) {
+                Files.copy(image.toPath(), temp, StandardCopyOption.REPLACE_EXISTING);
+            } else {
+                String extension = extension(cached.getName());
+                boolean jpeg = JPEG.equals(extension) || "jpeg".equals(extension);
+                int height = Math.max(1, (int) Math.round((double) size.height * width / size.width));
+                BufferedImage scaled = scale(source, width, height, jpeg ? BufferedImage.TYPE_INT_RGB : BufferedImage.TYPE_INT_ARGB);
+                if (jpeg) {
+                    writeJpeg(scaled, temp.toFile());
+                } else if (!ImageIO.write(scaled, extension, temp.toFile())) {
+                    throw new IOException("No image writer for [" + image + "]");
+                }
+            }
+            try {
+                Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * Scales an image down in steps of at most half its size, as a single bilinear step would skip most pixels of a
+     * large image and leave the result jagged.
+     */
+    private BufferedImage scale(BufferedImage source, int width, int targetHeight, int type) {
+        BufferedImage current = source;
+        int currentWidth = source.getWidth();
+        int currentHeight = source.getHeight();
+        do {
+            currentWidth = Math.max(width, currentWidth / 2);
+            currentHeight = Math.max(targetHeight, currentHeight / 2);
+            BufferedImage next = new BufferedImage(currentWidth, currentHeight, type);
+            Graphics2D graphics = next.createGraphics();
+            try {
+                graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+                graphics.drawImage(current, 0, 0, currentWidth, currentHeight, null);
+            } finally {
+                graphics.dispose();
+            }
+            current = next;
+        } while (currentWidth != width || currentHeight != targetHeight);
+        return current;
+    }
+
+    private void writeJpeg(BufferedImage image, File file) throws IOException {
+        Iterator<ImageWriter> writers = ImageIO.getImageWritersByFormatName(JPEG);
+        if (!writers.hasNext()) {
+            throw new IOException("No image writer for jpeg");
+        }
+        ImageWriter writer = writers.next();
+        try (ImageOutputStream output = ImageIO.createImageOutputStream(file)) {
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(quality / 100f);
+            writer.setOutput(output);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+    }
+
+    /**
+     * Links the variant in the destination folder to the cached one, falling back to copying it.
+     */
+    private void publish(File cached, File target) throws IOException {
+        Path path = target.toPath();
+        Files.createDirectories(path.toAbsolutePath().getParent());
+        Files.deleteIfExists(path);
+        try {
+            Files.createLink(path, cached.toPath());
+        } catch (IOException | UnsupportedOperationException e) {
+            LOGGER.debug("Unable to link [{}] to [{}], copying it instead", target, cached, e);
+            Files.copy(cached.toPath(), path, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private static String extension(String path) {
+        int slash = path.lastIndexOf('/');
+        int dot = path.lastIndexOf('.');
+        return dot <= slash + 1 ? "" : path.substring(dot + 1).toLowerCase(Locale.ENGLISH);
+    }
+}
@@ -6,21 +6,35 @@ import org.jbake.app.configuration.DefaultJBakeConfiguration;
 import org.jbake.app.configuration.JBakeConfiguration;
 import org.jbake.app.configuration.JBakeConfigurationFactory;
 import org.jbake.app.configuration.JBakeConfigurationInspector;
+import org.jbake.app.output.GzipSidecars;
+import org.jbake.app.output.OutputGenerations;
 import org.jbake.model.DocumentTypes;
 import org.jbake.render.RenderingTool;
+import org.jbake.template.CompiledTemplateCache;
 import org.jbake.template.ModelExtractors;
 import org.jbake.template.ModelExtractorsDocumentTypeListener;
 import org.jbake.template.RenderingException;
+import org.jbake.template.TemplateDependencies;
+import org.jbake.util.NamedThreadFactory;
+import org.jbake.util.RenderTimings;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.File;
+import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Date;
+import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 import java.util.ServiceLoader;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
 
 /**
  * All the baking happens in the Oven!
@@ -30,6 +44,7 @@ import java.util.ServiceLoader;
 public class Oven {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(Oven.class);
+    private static final String ASSET_FINGERPRINT_PREFIX = "asset:";
 
     private final Utensils utensils;
     private final List<Throwable> errors = new LinkedList<>();
@@ -151,16 +166,33 @@ public class Oven {
         JBakeConfiguration config = utensils.getConfiguration();
         Crawler crawler = utensils.getCrawler();
         Asset asset = utensils.getAsset();
+        File destination = config.getDestinationFolder();
+        OutputGenerations generations = null;
         setLocale();
 
         try {
 
             final long start = new Date().getTime();
             LOGGER.info("Baking has started...");
+            if (config.getRenderTimings()) {
+                RenderTimings.getInstance().start();
+            }
             contentStore.startup();
             updateDocTypesFromConfiguration();
             contentStore.updateSchema();
-            contentStore.updateAndClearCacheIfNeeded(config.getClearCache(), config.getTemplateFolder());
+            boolean templatesChanged = true;
+            if (config.getClearCache()) {
+                contentStore.clearCache();
+            } else {
+                templatesChanged = updateTemplateSignatures(contentStore, config);
+            }
+
+            if (config.getDestinationGenerations()) {
+                generations = startGeneration(destination);
+            }
+
+            // compile the templates while the content is crawled
+            FutureTask<List<Throwable>> templateCompilation = startTemplateCompilation();
 
             // process source content
             crawler.crawl();
@@ -168,6 +200,13 @@ public class Oven {
             // process data files
             crawler.crawlDataFiles();
 
+            if (!finishTemplateCompilation(templateCompilation)) {
+                LOGGER.error("Templates could not be compiled, nothing was rendered!");
+                return;
+            }
+
+            updateAssetFingerprints(contentStore, config, asset);
+
             // render content
             renderContent();
 
@@ -176,19 +215,316 @@ public class Oven {
             asset.copyAssetsFromContent(config.getContentFolder());
 
             errors.addAll(asset.getErrors());
+            Set<String> assetPaths = asset.getAssetPaths();
+            if (!config.getImgDerivativeWidths().isEmpty()) {
+                assetPaths.addAll(generateImageDerivatives(contentStore, config, asset));
+            }
+            removeDeletedAssets(contentStore, config, asset, assetPaths);
+
+            if (config.getRenderGzip()) {
+                compressOutput(contentStore, config, asset);
+            } else {
+                // outputs written meanwhile get no sidecar, enabling compression again has to sweep all of them
+                contentStore.deleteFingerprint(GzipSidecars.FINGERPRINT_KEY);
+            }
+
+            if (generations != null) {
+                config.setOutputFolder(null);
+                finishGeneration(generations);
+                generations = null;
+            }
+
+            // unused classes only pile up when templates change, bakes rendering little would drop classes still used
+            if (templatesChanged && errors.isEmpty()) {
+                pruneTemplateCache(config, start);
+            }
 
             LOGGER.info("Baking finished!");
             long end = new Date().getTime();
             LOGGER.info("Baked {} items in {}ms", renderedCount, end - start);
+            Renderer renderer = utensils.getRenderer();
+            LOGGER.info("Skipped {} unchanged outputs, wrote {} files, left {} identical files untouched",
+                renderer.getSkippedCount(), renderer.getWrittenCount(), renderer.getUnchangedCount());
+            if (RenderTimings.getInstance().isEnabled()) {
+                LOGGER.info("Render timings:\n{}", RenderTimings.getInstance().report(config.getRenderTimingsTop()));
+            }
             if (!errors.isEmpty()) {
                 LOGGER.error("Failed to bake {} item(s)!", errors.size());
             }
         } finally {
+            RenderTimings.getInstance().stop();
+            if (generations != null) {
+                config.setOutputFolder(null);
+                generations.abort();
+            }
             contentStore.close();
             contentStore.shutdown();
         }
     }
 
+    /**
+     * Compiles the templates on another thread, so compiling them does not delay the first render.
+     *
+     * @return the errors of the templates which could not be compiled, once they are all compiled
+     */
+    private FutureTask<List<Throwable>> startTemplateCompilation() {
+        final Renderer renderer = utensils.getRenderer();
+        FutureTask<List<Throwable>> compilation = new FutureTask<>(new Callable<List<Throwable>>() {
+            @Override
+            public List<Throwable> call() {
+                return renderer.compileTemplates();
+            }
+        });
+        new NamedThreadFactory("template-compiler").newThread(compilation).start();
+        return compilation;
+    }
+
+    /**
+     * Waits for the templates to be compiled.
+     *
+     * @param compilation the compilation started by {@link #startTemplateCompilation()}
+     * @return true if all templates compiled, false if the bake has to stop
+     */
+    private boolean finishTemplateCompilation(FutureTask<List<Throwable>> compilation) {
+        List<Throwable> templateErrors;
+        try {
+            templateErrors = compilation.get();
+        } catch (ExecutionException e) {
+            templateErrors = Collections.singletonList(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            templateErrors = Collections.<Throwable>singletonList(e);
+        }
+        errors.addAll(templateErrors);
+        return templateErrors.isEmpty();
+    }
+
+    /**
+     * Hashes the assets if fingerprinting is enabled and hands the manifest to the renderer. If a fingerprinted asset path changed, all documents are
+     * rendered again, as any of them may refer to it. Other outputs notice the change through their fingerprint.
+     *
+     * @param contentStore the content store
+     * @param config       the configuration
+     * @param asset        the asset copier
+     */
+    private void updateAssetFingerprints(ContentStore contentStore, JBakeConfiguration config, Asset asset) {
+        String previous = contentStore.getFingerprint(AssetManifest.FINGERPRINT_KEY);
+        String signature = null;
+        AssetManifest manifest = null;
+        if (config.getAssetFingerprint()) {
+            manifest = asset.fingerprint();
+            signature = manifest.getSignature();
+        }
+        // templates look up paths in the manifest of this bake, which is not written to the destination yet when
+        // output generations are used
+        utensils.getRenderer().setAssetManifest(manifest);
+        if (signature == null ? previous == null : signature.equals(previous)) {
+            return;
+        }
+
+        LOGGER.info("Fingerprinted assets changed, all documents will be rendered again");
+        for (String docType : DocumentTypes.getDocumentTypes()) {
+            contentStore.markContentAsUnrendered(docType);
+        }
+        if (signature == null) {
+            contentStore.deleteFingerprint(AssetManifest.FINGERPRINT_KEY);
+        } else {
+            contentStore.updateFingerprint(AssetManifest.FINGERPRINT_KEY, signature);
+        }
+    }
+
+    /**
+     * Generates the configured variants of image assets, except for fingerprinted copies.
+     *
+     * @param contentStore the content store
+     * @param config       the configuration
+     * @param asset        the asset copier
+     * @return the paths of the variants in the destination folder
+     */
+    private Set<String> generateImageDerivatives(ContentStore contentStore, JBakeConfiguration config, Asset asset) {
+        Set<String> images = asset.getAssetPaths();
+        AssetManifest manifest = asset.getManifest();
+        if (manifest != null) {
+            images.removeAll(manifest.values());
+        }
+        ImageDerivatives derivatives = new ImageDerivatives(config);
+        errors.addAll(derivatives.generate(images, contentStore));
+        LOGGER.info("Generated {} image variants", derivatives.getGeneratedCount());
+        return derivatives.getDerivativePaths();
+    }
+
+    /**
+     * Deletes asset files from the destination folder which were copied by a previous bake, but whose source no
+     * longer exists. The paths of copied assets are kept in the content store for this.
+     *
+     * @param contentStore the content store
+     * @param config       the configuration
+     * @param asset        the asset copier
+     * @param current      the paths of all asset files published during this bake
+     */
+    private void removeDeletedAssets(ContentStore contentStore, JBakeConfiguration config, Asset asset, Set<String> current) {
+        Map<String, String> previous = contentStore.getFingerprints(ASSET_FINGERPRINT_PREFIX);
+
+        for (String key : previous.keySet()) {
+            String path = key.substring(ASSET_FINGERPRINT_PREFIX.length());
+            if (current.contains(path)) {
+                continue;
+            }
+            File file = new File(config.getDestinationFolder(), path);
+            try {
+                GzipSidecars.delete(file);
+                LOGGER.info("Deleted [{}], its asset no longer exists", file);
+                contentStore.deleteFingerprint(key);
+            } catch (IOException e) {
+                LOGGER.error("Deleting [{}]... failed!", file, e);
+                errors.add(e);
+            }
+        }
+        for (String path : current) {
+            if (!previous.containsKey(ASSET_FINGERPRINT_PREFIX + path)) {
+                contentStore.updateFingerprint(ASSET_FINGERPRINT_PREFIX + path, path);
+            }
+        }
+        if (asset.getUnchangedCount() > 0) {
+            LOGGER.info("Left {} unchanged asset files untouched", asset.getUnchangedCount());
+        }
+    }
+
+    /**
+     * Deletes the classes of Groovy templates which this bake neither compiled nor loaded from the template cache.
+     *
+     * @param config the configuration
+     * @param start  the time the bake started
+     */
+    private void pruneTemplateCache(JBakeConfiguration config, long start) {
+        CompiledTemplateCache cache = CompiledTemplateCache.create(config);
+        if (cache != null) {
+            int deleted = cache.prune(start);
+            if (deleted > 0) {
+                LOGGER.info("Deleted {} unused compiled templates from [{}]", deleted, cache.getFolder());
+            }
+        }
+    }
+
+    /**
+     * Writes precompressed sidecars for the text output files written or copied during this bake. Outputs which were
+     * skipped as unchanged have no sidecar yet, or one written with other settings, if compression was just enabled
+     * or its settings changed. All accepted files in the destination folder are compressed then.
+     *
+     * @param contentStore the content store
+     * @param config       the configuration
+     * @param asset        the asset copier
+     */
+    private void compressOutput(ContentStore contentStore, JBakeConfiguration config, Asset asset) {
+        Renderer renderer = utensils.getRenderer();
+        GzipSidecars sidecars = new GzipSidecars(config);
+        String signature = sidecars.getSignature();
+        List<File> written = renderer.getWrittenFiles();
+        List<File> existing = new ArrayList<>(renderer.getUnchangedFiles());
+        if (!signature.equals(contentStore.getFingerprint(GzipSidecars.FINGERPRINT_KEY))) {
+            LOGGER.info("Compression settings changed, all output files will be compressed");
+            try {
+                written = sidecars.findAccepted(config.getDestinationFolder());
+            } catch (IOException e) {
+                LOGGER.error("Listing output files in [{}]... failed!", config.getDestinationFolder(), e);
+                errors.add(e);
+                return;
+            }
+            existing.clear();
+        } else {
+            // copied assets keep the modification time of their source, so an up to date sidecar is kept
+            for (String path : asset.getAssetPaths()) {
+                existing.add(new File(config.getDestinationFolder(), path));
+            }
+        }
+        List<Throwable> compressionErrors = sidecars.compress(written, existing);
+        errors.addAll(compressionErrors);
+        if (compressionErrors.isEmpty()) {
+            contentStore.updateFingerprint(GzipSidecars.FINGERPRINT_KEY, signature);
+        }
+        LOGGER.info("Compressed {} output files", sidecars.getCompressedCount());
+    }
+
+    /**
+     * Compares the template files with the signatures stored by the previous bake. Documents whose template, or
+     * a template included by it, changed are marked to be rendered again. All documents are, if a changed file is not
+     * found to be included by any template, as it may be included in a syntax the include scan does not recognize.
+     * Other outputs notice the change through their fingerprint.
+     *
+     * @param contentStore the content store
+     * @param config       the configuration
+     * @return true if any template changed
+     */
+    private boolean updateTemplateSignatures(ContentStore contentStore, JBakeConfiguration config) {
+        TemplateDependencies templates = new TemplateDependencies(config.getTemplateFolder(), config.getTemplateEncoding());
+        Map<String, String> previous = TemplateDependencies.fromFingerprints(contentStore.getFingerprints(TemplateDependencies.FINGERPRINT_PREFIX));
+        Set<String> changed = templates.findChanged(previous);
+        if (changed.isEmpty()) {
+            return false;
+        }
+
+        LOGGER.info("Templates changed: {}", changed);
+        Set<String> templateNames = new HashSet<>();
+        for (String docType : DocumentTypes.getDocumentTypes()) {
+            templateNames.add(config.getTemplateByDocType(docType));
+        }
+        Set<String> unattributed = templates.findUnattributed(templateNames, changed);
+        if (!unattributed.isEmpty()) {
+            LOGGER.info("No template was found to include {}, all documents will be rendered again", unattributed);
+        }
+        for (String docType : DocumentTypes.getDocumentTypes()) {
+            if (!unattributed.isEmpty() || templates.dependsOn(config.getTemplateByDocType(docType), changed)) {
+                LOGGER.info("Documents of type [{}] will be rendered again", docType);
+                contentStore.markContentAsUnrendered(docType);
+            }
+        }
+        for (String path : changed) {
+            String signature = templates.getSignatures().get(path);
+            if (signature == null) {
+                contentStore.deleteFingerprint(TemplateDependencies.FINGERPRINT_PREFIX + path);
+            } else {
+                contentStore.updateFingerprint(TemplateDependencies.FINGERPRINT_PREFIX + path, signature);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Starts a new output generation and lets the bake write into it.
+     *
+     * @param destination the destination folder
+     * @return the output generations or null if the bake writes into the destination folder directly
+     */
+    private OutputGenerations startGeneration(File destination) {
+        OutputGenerations generations = new OutputGenerations(destination);
+        try {
+            utensils.getConfiguration().setOutputFolder(generations.start());
+            return generations;
+        } catch (IOException e) {
+            LOGGER.warn("Unable to create output generation, baking into [{}] directly", destination, e);
+            generations.abort();
+            return null;
+        }
+    }
+
+    /**
+     * Switches the destination folder to the generation written by this bake, unless the bake failed.
+     *
+     * @param generations the output generations
+     */
+    private void finishGeneration(OutputGenerations generations) {
+        if (!errors.isEmpty()) {
+            generations.abort();
+            return;
+        }
+        try {
+            generations.commit();
+        } catch (IOException | UnsupportedOperationException e) {
+            errors.add(e);
+            generations.abort();
+        }
+    }
+
     /**
      * Iterates over the configuration, searching for keys like "template.index.file=..."
      * in order to register new document types.
@@ -221,12 +557,21 @@ public class Oven {
         Renderer renderer = utensils.getRenderer();
         ContentStore contentStore = utensils.getContentStore();
 
-        for (RenderingTool tool : ServiceLoader.load(RenderingTool.class)) {
-            try {
-                renderedCount += tool.render(renderer, contentStore, config);
-            } catch (RenderingException e) {
-                errors.add(e);
+        renderer.startWriteBehind();
+        renderer.startMemoizingSignatures();
+        ModelExtractors.getInstance().startMemoizing();
+        try {
+            for (RenderingTool tool : ServiceLoader.load(RenderingTool.class)) {
+                try {
+                    renderedCount += tool.render(renderer, contentStore, config);
+                } catch (RenderingException e) {
+                    errors.add(e);
+                }
             }
+        } finally {
+            ModelExtractors.getInstance().stopMemoizing();
+            renderer.stopMemoizingSignatures();
+            errors.addAll(renderer.finishWriteBehind());
         }
     }
 
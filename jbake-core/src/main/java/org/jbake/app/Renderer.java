@@ -4,23 +4,35 @@ import org.apache.commons.configuration2.CompositeConfiguration;
 import org.jbake.app.configuration.DefaultJBakeConfiguration;
 import org.jbake.app.configuration.JBakeConfiguration;
 import org.jbake.app.configuration.JBakeConfigurationFactory;
+import org.jbake.app.output.GzipSidecars;
+import org.jbake.app.output.OutputFiles;
 import org.jbake.model.DocumentModel;
+import org.jbake.model.DocumentTypes;
 import org.jbake.model.ModelAttributes;
 import org.jbake.template.DelegatingTemplateEngine;
+import org.jbake.template.TemplateDependencies;
 import org.jbake.template.model.TemplateModel;
+import org.jbake.util.Fingerprint;
 import org.jbake.util.PagingHelper;
+import org.jbake.util.ParallelExecutor;
+import org.jbake.util.RenderTimings;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.File;
-import java.io.FileOutputStream;
-import java.io.IOException;
-import java.io.OutputStreamWriter;
 import java.io.Writer;
-import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Render output to a file.
@@ -33,11 +45,20 @@ public class Renderer {
     private static final String FEED_TEMPLATE_NAME = "feed";
     private static final String ARCHIVE_TEMPLATE_NAME = "archive";
     private static final String ERROR404_TEMPLATE_NAME = "error404";
+    private static final String TAG_TEMPLATE_NAME = ModelAttributes.TAG;
+    private static final String TAGS_INDEX_TEMPLATE_NAME = "tagsindex";
 
     private final Logger logger = LoggerFactory.getLogger(Renderer.class);
     private final JBakeConfiguration config;
     private final DelegatingTemplateEngine renderingEngine;
     private final ContentStore db;
+    private final OutputFiles outputFiles;
+    private final AtomicInteger skippedCount = new AtomicInteger();
+    private TemplateDependencies templateDependencies;
+    private String unattributedTemplatesSignature;
+    private volatile ConfigSignature configSignature;
+    private volatile boolean memoizingSignatures;
+    private DocumentSignatures documentSignatures;
 
     /**
      * @param db            The database holding the content
@@ -84,6 +105,7 @@ public class Renderer {
         this.config = config;
         this.renderingEngine = new DelegatingTemplateEngine(db, config);
         this.db = db;
+        this.outputFiles = new OutputFiles(config);
     }
 
     /**
@@ -97,12 +119,73 @@ public class Renderer {
         this.config = config;
         this.renderingEngine = renderingEngine;
         this.db = db;
+        this.outputFiles = new OutputFiles(config);
     }
 
     private String findTemplateName(String docType) {
         return config.getTemplateByDocType(docType);
     }
 
+    /**
+     * Compiles the templates of all document types on {@link JBakeConfiguration#getRenderThreads()} threads, so
+     * broken templates are reported before anything is rendered. Templates which do not exist are skipped, as are
+     * templates of disabled outputs, which would never be rendered.
+     *
+     * @return the errors of the templates which could not be compiled
+     */
+    public List<Throwable> compileTemplates() {
+        Set<String> templateNames = new TreeSet<>();
+        for (String docType : DocumentTypes.getDocumentTypes()) {
+            String templateName = findTemplateName(docType);
+            if (templateName != null && isRendered(docType)) {
+                templateNames.add(templateName);
+            }
+        }
+
+        List<Callable<Void>> tasks = new ArrayList<>();
+        for (final String templateName : templateNames) {
+            tasks.add(new Callable<Void>() {
+                @Override
+                public Void call() throws Exception {
+                    try {
+                        renderingEngine.compileTemplate(templateName);
+                    } catch (Exception e) {
+                        logger.error("Compiling template [{}]... failed!", templateName, e);
+                        throw new Exception("Failed to compile template " + templateName + ". Cause: " + e.getMessage(), e);
+                    }
+                    return null;
+                }
+            });
+        }
+        return ParallelExecutor.run(config.getRenderThreads(), "templates", tasks);
+    }
+
+    /**
+     * @param docType a document type
+     * @return false if the template of the document type is only used by an output which is disabled
+     */
+    private boolean isRendered(String docType) {
+        if (MASTERINDEX_TEMPLATE_NAME.equals(docType)) {
+            return config.getRenderIndex();
+        } else if (ARCHIVE_TEMPLATE_NAME.equals(docType)) {
+            return config.getRenderArchive();
+        } else if (FEED_TEMPLATE_NAME.equals(docType)) {
+            // a configured feed format is written without a template
+            return config.getRenderFeed() && config.getFeedFormat().isEmpty();
+        } else if (SITEMAP_TEMPLATE_NAME.equals(docType)) {
+            // the builtin sitemap is written without a template
+            return config.getRenderSiteMap() && !config.getSitemapBuiltin();
+        } else if (ERROR404_TEMPLATE_NAME.equals(docType)) {
+            return config.getRenderError404();
+        } else if (TAG_TEMPLATE_NAME.equals(docType)) {
+            return config.getRenderTags();
+        } else if (TAGS_INDEX_TEMPLATE_NAME.equals(docType)) {
+            // the tags index is written along with the tags
+            return config.getRenderTags() && config.getRenderTagsIndex();
+        }
+        return true;
+    }
+
     /**
      * Render the supplied content to a file.
      *
@@ -116,31 +199,31 @@ public class Renderer {
             outputFilename = outputFilename.substring(0, outputFilename.lastIndexOf('.'));
         }
 
-        // delete existing versions if they exist in case status has changed either way
+        // delete the other existing version if it exists in case status has changed either way
         String outputExtension = config.getOutputExtensionByDocType(docType);
         File draftFile = new File(outputFilename, config.getDraftSuffix() + outputExtension);
-        if (draftFile.exists()) {
-            Files.delete(draftFile.toPath());
-        }
-
         File publishedFile = new File(outputFilename + outputExtension);
-        if (publishedFile.exists()) {
-            Files.delete(publishedFile.toPath());
-        }
+        File staleFile = publishedFile;
 
         if (content.getStatus().equals(ModelAttributes.Status.DRAFT)) {
             outputFilename = outputFilename + config.getDraftSuffix();
+        } else {
+            staleFile = draftFile;
         }
 
+        GzipSidecars.delete(staleFile);
+
         File outputFile = new File(outputFilename + outputExtension);
         TemplateModel model = new TemplateModel();
         model.setContent(content);
         model.setRenderer(renderingEngine);
 
+        long start = RenderTimings.getInstance().begin();
         try {
             try (Writer out = createWriter(outputFile)) {
                 renderingEngine.renderDocument(model, findTemplateName(docType), out);
             }
+            RenderTimings.getInstance().recordOutput(outputFile.getPath(), start);
             logger.info("Rendering [{}]... done!", outputFile);
         } catch (Exception e) {
             logger.error("Rendering [{}]... failed!", outputFile, e);
@@ -148,21 +231,26 @@ public class Renderer {
         }
     }
 
-    private Writer createWriter(File file) throws IOException {
-        if (!file.exists()) {
-            file.getParentFile().mkdirs();
-            file.createNewFile();
-        }
-
-        return new OutputStreamWriter(new FileOutputStream(file), config.getRenderEncoding());
+    private Writer createWriter(File file) {
+        return outputFiles.createWriter(file, config.getRenderEncoding());
     }
 
     private void render(RenderingConfig renderConfig) throws Exception {
+        render(renderConfig, null);
+    }
+
+    /**
+     * @param renderConfig the rendering configuration of the output
+     * @param written      called once the output is written, see {@link #updateFingerprint(String, String)}
+     */
+    private void render(RenderingConfig renderConfig, Runnable written) throws Exception {
         File outputFile = renderConfig.getPath();
+        long start = RenderTimings.getInstance().begin();
         try {
-            try (Writer out = createWriter(outputFile)) {
+            try (Writer out = outputFiles.createWriter(outputFile, config.getRenderEncoding(), written)) {
                 renderingEngine.renderDocument(renderConfig.getModel(), renderConfig.getTemplate(), out);
             }
+            RenderTimings.getInstance().recordOutput(outputFile.getPath(), start);
             logger.info("Rendering {} [{}]... done!", renderConfig.getName(), outputFile);
         } catch (Exception e) {
             logger.error("Rendering {} [{}]... failed!", renderConfig.getName(), outputFile, e);
@@ -170,6 +258,39 @@ public class Renderer {
         }
     }
 
+    /**
+     * Render an output covering all documents, unless it exists and its inputs did not change since it was last rendered.
+     *
+     * @param key          the key the fingerprint of the output is stored with
+     * @param renderConfig the rendering configuration of the output
+     * @throws Exception if the output could not be rendered
+     */
+    private void renderIfChanged(String key, RenderingConfig renderConfig) throws Exception {
+        String fingerprint = new Fingerprint().add(aggregateFingerprint(renderConfig.getTemplate())).add(key).toHex();
+        if (isUnchanged(renderConfig.getPath(), key, fingerprint)) {
+            logger.info("Rendering {} [{}]... unchanged, skipped", renderConfig.getName(), renderConfig.getPath());
+            return;
+        }
+        render(renderConfig, updateFingerprint(key, fingerprint));
+    }
+
+    /**
+     * Stores the fingerprint of an output only once the output is on disk. With write-behind the output is written
+     * after rendering, and if writing fails the output must not be skipped by the next bake.
+     *
+     * @param key         the key the fingerprint of the output is stored with
+     * @param fingerprint the fingerprint of the inputs the output was rendered from
+     * @return the callback storing the fingerprint
+     */
+    private Runnable updateFingerprint(final String key, final String fingerprint) {
+        return new Runnable() {
+            @Override
+            public void run() {
+                db.updateFingerprint(key, fingerprint);
+            }
+        };
+    }
+
     /**
      * Render an index file using the supplied content.
      *
@@ -177,56 +298,87 @@ public class Renderer {
      * @throws Exception if IOException or SecurityException are raised
      */
     public void renderIndex(String indexFile) throws Exception {
-        render(new DefaultRenderingConfig(indexFile, MASTERINDEX_TEMPLATE_NAME));
+        renderIfChanged(MASTERINDEX_TEMPLATE_NAME, new DefaultRenderingConfig(indexFile, MASTERINDEX_TEMPLATE_NAME));
     }
 
-    public void renderIndexPaging(String indexFile) throws Exception {
+    public void renderIndexPaging(final String indexFile) throws Exception {
         long totalPosts = db.getPublishedCount("post");
-        int postsPerPage = config.getPostsPerPage();
+        final int postsPerPage = config.getPostsPerPage();
 
         if (totalPosts == 0) {
             //paging makes no sense. render single index file instead
             renderIndex(indexFile);
         } else {
-            PagingHelper pagingHelper = new PagingHelper(totalPosts, postsPerPage);
-
-            TemplateModel model = new TemplateModel();
-            model.setRenderer(renderingEngine);
-            model.setNumberOfPages(pagingHelper.getNumberOfPages());
-
-            try {
-                db.setLimit(postsPerPage);
-                for (int pageStart = 0, page = 1; pageStart < totalPosts; pageStart += postsPerPage, page++) {
-                    String fileName = indexFile;
-
-                    db.setStart(pageStart);
-                    model.setCurrentPageNuber(page);
-                    String previous = pagingHelper.getPreviousFileName(page);
-                    model.setPreviousFilename(previous);
-                    String nextFileName = pagingHelper.getNextFileName(page);
-                    model.setNextFileName(nextFileName);
-
-                    DocumentModel contentModel = buildSimpleModel(MASTERINDEX_TEMPLATE_NAME);
+            final PagingHelper pagingHelper = new PagingHelper(totalPosts, postsPerPage);
+            String fingerprint = aggregateFingerprint(findTemplateName(MASTERINDEX_TEMPLATE_NAME));
+
+            final Map<Integer, String> changedPages = new TreeMap<>();
+            for (int page = 1; page <= pagingHelper.getNumberOfPages(); page++) {
+                // Add page number to file name
+                String fileName = pagingHelper.getCurrentFileName(page, indexFile);
+                String key = MASTERINDEX_TEMPLATE_NAME + ":" + fileName;
+                String pageFingerprint = new Fingerprint().add(fingerprint).add(key).toHex();
+                if (isUnchanged(new File(config.getDestinationFolder(), fileName), key, pageFingerprint)) {
+                    logger.info("Rendering index [{}]... unchanged, skipped", fileName);
+                } else {
+                    changedPages.put(page, pageFingerprint);
+                }
+            }
+            if (changedPages.isEmpty()) {
+                return;
+            }
 
-                    if (page > 1) {
-                        contentModel.setRootPath("../");
+            // a single scan of the posts, each page gets its slice of it
+            final DocumentList<DocumentModel> posts = db.getPublishedPosts();
+            List<Callable<Void>> tasks = new ArrayList<>();
+            for (final Map.Entry<Integer, String> changedPage : changedPages.entrySet()) {
+                tasks.add(new Callable<Void>() {
+                    @Override
+                    public Void call() throws Exception {
+                        int page = changedPage.getKey();
+                        String fileName = pagingHelper.getCurrentFileName(page, indexFile);
+
+                        TemplateModel model = new TemplateModel();
+                        model.setRenderer(renderingEngine);
+                        model.setNumberOfPages(pagingHelper.getNumberOfPages());
+                        model.setCurrentPageNuber(page);
+                        model.setPreviousFilename(pagingHelper.getPreviousFileName(page));
+                        model.setNextFileName(pagingHelper.getNextFileName(page));
+                        model.setPublishedPosts(slice(posts, (page - 1) * postsPerPage, postsPerPage));
+
+                        DocumentModel contentModel = buildSimpleModel(MASTERINDEX_TEMPLATE_NAME);
+
+                        if (page > 1) {
+                            contentModel.setRootPath("../");
+                        }
+                        model.setContent(contentModel);
+
+                        ModelRenderingConfig renderConfig = new ModelRenderingConfig(fileName, model, MASTERINDEX_TEMPLATE_NAME);
+                        render(renderConfig, updateFingerprint(MASTERINDEX_TEMPLATE_NAME + ":" + fileName, changedPage.getValue()));
+                        return null;
                     }
-                    model.setContent(contentModel);
+                });
+            }
 
-                    // Add page number to file name
-                    fileName = pagingHelper.getCurrentFileName(page, fileName);
-                    ModelRenderingConfig renderConfig = new ModelRenderingConfig(fileName, model, MASTERINDEX_TEMPLATE_NAME);
-                    render(renderConfig);
-                }
-                db.resetPagination();
-            } catch (Exception e) {
+            List<Throwable> errors = ParallelExecutor.run(config.getRenderThreads(), "index", tasks);
+            if (!errors.isEmpty()) {
+                Throwable e = errors.get(0);
                 throw new Exception("Failed to render index. Cause: " + e.getMessage(), e);
             }
         }
     }
 
+    private static DocumentList<DocumentModel> slice(List<DocumentModel> documents, int start, int limit) {
+        DocumentList<DocumentModel> slice = new DocumentList<>();
+        if (start < documents.size()) {
+            slice.addAll(documents.subList(start, Math.min(documents.size(), start + limit)));
+        }
+        return slice;
+    }
+
     /**
-     * Render an XML sitemap file using the supplied content.
+     * Render an XML sitemap file using the supplied content. If {@link JBakeConfiguration#getSitemapBuiltin()} is
+     * enabled, it is written by {@link SitemapWriter} instead of a template.
      *
      * @param sitemapFile configuration for site map
      * @throws Exception if can't create correct default rendering config
@@ -234,27 +386,166 @@ public class Renderer {
      * @see <a href="http://www.sitemaps.org/">Sitemap protocol</a>
      */
     public void renderSitemap(String sitemapFile) throws Exception {
-        render(new DefaultRenderingConfig(sitemapFile, SITEMAP_TEMPLATE_NAME));
+        if (config.getSitemapBuiltin()) {
+            new SitemapWriter(db, config, outputFiles).write(sitemapFile);
+            return;
+        }
+        renderIfChanged(SITEMAP_TEMPLATE_NAME, new DefaultRenderingConfig(sitemapFile, SITEMAP_TEMPLATE_NAME));
     }
 
     /**
-     * Render an XML feed file using the supplied content.
+     * Render an XML feed file using the supplied content. The feed holds at most
+     * {@link JBakeConfiguration#getFeedMaxEntries()} posts, which are loaded with a single top-N query. If a feed format
+     * is configured, the feed is written by {@link FeedWriter} instead of a template and only re-written when the posts
+     * in it change.
      *
      * @param feedFile The name of the output file
      * @throws Exception if default rendering configuration is not loaded correctly
      */
     public void renderFeed(String feedFile) throws Exception {
-        render(new DefaultRenderingConfig(feedFile, FEED_TEMPLATE_NAME));
+        final int maxEntries = config.getFeedMaxEntries();
+        if (!config.getFeedFormat().isEmpty()) {
+            String fingerprint = feedFingerprints(maxEntries).get("");
+            renderFeedIfChanged(new File(config.getDestinationFolder(), feedFile), FEED_TEMPLATE_NAME, fingerprint, null, maxEntries);
+            return;
+        }
+        renderIfChanged(FEED_TEMPLATE_NAME, new DefaultRenderingConfig(feedFile, FEED_TEMPLATE_NAME) {
+            @Override
+            public TemplateModel getModel() {
+                TemplateModel model = super.getModel();
+                if (maxEntries > 0) {
+                    model.setPublishedPosts(db.getPublishedPosts(maxEntries));
+                }
+                return model;
+            }
+        });
     }
 
     /**
-     * Render an archive file using the supplied content.
+     * Render a feed file for every tag of the published posts, named after the tag with the extension of the feed file.
+     * The feeds are rendered in parallel, each only when the newest posts with its tag changed.
+     *
+     * @param tagPath The output path
+     * @return Number of rendered tag feeds
+     * @throws Exception if cannot render tag feeds correctly
+     */
+    public int renderTagFeeds(String tagPath) throws Exception {
+        final int maxEntries = config.getFeedMaxEntries();
+        final AtomicInteger renderedCount = new AtomicInteger();
+        String feedFile = config.getFeedFileName();
+        int dot = feedFile.lastIndexOf('.');
+        String extension = dot < 0 ? ".xml" : feedFile.substring(dot);
+
+        List<Callable<Void>> tasks = new ArrayList<>();
+        for (final Map.Entry<String, String> entry : feedFingerprints(maxEntries).entrySet()) {
+            final String tag = entry.getKey();
+            if (tag.isEmpty()) {
+                continue;
+            }
+            final File path = new File(config.getDestinationFolder() + File.separator + tagPath + File.separator + tag + extension);
+            tasks.add(new Callable<Void>() {
+                @Override
+                public Void call() throws Exception {
+                    if (renderFeedIfChanged(path, FEED_TEMPLATE_NAME + ":" + tag, entry.getValue(), tag, maxEntries)) {
+                        renderedCount.incrementAndGet();
+                    }
+                    return null;
+                }
+            });
+        }
+
+        List<Throwable> errors = ParallelExecutor.run(config.getRenderThreads(), "feeds", tasks);
+        if (!errors.isEmpty()) {
+            StringBuilder sb = new StringBuilder();
+            sb.append("Failed to render tag feeds. Cause(s):");
+            for (Throwable error : errors) {
+                sb.append("\n").append(error.getMessage());
+            }
+            throw new Exception(sb.toString(), errors.get(0));
+        }
+        return renderedCount.get();
+    }
+
+    /**
+     * Renders a feed, unless it exists and its inputs did not change since it was last rendered.
+     *
+     * @param path        the feed file
+     * @param key         the key the fingerprint of the feed is stored with
+     * @param fingerprint the fingerprint of the newest posts in the feed
+     * @param tag         the tag of the posts, null for all posts
+     * @param maxEntries  the maximum number of posts in the feed
+     * @return true if the feed was rendered
+     */
+    private boolean renderFeedIfChanged(File path, String key, String fingerprint, String tag, int maxEntries) throws Exception {
+        if (isUnchanged(path, key, fingerprint)) {
+            logger.info("Rendering feed [{}]... unchanged, skipped", path);
+            return false;
+        }
+
+        DocumentList<DocumentModel> posts = tag == null ? db.getPublishedPosts(maxEntries) : db.getPublishedPostsByTag(tag, maxEntries);
+        if (!config.getFeedFormat().isEmpty()) {
+            String title = tag == null ? config.getFeedTitle() : config.getFeedTitle() + " - " + tag;
+            new FeedWriter(config, outputFiles).write(path, title, posts, updateFingerprint(key, fingerprint));
+            logger.info("Rendering feed [{}]... done!", path);
+        } else {
+            TemplateModel model = new TemplateModel();
+            model.setRenderer(renderingEngine);
+            model.setPublishedPosts(posts);
+            if (tag != null) {
+                model.setTag(tag);
+                model.setTagPosts(posts);
+            }
+            DocumentModel content = buildSimpleModel(FEED_TEMPLATE_NAME);
+            content.setRootPath(FileUtil.getUriPathToDestinationRoot(config, path));
+            model.setContent(content);
+            render(new ModelRenderingConfig(path, FEED_TEMPLATE_NAME, model, findTemplateName(FEED_TEMPLATE_NAME)),
+                updateFingerprint(key, fingerprint));
+        }
+        return true;
+    }
+
+    /**
+     * Render an archive file using the supplied content. If the archive is paginated, only the pages whose posts
+     * changed are rendered.
      *
      * @param archiveFile The name of the output file
      * @throws Exception if default rendering configuration is not loaded correctly
      */
     public void renderArchive(String archiveFile) throws Exception {
-        render(new DefaultRenderingConfig(archiveFile, ARCHIVE_TEMPLATE_NAME));
+        if (!config.getPaginateArchive()) {
+            renderIfChanged(ARCHIVE_TEMPLATE_NAME, new DefaultRenderingConfig(archiveFile, ARCHIVE_TEMPLATE_NAME));
+            return;
+        }
+
+        // every page depends on all content except the posts on other pages
+        Fingerprint signature = new Fingerprint().add(renderSignature(findTemplateName(ARCHIVE_TEMPLATE_NAME)));
+        List<DocumentModel> posts = new ArrayList<>();
+        for (DocumentModel document : documentSignatures().documents) {
+            if (ModelAttributes.Status.PUBLISHED.equals(document.getStatus()) && "post".equals(document.getType())) {
+                posts.add(document);
+            } else if (ModelAttributes.Status.PUBLISHED.equals(document.getStatus())
+                || document.getType().equals(config.getDataFileDocType())) {
+                signature.add(document);
+            }
+        }
+
+        PagedOutput output = new PagedOutput("", archiveFile, ARCHIVE_TEMPLATE_NAME, ARCHIVE_TEMPLATE_NAME, new TemplateModel()) {
+            @Override
+            DocumentList<DocumentModel> loadDocuments() {
+                return db.getPublishedPosts();
+            }
+
+            @Override
+            void setDocuments(TemplateModel model, DocumentList<DocumentModel> documents) {
+                model.setPublishedPosts(documents);
+            }
+        };
+        List<Throwable> errors = ParallelExecutor.run(config.getRenderThreads(), "archive",
+            output.tasks(posts, config.getArchivePostsPerPage(), signature.toHex(), new AtomicInteger()));
+        if (!errors.isEmpty()) {
+            Throwable e = errors.get(0);
+            throw new Exception("Failed to render archive. Cause: " + e.getMessage(), e);
+        }
     }
 
     /**
@@ -264,55 +555,85 @@ public class Renderer {
      * @throws Exception    if default rendering configuration is not loaded correctly
      */
     public void renderError404(String errorFile) throws Exception {
-        render(new DefaultRenderingConfig(errorFile, ERROR404_TEMPLATE_NAME));
+        renderIfChanged(ERROR404_TEMPLATE_NAME, new DefaultRenderingConfig(errorFile, ERROR404_TEMPLATE_NAME));
     }
 
     /**
-     * Render tag files using the supplied content.
+     * Render tag files using the supplied content. If tag files are paginated, only the pages whose posts changed
+     * are rendered.
      *
      * @param tagPath The output path
      * @return Number of rendered tags
      * @throws Exception if cannot render tags correctly
      */
     public int renderTags(String tagPath) throws Exception {
-        int renderedCount = 0;
-        final List<Throwable> errors = new LinkedList<>();
-
-        for (String tag : db.getAllTags()) {
-            try {
-                TemplateModel model = new TemplateModel();
-                model.setRenderer(renderingEngine);
-                model.setTag(tag);
-                DocumentModel map = buildSimpleModel(ModelAttributes.TAG.toString());
-                File path = new File(config.getDestinationFolder() + File.separator + tagPath + File.separator + tag + config.getOutputExtension());
-
-                map.setRootPath(FileUtil.getUriPathToDestinationRoot(config, path));
-                model.setContent(map);
+        final AtomicInteger renderedCount = new AtomicInteger();
+        final String signature = renderSignature(findTemplateName(ModelAttributes.TAG.toString()));
+        final Map<String, String> fingerprints = tagFingerprints(signature);
+        final List<Callable<Void>> tasks = new ArrayList<>();
 
-                render(new ModelRenderingConfig(path, ModelAttributes.TAG.toString(), model, findTemplateName(ModelAttributes.TAG.toString())));
-
-                renderedCount++;
-            } catch (Exception e) {
-                errors.add(e);
+        if (config.getPaginateTags()) {
+            tasks.addAll(tagPageTasks(tagPath, signature, renderedCount));
+        } else {
+            for (final String tag : db.getAllTags()) {
+                tasks.add(new Callable<Void>() {
+                    @Override
+                    public Void call() throws Exception {
+                        File path = new File(config.getDestinationFolder() + File.separator + tagPath + File.separator + tag + config.getOutputExtension());
+                        String key = "tag:" + tag;
+                        String fingerprint = fingerprints.get(tag);
+
+                        if (isUnchanged(path, key, fingerprint)) {
+                            logger.debug("Tag [{}] has not changed, skipping {}", tag, path);
+                            return null;
+                        }
+
+                        TemplateModel model = new TemplateModel();
+                        model.setRenderer(renderingEngine);
+                        model.setTag(tag);
+                        DocumentModel map = buildSimpleModel(ModelAttributes.TAG.toString());
+
+                        map.setRootPath(FileUtil.getUriPathToDestinationRoot(config, path));
+                        model.setContent(map);
+
+                        render(new ModelRenderingConfig(path, ModelAttributes.TAG.toString(), model, findTemplateName(ModelAttributes.TAG.toString())),
+                            updateFingerprint(key, fingerprint));
+
+                        renderedCount.incrementAndGet();
+                        return null;
+                    }
+                });
             }
         }
 
+        final List<Throwable> errors = ParallelExecutor.run(config.getRenderThreads(), "tags", tasks);
+
         if (config.getRenderTagsIndex()) {
             try {
                 // Add an index file at root folder of tags.
                 // This will prevent directory listing and also provide an option to
                 // display all tags page.
-                TemplateModel model = new TemplateModel();
-                model.setRenderer(renderingEngine);
-                DocumentModel map = buildSimpleModel(ModelAttributes.TAGS.toString());
                 File path = new File(config.getDestinationFolder() + File.separator + tagPath + File.separator + "index" + config.getOutputExtension());
+                Fingerprint fingerprint = new Fingerprint().add(renderSignature(findTemplateName(TAGS_INDEX_TEMPLATE_NAME)));
+                for (Map.Entry<String, String> entry : new TreeMap<>(fingerprints).entrySet()) {
+                    fingerprint.add(entry.getKey()).add(entry.getValue());
+                }
+                String tagsIndexFingerprint = fingerprint.toHex();
 
-                map.setRootPath(FileUtil.getUriPathToDestinationRoot(config, path));
-                model.setContent(map);
+                if (isUnchanged(path, "tagsindex", tagsIndexFingerprint)) {
+                    logger.debug("Tags have not changed, skipping {}", path);
+                } else {
+                    TemplateModel model = new TemplateModel();
+                    model.setRenderer(renderingEngine);
+                    DocumentModel map = buildSimpleModel(ModelAttributes.TAGS.toString());
 
+                    map.setRootPath(FileUtil.getUriPathToDestinationRoot(config, path));
+                    model.setContent(map);
 
-                render(new ModelRenderingConfig(path, "tagindex", model, findTemplateName("tagsindex")));
-                renderedCount++;
+                    render(new ModelRenderingConfig(path, "tagindex", model, findTemplateName(TAGS_INDEX_TEMPLATE_NAME)),
+                        updateFingerprint("tagsindex", tagsIndexFingerprint));
+                    renderedCount.incrementAndGet();
+                }
             } catch (Exception e) {
                 errors.add(e);
             }
@@ -326,10 +647,325 @@ public class Renderer {
             }
             throw new Exception(sb.toString(), errors.get(0));
         } else {
-            return renderedCount;
+            return renderedCount.get();
         }
     }
 
+    /**
+     * Creates the tasks rendering the pages of every tag file whose posts changed.
+     *
+     * @param tagPath       the output path
+     * @param signature     the signature of the configuration and the tag template
+     * @param renderedCount counts the rendered pages
+     * @return the tasks
+     */
+    private List<Callable<Void>> tagPageTasks(String tagPath, String signature, AtomicInteger renderedCount) throws Exception {
+        // tagged documents other than posts are not paginated, every page of a tag depends on them
+        Map<String, List<DocumentModel>> taggedPosts = new HashMap<>();
+        Map<String, Fingerprint> taggedDocuments = new HashMap<>();
+        for (DocumentModel document : documentSignatures().documents) {
+            if (!ModelAttributes.Status.PUBLISHED.equals(document.getStatus()) || !DocumentTypes.contains(document.getType())) {
+                continue;
+            }
+            for (String tag : document.getTags()) {
+                if ("post".equals(document.getType())) {
+                    List<DocumentModel> posts = taggedPosts.get(tag);
+                    if (posts == null) {
+                        posts = new ArrayList<>();
+                        taggedPosts.put(tag, posts);
+                    }
+                    posts.add(document);
+                } else {
+                    Fingerprint fingerprint = taggedDocuments.get(tag);
+                    if (fingerprint == null) {
+                        fingerprint = new Fingerprint();
+                        taggedDocuments.put(tag, fingerprint);
+                    }
+                    fingerprint.add(document);
+                }
+            }
+        }
+
+        List<Callable<Void>> tasks = new ArrayList<>();
+        for (final String tag : db.getAllTags()) {
+            Fingerprint tagSignature = new Fingerprint().add(signature).add(tag);
+            if (taggedDocuments.containsKey(tag)) {
+                tagSignature.add(taggedDocuments.get(tag).toHex());
+            }
+            List<DocumentModel> posts = taggedPosts.get(tag);
+
+            TemplateModel model = new TemplateModel();
+            model.setTag(tag);
+            PagedOutput output = new PagedOutput(tagPath + FileUtil.URI_SEPARATOR_CHAR, tag + config.getOutputExtension(),
+                "tag:" + tag, ModelAttributes.TAG, model) {
+                @Override
+                DocumentList<DocumentModel> loadDocuments() {
+                    return db.getPublishedPostsByTag(tag);
+                }
+
+                @Override
+                void setDocuments(TemplateModel model, DocumentList<DocumentModel> documents) {
+                    model.setTagPosts(documents);
+                }
+            };
+            tasks.addAll(output.tasks(posts == null ? Collections.<DocumentModel>emptyList() : posts,
+                config.getTagPostsPerPage(), tagSignature.toHex(), renderedCount));
+        }
+        return tasks;
+    }
+
+    /**
+     * Computes a fingerprint per tag over the published documents tagged with it, in the order they are listed.
+     *
+     * @param signature the signature of the configuration and the tag template, which is part of every fingerprint
+     * @return the fingerprints keyed by tag
+     */
+    private Map<String, String> tagFingerprints(String signature) {
+        Map<String, Fingerprint> fingerprints = new HashMap<>();
+        for (DocumentModel document : documentSignatures().documents) {
+            if (!ModelAttributes.Status.PUBLISHED.equals(document.getStatus()) || !DocumentTypes.contains(document.getType())) {
+                continue;
+            }
+            for (String tag : document.getTags()) {
+                Fingerprint fingerprint = fingerprints.get(tag);
+                if (fingerprint == null) {
+                    fingerprint = new Fingerprint().add(signature).add(tag);
+                    fingerprints.put(tag, fingerprint);
+                }
+                fingerprint.add(document);
+            }
+        }
+
+        Map<String, String> result = new HashMap<>();
+        for (Map.Entry<String, Fingerprint> entry : fingerprints.entrySet()) {
+            result.put(entry.getKey(), entry.getValue().toHex());
+        }
+        return result;
+    }
+
+    /**
+     * Computes the fingerprints of the feeds from a single scan of the document signatures: the fingerprint of the feed
+     * of all posts is stored with the empty string, those of the tag feeds with their tag. Only the newest posts shown in
+     * a feed are part of its fingerprint.
+     *
+     * @param maxEntries the maximum number of posts in a feed, 0 or less for all posts
+     * @return the fingerprints
+     */
+    private Map<String, String> feedFingerprints(int maxEntries) {
+        String signature = renderSignature(findTemplateName(FEED_TEMPLATE_NAME));
+        Map<String, Fingerprint> fingerprints = new HashMap<>();
+        Map<String, Integer> counts = new HashMap<>();
+        fingerprints.put("", new Fingerprint().add(signature));
+        for (DocumentModel document : documentSignatures().documents) {
+            if (!ModelAttributes.Status.PUBLISHED.equals(document.getStatus()) || !"post".equals(document.getType())) {
+                continue;
+            }
+            addFeedEntry(fingerprints, counts, "", signature, document, maxEntries);
+            for (String tag : document.getTags()) {
+                addFeedEntry(fingerprints, counts, tag, signature, document, maxEntries);
+            }
+        }
+
+        Map<String, String> result = new HashMap<>();
+        for (Map.Entry<String, Fingerprint> entry : fingerprints.entrySet()) {
+            result.put(entry.getKey(), entry.getValue().toHex());
+        }
+        return result;
+    }
+
+    private static void addFeedEntry(Map<String, Fingerprint> fingerprints, Map<String, Integer> counts, String feed,
+                                     String signature, DocumentModel document, int maxEntries) {
+        Integer count = counts.get(feed);
+        int entries = count == null ? 0 : count;
+        if (maxEntries > 0 && entries >= maxEntries) {
+            return;
+        }
+        Fingerprint fingerprint = fingerprints.get(feed);
+        if (fingerprint == null) {
+            fingerprint = new Fingerprint().add(signature).add(feed);
+            fingerprints.put(feed, fingerprint);
+        }
+        fingerprint.add(document);
+        counts.put(feed, entries + 1);
+    }
+
+    /**
+     * Checks whether an output exists and was last rendered from inputs with the same fingerprint.
+     *
+     * @param path        the output file
+     * @param key         the key the fingerprint of the output is stored with
+     * @param fingerprint the fingerprint of the current inputs, may be null if unknown
+     * @return true if the output does not need to be rendered again
+     */
+    private boolean isUnchanged(File path, String key, String fingerprint) {
+        if (fingerprint != null && path.exists() && fingerprint.equals(db.getFingerprint(key))) {
+            skippedCount.incrementAndGet();
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Computes a fingerprint over all published documents and data files in the order they are listed,
+     * together with the signature of the configuration and the template.
+     *
+     * @param templateName the template the output is rendered with
+     * @return the fingerprint
+     */
+    private String aggregateFingerprint(String templateName) {
+        return new Fingerprint().add(renderSignature(templateName)).add(documentSignatures().published).toHex();
+    }
+
+    /**
+     * @return the signatures of all documents, scanned once per render phase while signatures are memoized
+     */
+    private DocumentSignatures documentSignatures() {
+        if (!memoizingSignatures) {
+            return new DocumentSignatures(db.getDocumentSignatures(), config.getDataFileDocType());
+        }
+        synchronized (this) {
+            if (documentSignatures == null) {
+                documentSignatures = new DocumentSignatures(db.getDocumentSignatures(), config.getDataFileDocType());
+            }
+            return documentSignatures;
+        }
+    }
+
+    /**
+     * Scans the document signatures only once until {@link #stopMemoizingSignatures()} is called, so outputs covering
+     * all documents do not query and hash them again. Documents must not change in the meantime.
+     */
+    public synchronized void startMemoizingSignatures() {
+        documentSignatures = null;
+        memoizingSignatures = true;
+    }
+
+    public synchronized void stopMemoizingSignatures() {
+        memoizingSignatures = false;
+        documentSignatures = null;
+    }
+
+    /**
+     * Computes a signature of the configuration, as it is exposed to every template, of a template together with
+     * the templates it includes and of the fingerprinted asset paths.
+     *
+     * @param templateName the template the output is rendered with
+     * @return the signature
+     */
+    private String renderSignature(String templateName) {
+        return new Fingerprint().add(templateDependencies().getSignature(templateName))
+            .add(unattributedTemplatesSignature())
+            .add(db.getFingerprint(AssetManifest.FINGERPRINT_KEY))
+            .add(configSignature())
+            .toHex();
+    }
+
+    /**
+     * @return the signature of the configuration model, computed once per snapshot of the configuration
+     */
+    private String configSignature() {
+        Map<String, Object> configModel = config.getConfigModel();
+        ConfigSignature current = configSignature;
+        if (current == null || current.configModel != configModel) {
+            Fingerprint fingerprint = new Fingerprint();
+            if (configModel != null) {
+                for (Map.Entry<String, Object> entry : new TreeMap<>(configModel).entrySet()) {
+                    fingerprint.add(entry.getKey()).add(entry.getValue());
+                }
+            }
+            current = new ConfigSignature(configModel, fingerprint.toHex());
+            configSignature = current;
+        }
+        return current.signature;
+    }
+
+    private synchronized TemplateDependencies templateDependencies() {
+        if (templateDependencies == null) {
+            templateDependencies = new TemplateDependencies(config.getTemplateFolder(), config.getTemplateEncoding());
+        }
+        return templateDependencies;
+    }
+
+    /**
+     * @return the signature of the template files no document template is found to include, which any output may
+     * still include in a syntax the include scan does not recognize
+     */
+    private synchronized String unattributedTemplatesSignature() {
+        if (unattributedTemplatesSignature == null) {
+            TemplateDependencies templates = templateDependencies();
+            Set<String> templateNames = new HashSet<>();
+            for (String docType : DocumentTypes.getDocumentTypes()) {
+                templateNames.add(findTemplateName(docType));
+            }
+            Fingerprint fingerprint = new Fingerprint();
+            for (String path : templates.findUnattributed(templateNames, templates.getSignatures().keySet())) {
+                fingerprint.add(path).add(templates.getSignatures().get(path));
+            }
+            unattributedTemplatesSignature = fingerprint.toHex();
+        }
+        return unattributedTemplatesSignature;
+    }
+
+    /**
+     * Sets the asset manifest templates look up fingerprinted asset paths in.
+     *
+     * @param manifest the asset manifest of the current bake, null if assets are not fingerprinted
+     */
+    public void setAssetManifest(AssetManifest manifest) {
+        renderingEngine.setAssetManifest(manifest);
+    }
+
+    /**
+     * @return the number of outputs which were not rendered because their inputs did not change
+     */
+    public int getSkippedCount() {
+        return skippedCount.get();
+    }
+
+    /**
+     * Lets output files be written to disk by background writer threads until {@link #finishWriteBehind()} is called.
+     */
+    public void startWriteBehind() {
+        outputFiles.startWriteBehind();
+    }
+
+    /**
+     * Waits until all output files rendered so far are written to disk.
+     *
+     * @return the errors which occurred while writing output files in the background
+     */
+    public List<Throwable> finishWriteBehind() {
+        return outputFiles.finishWriteBehind();
+    }
+
+    /**
+     * @return the number of output files written
+     */
+    public int getWrittenCount() {
+        return outputFiles.getWrittenCount();
+    }
+
+    /**
+     * @return the number of output files which were not written because their content did not change
+     */
+    public int getUnchangedCount() {
+        return outputFiles.getUnchangedCount();
+    }
+
+    /**
+     * @return the output files written
+     */
+    public List<File> getWrittenFiles() {
+        return outputFiles.getWrittenFiles();
+    }
+
+    /**
+     * @return the output files which were not written because their content did not change
+     */
+    public List<File> getUnchangedFiles() {
+        return outputFiles.getUnchangedFiles();
+    }
+
     /**
      * Builds simple map of values, which are exposed when rendering index/archive/sitemap/feed/tags.
      *
@@ -404,6 +1040,126 @@ public class Renderer {
         }
     }
 
+    /**
+     * An output listing documents split into pages of a fixed size. The first page is written to the given file, the
+     * others follow the {@link PagingHelper} scheme in the same folder. A page is only rendered again if its slice of
+     * the documents or the number of pages changed.
+     */
+    private abstract class PagedOutput {
+        private final String folder;
+        private final String fileName;
+        private final String key;
+        private final String templateType;
+        private final TemplateModel baseModel;
+        private DocumentList<DocumentModel> documents;
+
+        /**
+         * @param folder       the folder of the first page relative to the destination folder, empty or ending with '/'
+         * @param fileName     the file name of the first page
+         * @param key          the key the fingerprint of the first page is stored with
+         * @param templateType the type of the template to render the pages with
+         * @param baseModel    the model shared by all pages
+         */
+        PagedOutput(String folder, String fileName, String key, String templateType, TemplateModel baseModel) {
+            this.folder = folder;
+            this.fileName = fileName;
+            this.key = key;
+            this.templateType = templateType;
+            this.baseModel = baseModel;
+        }
+
+        /**
+         * @return the documents listed by the output, in the same order as their signatures
+         */
+        abstract DocumentList<DocumentModel> loadDocuments();
+
+        /**
+         * Exposes the documents of a page to its template.
+         */
+        abstract void setDocuments(TemplateModel model, DocumentList<DocumentModel> documents);
+
+        /**
+         * The documents are only loaded once, when the first changed page is rendered.
+         */
+        private synchronized DocumentList<DocumentModel> getDocuments() {
+            if (documents == null) {
+                documents = loadDocuments();
+            }
+            return documents;
+        }
+
+        /**
+         * Creates the tasks rendering the changed pages, and deletes pages left over from when there were more.
+         *
+         * @param signatures    the signatures of the documents, in the order they are listed
+         * @param perPage       the number of documents per page
+         * @param signature     the signature of all other inputs of the pages
+         * @param renderedCount counts the rendered pages
+         * @return the tasks
+         */
+        List<Callable<Void>> tasks(List<DocumentModel> signatures, final int perPage, String signature,
+                                   final AtomicInteger renderedCount) throws Exception {
+            final PagingHelper pagingHelper = new PagingHelper(signatures.size(), perPage);
+            final int numberOfPages = Math.max(1, pagingHelper.getNumberOfPages());
+            List<Callable<Void>> tasks = new ArrayList<>();
+
+            for (int i = 1; i <= numberOfPages; i++) {
+                final int page = i;
+                final File path = new File(config.getDestinationFolder(), folder + pagingHelper.getCurrentFileName(page, fileName));
+                final String pageKey = page == 1 ? key : key + ":" + page;
+                Fingerprint fingerprint = new Fingerprint().add(signature).add(pageKey).add(numberOfPages);
+                for (DocumentModel document : slice(signatures, (page - 1) * perPage, perPage)) {
+                    fingerprint.add(document);
+                }
+                final String pageFingerprint = fingerprint.toHex();
+                if (isUnchanged(path, pageKey, pageFingerprint)) {
+                    logger.debug("Page {} of [{}] has not changed, skipping {}", page, fileName, path);
+                    continue;
+                }
+
+                tasks.add(new Callable<Void>() {
+                    @Override
+                    public Void call() throws Exception {
+                        TemplateModel model = new TemplateModel(baseModel);
+                        model.setRenderer(renderingEngine);
+                        model.setNumberOfPages(numberOfPages);
+                        model.setCurrentPageNuber(page);
+                        String previous = pagingHelper.getPreviousFileName(page, fileName);
+                        model.setPreviousFilename(previous == null ? null : folder + previous);
+                        String next = pagingHelper.getNextFileName(page, fileName);
+                        model.setNextFileName(next == null ? null : folder + next);
+                        setDocuments(model, slice(getDocuments(), (page - 1) * perPage, perPage));
+
+                        DocumentModel content = buildSimpleModel(templateType);
+                        if (folder.isEmpty()) {
+                            // like the index, the pages of outputs in the destination folder are one level deeper
+                            content.setRootPath(page > 1 ? "../" : "");
+                        } else {
+                            content.setRootPath(FileUtil.getUriPathToDestinationRoot(config, path));
+                        }
+                        model.setContent(content);
+
+                        render(new ModelRenderingConfig(path, templateType, model, findTemplateName(templateType)),
+                            updateFingerprint(pageKey, pageFingerprint));
+                        renderedCount.incrementAndGet();
+                        return null;
+                    }
+                });
+            }
+
+            for (int page = numberOfPages + 1; ; page++) {
+                File path = new File(config.getDestinationFolder(), folder + pagingHelper.getCurrentFileName(page, fileName));
+                if (!path.exists()) {
+                    break;
+                }
+                GzipSidecars.delete(path);
+                db.deleteFingerprint(key + ":" + page);
+                logger.info("Deleted [{}], the page is no longer needed", path);
+            }
+            return tasks;
+        }
+    }
+
     class DefaultRenderingConfig extends AbstractRenderingConfig {
 
         private final DocumentModel content;
@@ -445,4 +1201,35 @@ public class Renderer {
         }
 
     }
+
+    /**
+     * The signatures of all documents, and a fingerprint over those of the published documents and data files in the
+     * order they are listed.
+     */
+    private static final class DocumentSignatures {
+        private final List<DocumentModel> documents;
+        private final String published;
+
+        private DocumentSignatures(DocumentList<DocumentModel> documents, String dataFileDocType) {
+            this.documents = documents != null ? documents : Collections.<DocumentModel>emptyList();
+            Fingerprint fingerprint = new Fingerprint();
+            for (DocumentModel document : this.documents) {
+                if (ModelAttributes.Status.PUBLISHED.equals(document.getStatus())
+                    || document.getType().equals(dataFileDocType)) {
+                    fingerprint.add(document);
+                }
+            }
+            this.published = fingerprint.toHex();
+        }
+    }
+
+    private static final class ConfigSignature {
+        private final Map<String, Object> configModel;
+        private final String signature;
+
+        private ConfigSignature(Map<String, Object> configModel, String signature) {
+            this.configModel = configModel;
+            this.signature = signature;
+        }
+    }
 }
@@ -0,0 +1,218 @@
+package org.jbake.app;
+
+import org.jbake.app.configuration.JBakeConfiguration;
+import org.jbake.app.output.GzipSidecars;
+import org.jbake.app.output.OutputFiles;
+import org.jbake.model.DocumentModel;
+import org.jbake.model.DocumentTypes;
+import org.jbake.util.Fingerprint;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Writes an XML sitemap of all published documents without a template. Only the location and date of the documents
+ * are read from the content store, their bodies are never loaded.
+ * <p>
+ * As the sitemaps protocol allows at most 50,000 URLs per file, sitemaps with more than
+ * {@link JBakeConfiguration#getSitemapMaxUrls()} URLs are split into numbered files, <code>sitemap-1.xml</code>,
+ * <code>sitemap-2.xml</code> and so on, and the sitemap file becomes a sitemap index listing them. Documents are listed
+ * oldest first, so new documents usually only change the last file. Files whose entries did not change are not written.
+ *
+ * @see <a href="http://www.sitemaps.org/protocol.html">Sitemap protocol</a>
+ */
+public class SitemapWriter {
+
+    public static final String FINGERPRINT_PREFIX = "sitemap:";
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(SitemapWriter.class);
+    private static final String NAMESPACE = "http://www.sitemaps.org/schemas/sitemap/0.9";
+    private static final String ENCODING = "UTF-8";
+
+    private final ContentStore db;
+    private final JBakeConfiguration config;
+    private final OutputFiles outputFiles;
+    private final XMLOutputFactory xmlOutputFactory = XMLOutputFactory.newInstance();
+    private int writtenCount;
+
+    public SitemapWriter(ContentStore db, JBakeConfiguration config, OutputFiles outputFiles) {
+        this.db = db;
+        this.config = config;
+        this.outputFiles = outputFiles;
+    }
+
+    /**
+     * Writes the sitemap, splitting it if needed, and deletes numbered files no longer needed.
+     *
+     * @param sitemapFile the name of the sitemap file
+     * @throws Exception if the sitemap could not be written
+     */
+    public void write(String sitemapFile) throws Exception {
+        List<Location> locations = locations();
+        int maxUrls = Math.max(1, config.getSitemapMaxUrls());
+
+        if (locations.size() <= maxUrls) {
+            writeUrlSet(sitemapFile, locations);
+            deleteChunks(sitemapFile, 1);
+            return;
+        }
+
+        List<Location> chunks = new ArrayList<>();
+        for (int start = 0, chunk = 1; start < locations.size(); start += maxUrls, chunk++) {
+            List<Location> entries = locations.subList(start, Math.min(locations.size(), start + maxUrls));
+            String chunkFile = chunkFileName(sitemapFile, chunk);
+            writeUrlSet(chunkFile, entries);
+
+            String lastModified = null;
+            for (Location entry : entries) {
+                if (entry.lastModified != null && (lastModified == null || entry.lastModified.compareTo(lastModified) > 0)) {
+                    lastModified = entry.lastModified;
+                }
+            }
+            chunks.add(new Location(url(chunkFile), lastModified));
+        }
+        writeIndex(sitemapFile, chunks);
+        deleteChunks(sitemapFile, chunks.size() + 1);
+    }
+
+    /**
+     * @return the number of sitemap files written
+     */
+    public int getWrittenCount() {
+        return writtenCount;
+    }
+
+    /**
+     * Inserts the number of a chunk before the extension: <code>sitemap.xml</code> becomes <code>sitemap-2.xml</code>.
+     */
+    static String chunkFileName(String sitemapFile, int chunk) {
+        int slash = sitemapFile.lastIndexOf('/');
+        int dot = sitemapFile.lastIndexOf('.');
+        if (dot <= slash + 1) {
+            return sitemapFile + "-" + chunk;
+        }
+        return sitemapFile.substring(0, dot) + "-" + chunk + sitemapFile.substring(dot);
+    }
+
+    private List<Location> locations() {
+        List<Location> locations = new ArrayList<>();
+        SimpleDateFormat dateFormat = new SimpleDateFormat("yyyy-MM-dd");
+        DocumentList<DocumentModel> documents = db.getPublishedLocations();
+        for (DocumentModel document : documents) {
+            String type = document.getType();
+            if (!DocumentTypes.contains(type) || type.equals(config.getDataFileDocType())) {
+                continue;
+            }
+            String uri = document.getNoExtensionUri() != null ? document.getNoExtensionUri() : document.getUri();
+            if (uri == null) {
+                continue;
+            }
+            Date date = document.getDate();
+            locations.add(new Location(url(uri), date == null ? null : dateFormat.format(date)));
+        }
+        return locations;
+    }
+
+    private String url(String path) {
+        String siteHost = config.getSiteHost();
+        if (siteHost.endsWith("/") || path.startsWith("/")) {
+            return siteHost + path;
+        }
+        return siteHost + "/" + path;
+    }
+
+    private void writeUrlSet(String fileName, List<Location> locations) throws Exception {
+        writeIfChanged(fileName, "urlset", "url", locations);
+    }
+
+    private void writeIndex(String fileName, List<Location> sitemaps) throws Exception {
+        writeIfChanged(fileName, "sitemapindex", "sitemap", sitemaps);
+    }
+
+    private void writeIfChanged(String fileName, String root, String element, List<Location> entries) throws Exception {
+        File file = new File(config.getDestinationFolder(), fileName);
+        final String key = FINGERPRINT_PREFIX + fileName;
+        Fingerprint fingerprint = new Fingerprint().add(root);
+        for (Location entry : entries) {
+            fingerprint.add(entry.url).add(entry.lastModified);
+        }
+        final String hex = fingerprint.toHex();
+        if (file.exists() && hex.equals(db.getFingerprint(key))) {
+            LOGGER.info("Rendering sitemap [{}]... unchanged, skipped", file);
+            return;
+        }
+
+        // the fingerprint is only stored once the file is on disk, a file which failed to be written is written again
+        Runnable written = new Runnable() {
+            @Override
+            public void run() {
+                db.updateFingerprint(key, hex);
+            }
+        };
+        try (Writer out = outputFiles.createWriter(file, ENCODING, written)) {
+            XMLStreamWriter xml = xmlOutputFactory.createXMLStreamWriter(out);
+            try {
+                xml.writeStartDocument(ENCODING, "1.0");
+                xml.writeCharacters("\n");
+                xml.writeStartElement(root);
+                xml.writeDefaultNamespace(NAMESPACE);
+                for (Location entry : entries) {
+                    xml.writeCharacters("\n  ");
+                    xml.writeStartElement(element);
+                    writeElement(xml, "loc", entry.url);
+                    if (entry.lastModified != null) {
+                        writeElement(xml, "lastmod", entry.lastModified);
+                    }
+                    xml.writeEndElement();
+                }
+                xml.writeCharacters("\n");
+                xml.writeEndElement();
+                xml.writeEndDocument();
+                xml.flush();
+            } finally {
+                xml.close();
+            }
+        }
+        writtenCount++;
+        LOGGER.info("Rendering sitemap [{}]... done!", file);
+    }
+
+    private void writeElement(XMLStreamWriter xml, String name, String value) throws XMLStreamException {
+        xml.writeStartElement(name);
+        xml.writeCharacters(value);
+        xml.writeEndElement();
+    }
+
+    private void deleteChunks(String sitemapFile, int firstChunk) throws IOException {
+        for (int chunk = firstChunk; ; chunk++) {
+            String chunkFile = chunkFileName(sitemapFile, chunk);
+            File file = new File(config.getDestinationFolder(), chunkFile);
+            if (!file.exists()) {
+                return;
+            }
+            GzipSidecars.delete(file);
+            db.deleteFingerprint(FINGERPRINT_PREFIX + chunkFile);
+            LOGGER.info("Deleted [{}], the sitemap no longer needs it", file);
+        }
+    }
+
+    private static final class Location {
+        private final String url;
+        private final String lastModified;
+
+        private Location(String url, String lastModified) {
+            this.url = url;
+            this.lastModified = lastModified;
+        }
+    }
+}
@@ -4,12 +4,15 @@ import org.apache.commons.configuration2.CompositeConfiguration;
 import org.apache.commons.configuration2.Configuration;
 import org.apache.commons.configuration2.MapConfiguration;
 import org.apache.commons.configuration2.SystemConfiguration;
+import org.apache.commons.configuration2.event.ConfigurationEvent;
+import org.apache.commons.configuration2.event.EventListener;
 import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.File;
 import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -34,6 +37,17 @@ public class DefaultJBakeConfiguration implements JBakeConfiguration {
     private static final String DOCTYPE_TEMPLATE_PREFIX = "template.";
     private final Logger logger = LoggerFactory.getLogger(DefaultJBakeConfiguration.class);
     private CompositeConfiguration compositeConfiguration;
+    private final AtomicInteger version = new AtomicInteger();
+    private volatile ConfigModel snapshot;
+    private volatile File outputFolder;
+    private final EventListener<ConfigurationEvent> changeListener = new EventListener<ConfigurationEvent>() {
+        @Override
+        public void onEvent(ConfigurationEvent event) {
+            if (!event.isBeforeUpdate()) {
+                version.incrementAndGet();
+            }
+        }
+    };
 
     /**
      * Some deprecated implementations just need access to the configuration without access to the source folder
@@ -43,11 +57,11 @@ public class DefaultJBakeConfiguration implements JBakeConfiguration {
      */
     @Deprecated
     public DefaultJBakeConfiguration(CompositeConfiguration configuration) {
-        this.compositeConfiguration = configuration;
+        setCompositeConfiguration(configuration);
     }
 
     public DefaultJBakeConfiguration(File sourceFolder, CompositeConfiguration configuration) {
-        this.compositeConfiguration = configuration;
+        setCompositeConfiguration(configuration);
         setSourceFolder(sourceFolder);
         setupPaths();
     }
@@ -141,6 +155,33 @@ public class DefaultJBakeConfiguration implements JBakeConfiguration {
         setProperty(ASSET_IGNORE_HIDDEN.getKey(), assetIgnoreHidden);
     }
 
+    @Override
+    public String getAssetCopyMode() {
+        return getAsString(ASSET_COPY_MODE.getKey(), "copy");
+    }
+
+    public void setAssetCopyMode(String assetCopyMode) {
+        setProperty(ASSET_COPY_MODE.getKey(), assetCopyMode);
+    }
+
+    @Override
+    public boolean getAssetFingerprint() {
+        return getAsBoolean(ASSET_FINGERPRINT.getKey());
+    }
+
+    public void setAssetFingerprint(boolean assetFingerprint) {
+        setProperty(ASSET_FINGERPRINT.getKey(), assetFingerprint);
+    }
+
+    @Override
+    public String getAssetFingerprintManifest() {
+        return getAsString(ASSET_FINGERPRINT_MANIFEST.getKey(), "asset-manifest.json");
+    }
+
+    public void setAssetFingerprintManifest(String assetFingerprintManifest) {
+        setProperty(ASSET_FINGERPRINT_MANIFEST.getKey(), assetFingerprintManifest);
+    }
+
     @Override
     public String getAttributesExportPrefixForAsciidoctor() {
         return getAsString(ASCIIDOCTOR_ATTRIBUTES_EXPORT_PREFIX.getKey(), "");
@@ -165,7 +206,14 @@ public class DefaultJBakeConfiguration implements JBakeConfiguration {
     }
 
     public void setCompositeConfiguration(CompositeConfiguration configuration) {
+        if (compositeConfiguration != null) {
+            compositeConfiguration.removeEventListener(ConfigurationEvent.ANY, changeListener);
+        }
         this.compositeConfiguration = configuration;
+        if (configuration != null) {
+            configuration.addEventListener(ConfigurationEvent.ANY, changeListener);
+        }
+        version.incrementAndGet();
     }
 
     @Override
@@ -254,7 +302,13 @@ public class DefaultJBakeConfiguration implements JBakeConfiguration {
 
     @Override
     public File getDestinationFolder() {
-        return getAsFolder(DESTINATION_FOLDER_KEY);
+        File folder = outputFolder;
+        return folder != null ? folder : getAsFolder(DESTINATION_FOLDER_KEY);
+    }
+
+    @Override
+    public void setOutputFolder(File outputFolder) {
+        this.outputFolder = outputFolder;
     }
 
     public void setDestinationFolder(File destinationFolder) {
@@ -263,6 +317,15 @@ public class DefaultJBakeConfiguration implements JBakeConfiguration {
         }
     }
 
+    @Override
+    public boolean getDestinationGenerations() {
+        return getAsBoolean(DESTINATION_GENERATIONS.getKey());
+    }
+
+    public void setDestinationGenerations(boolean destinationGenerations) {
+        setProperty(DESTINATION_GENERATIONS.getKey(), destinationGenerations);
+    }
+
     @Override
     public List<String> getDocumentTypes() {
         List<String> docTypes = new ArrayList<>();
@@ -303,6 +366,43 @@ public class DefaultJBakeConfiguration implements JBakeConfiguration {
         return getAsString(FEED_FILE.getKey());
     }
 
+    @Override
+    public String getFeedFormat() {
+        return getAsString(FEED_FORMAT.getKey(), "");
+    }
+
+    public void setFeedFormat(String format) {
+        setProperty(FEED_FORMAT.getKey(), format);
+    }
+
+    @Override
+    public int getFeedMaxEntries() {
+        return getAsInt(FEED_MAX_ENTRIES.getKey(), 0);
+    }
+
+    public void setFeedMaxEntries(int maxEntries) {
+        setProperty(FEED_MAX_ENTRIES.getKey(), maxEntries);
+    }
+
+    @Override
+    public boolean getFeedTags() {
+        return getAsBoolean(FEED_TAGS.getKey());
+    }
+
+    public void setFeedTags(boolean feedTags) {
+        setProperty(FEED_TAGS.getKey(), feedTags);
+    }
+
+    @Override
+    public String getFeedTitle() {
+        String title = getAsString(FEED_TITLE.getKey(), "");
+        return title.isEmpty() ? getSiteHost() : title;
+    }
+
+    public void setFeedTitle(String title) {
+        setProperty(FEED_TITLE.getKey(), title);
+    }
+
     @Override
     public String getIgnoreFileName() {
         return getAsString(IGNORE_FILE.getKey());
@@ -361,6 +461,42 @@ public class DefaultJBakeConfiguration implements JBakeConfiguration {
         setProperty(POSTS_PER_PAGE.getKey(), postsPerPage);
     }
 
+    @Override
+    public boolean getPaginateArchive() {
+        return getAsBoolean(PAGINATE_ARCHIVE.getKey());
+    }
+
+    public void setPaginateArchive(boolean paginateArchive) {
+        setProperty(PAGINATE_ARCHIVE.getKey(), paginateArchive);
+    }
+
+    @Override
+    public int getArchivePostsPerPage() {
+        return getAsInt(ARCHIVE_POSTS_PER_PAGE.getKey(), 50);
+    }
+
+    public void setArchivePostsPerPage(int postsPerPage) {
+        setProperty(ARCHIVE_POSTS_PER_PAGE.getKey(), postsPerPage);
+    }
+
+    @Override
+    public boolean getPaginateTags() {
+        return getAsBoolean(PAGINATE_TAGS.getKey());
+    }
+
+    public void setPaginateTags(boolean paginateTags) {
+        setProperty(PAGINATE_TAGS.getKey(), paginateTags);
+    }
+
+    @Override
+    public int getTagPostsPerPage() {
+        return getAsInt(TAG_POSTS_PER_PAGE.getKey(), 10);
+    }
+
+    public void setTagPostsPerPage(int postsPerPage) {
+        setProperty(TAG_POSTS_PER_PAGE.getKey(), postsPerPage);
+    }
+
     @Override
     public String getPrefixForUriWithoutExtension() {
         return getAsString(URI_NO_EXTENSION_PREFIX.getKey());
@@ -419,6 +555,96 @@ public class DefaultJBakeConfiguration implements JBakeConfiguration {
         compositeConfiguration.setProperty(RENDER_TAGS_INDEX.getKey(), enable);
     }
 
+    @Override
+    public int getRenderThreads() {
+        int threads = getAsInt(RENDER_THREADS.getKey(), 0);
+        if (threads <= 0) {
+            threads = Runtime.getRuntime().availableProcessors();
+        }
+        return threads;
+    }
+
+    public void setRenderThreads(int threads) {
+        setProperty(RENDER_THREADS.getKey(), threads);
+    }
+
+    @Override
+    public boolean getRenderTimings() {
+        return getAsBoolean(RENDER_TIMINGS.getKey());
+    }
+
+    public void setRenderTimings(boolean renderTimings) {
+        setProperty(RENDER_TIMINGS.getKey(), renderTimings);
+    }
+
+    @Override
+    public int getRenderTimingsTop() {
+        return getAsInt(RENDER_TIMINGS_TOP.getKey(), 10);
+    }
+
+    @Override
+    public int getRenderWriterThreads() {
+        return getAsInt(RENDER_WRITER_THREADS.getKey(), 2);
+    }
+
+    public void setRenderWriterThreads(int threads) {
+        setProperty(RENDER_WRITER_THREADS.getKey(), threads);
+    }
+
+    @Override
+    public boolean getRenderGzip() {
+        return getAsBoolean(RENDER_GZIP.getKey());
+    }
+
+    public void setRenderGzip(boolean enable) {
+        setProperty(RENDER_GZIP.getKey(), enable);
+    }
+
+    @Override
+    public List<String> getRenderGzipExtensions() {
+        return getAsList(RENDER_GZIP_EXTENSIONS.getKey());
+    }
+
+    public void setRenderGzipExtensions(String... extensions) {
+        setProperty(RENDER_GZIP_EXTENSIONS.getKey(), StringUtils.join(extensions, ","));
+    }
+
+    @Override
+    public int getRenderGzipLevel() {
+        return getAsInt(RENDER_GZIP_LEVEL.getKey(), 9);
+    }
+
+    public void setRenderGzipLevel(int level) {
+        setProperty(RENDER_GZIP_LEVEL.getKey(), level);
+    }
+
+    @Override
+    public boolean getRenderMinify() {
+        return getAsBoolean(RENDER_MINIFY.getKey());
+    }
+
+    public void setRenderMinify(boolean enable) {
+        setProperty(RENDER_MINIFY.getKey(), enable);
+    }
+
+    @Override
+    public List<String> getRenderMinifyExtensions() {
+        return getAsList(RENDER_MINIFY_EXTENSIONS.getKey());
+    }
+
+    public void setRenderMinifyExtensions(String... extensions) {
+        setProperty(RENDER_MINIFY_EXTENSIONS.getKey(), StringUtils.join(extensions, ","));
+    }
+
+    @Override
+    public boolean getWriteIfChanged() {
+        return getAsBoolean(RENDER_WRITE_IF_CHANGED.getKey());
+    }
+
+    public void setWriteIfChanged(boolean writeIfChanged) {
+        setProperty(RENDER_WRITE_IF_CHANGED.getKey(), writeIfChanged);
+    }
+
     @Override
     public boolean getSanitizeTag() {
         return getAsBoolean(TAG_SANITIZE.getKey());
@@ -447,6 +673,24 @@ public class DefaultJBakeConfiguration implements JBakeConfiguration {
         return getAsString(SITEMAP_FILE.getKey());
     }
 
+    @Override
+    public boolean getSitemapBuiltin() {
+        return getAsBoolean(SITEMAP_BUILTIN.getKey());
+    }
+
+    public void setSitemapBuiltin(boolean sitemapBuiltin) {
+        setProperty(SITEMAP_BUILTIN.getKey(), sitemapBuiltin);
+    }
+
+    @Override
+    public int getSitemapMaxUrls() {
+        return getAsInt(SITEMAP_MAX_URLS.getKey(), 50000);
+    }
+
+    public void setSitemapMaxUrls(int maxUrls) {
+        setProperty(SITEMAP_MAX_URLS.getKey(), maxUrls);
+    }
+
     @Override
     public File getSourceFolder() {
         return getAsFolder(SOURCE_FOLDER_KEY);
@@ -467,6 +711,15 @@ public class DefaultJBakeConfiguration implements JBakeConfiguration {
         return getAsString(TEMPLATE_ENCODING.getKey());
     }
 
+    @Override
+    public String getTemplateCache() {
+        return getAsString(TEMPLATE_CACHE.getKey(), "");
+    }
+
+    public void setTemplateCache(String templateCache) {
+        setProperty(TEMPLATE_CACHE.getKey(), templateCache);
+    }
+
     @Override
     public String getTemplateByDocType(String docType) {
         String templateKey = DOCTYPE_TEMPLATE_PREFIX + docType + DOCTYPE_FILE_POSTFIX;
@@ -573,6 +826,17 @@ public class DefaultJBakeConfiguration implements JBakeConfiguration {
         return configModel;
     }
 
+    @Override
+    public Map<String, Object> getConfigModel() {
+        int currentVersion = version.get();
+        ConfigModel current = snapshot;
+        if (current == null || current.version != currentVersion) {
+            current = new ConfigModel(currentVersion, Collections.unmodifiableMap(asHashMap()));
+            snapshot = current;
+        }
+        return current.model;
+    }
+
     public void setTemplateExtensionForDocType(String docType, String extension) {
         String templateExtensionKey = DOCTYPE_TEMPLATE_PREFIX + docType + DOCTYPE_EXTENSION_POSTFIX;
         setProperty(templateExtensionKey, extension);
@@ -649,6 +913,60 @@ public class DefaultJBakeConfiguration implements JBakeConfiguration {
         setProperty(HEADER_SEPARATOR.getKey(), headerSeparator);
     }
 
+    @Override
+    public String getImgDerivativeCache() {
+        return getAsString(IMG_DERIVATIVE_CACHE.getKey(), "image-cache");
+    }
+
+    public void setImgDerivativeCache(String imgDerivativeCache) {
+        setProperty(IMG_DERIVATIVE_CACHE.getKey(), imgDerivativeCache);
+    }
+
+    @Override
+    public List<String> getImgDerivativeExtensions() {
+        return getAsList(IMG_DERIVATIVE_EXTENSIONS.getKey());
+    }
+
+    public void setImgDerivativeExtensions(String... extensions) {
+        setProperty(IMG_DERIVATIVE_EXTENSIONS.getKey(), StringUtils.join(extensions, ","));
+    }
+
+    @Override
+    public int getImgDerivativeQuality() {
+        return getAsInt(IMG_DERIVATIVE_QUALITY.getKey(), 85);
+    }
+
+    public void setImgDerivativeQuality(int quality) {
+        setProperty(IMG_DERIVATIVE_QUALITY.getKey(), quality);
+    }
+
+    @Override
+    public boolean getImgDerivativeSrcset() {
+        return getAsBoolean(IMG_DERIVATIVE_SRCSET.getKey());
+    }
+
+    public void setImgDerivativeSrcset(boolean srcset) {
+        setProperty(IMG_DERIVATIVE_SRCSET.getKey(), srcset);
+    }
+
+    @Override
+    public List<Integer> getImgDerivativeWidths() {
+        Set<Integer> widths = new TreeSet<>();
+        List<String> values = getAsList(IMG_DERIVATIVE_WIDTHS.getKey());
+        if (values != null) {
+            for (String value : values) {
+                if (StringUtils.isNotBlank(value)) {
+                    widths.add(Integer.parseInt(value.trim()));
+                }
+            }
+        }
+        return new ArrayList<>(widths);
+    }
+
+    public void setImgDerivativeWidths(Integer... widths) {
+        setProperty(IMG_DERIVATIVE_WIDTHS.getKey(), StringUtils.join(widths, ","));
+    }
+
     @Override
     public boolean getImgPathPrependHost() {
         return getAsBoolean(IMG_PATH_PREPEND_HOST.getKey());
@@ -691,6 +1009,7 @@ public class DefaultJBakeConfiguration implements JBakeConfiguration {
     @Override
     public void addConfiguration(Properties properties) {
         compositeConfiguration.addConfiguration(new MapConfiguration(properties));
+        version.incrementAndGet();
     }
 
     @Override
@@ -702,4 +1021,17 @@ public class DefaultJBakeConfiguration implements JBakeConfiguration {
     public String getJvmLocale() {
         return getAsString(JVM_LOCALE.getKey());
     }
+
+    /**
+     * The configuration model built for a version of the configuration.
+     */
+    private static final class ConfigModel {
+        private final int version;
+        private final Map<String, Object> model;
+
+        private ConfigModel(int version, Map<String, Object> model) {
+            this.version = version;
+            this.model = model;
+        }
+    }
 }
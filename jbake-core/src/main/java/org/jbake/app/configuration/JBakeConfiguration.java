@@ -61,6 +61,21 @@ public interface JBakeConfiguration {
      */
     boolean getAssetIgnoreHidden();
 
+    /**
+     * @return How asset files are published to the destination folder: copy, hardlink, symlink or clone
+     */
+    String getAssetCopyMode();
+
+    /**
+     * @return Flag indicating if assets should also be published with a hash of their content in the file name
+     */
+    boolean getAssetFingerprint();
+
+    /**
+     * @return File name of the manifest mapping asset paths to fingerprinted paths
+     */
+    String getAssetFingerprintManifest();
+
     /**
      * @return Prefix to be used when exporting JBake properties to Asciidoctor
      */
@@ -127,12 +142,25 @@ public interface JBakeConfiguration {
     String getDefaultType();
 
     /**
-     * @return The destination folder to render and copy files to
+     * @return The destination folder to render and copy files to, the output folder while one is set
      */
     File getDestinationFolder();
 
     void setDestinationFolder(File destination);
 
+    /**
+     * Lets a bake write to another folder than the destination folder, such as an output generation. The output folder
+     * is no configuration property, so templates and the config model still see the destination folder.
+     *
+     * @param outputFolder the folder to render and copy files to, null to write to the destination folder again
+     */
+    void setOutputFolder(File outputFolder);
+
+    /**
+     * @return Flag indicating if each bake should write a new output generation, which replaces the destination folder atomically
+     */
+    boolean getDestinationGenerations();
+
     List<String> getDocumentTypes();
 
     /**
@@ -163,6 +191,28 @@ public interface JBakeConfiguration {
      */
     String getFeedFileName();
 
+    /**
+     * @return Format of feeds written without a template, <code>atom</code> or <code>rss</code>, or an empty string to
+     * render the feed template
+     */
+    String getFeedFormat();
+
+    /**
+     * @return Maximum number of posts in a feed, 0 for all published posts
+     */
+    int getFeedMaxEntries();
+
+    /**
+     * @return Flag indicating if a feed file should be rendered for every tag, only used when {@link #getRenderFeed()}
+     * is true
+     */
+    boolean getFeedTags();
+
+    /**
+     * @return Title of feeds written without a template, defaults to {@link #getSiteHost()}
+     */
+    String getFeedTitle();
+
 
     /**
      * @return String used to separate the header from the body
@@ -212,6 +262,26 @@ public interface JBakeConfiguration {
      */
     int getPostsPerPage();
 
+    /**
+     * @return Flag indicating if there should be pagination when rendering the archive
+     */
+    boolean getPaginateArchive();
+
+    /**
+     * @return How many posts per page on the archive
+     */
+    int getArchivePostsPerPage();
+
+    /**
+     * @return Flag indicating if there should be pagination when rendering tag files
+     */
+    boolean getPaginateTags();
+
+    /**
+     * @return How many posts per page on tag files
+     */
+    int getTagPostsPerPage();
+
     /**
      * @return URI prefix for content that should be given extension-less output URI's
      */
@@ -262,6 +332,57 @@ public interface JBakeConfiguration {
      */
     boolean getRenderTagsIndex();
 
+    /**
+     * @return Number of threads used to render pages in parallel, defaults to the number of available processors
+     */
+    int getRenderThreads();
+
+    /**
+     * @return Flag indicating if a report of the slowest outputs, templates and model extractors should be logged at the
+     * end of the bake
+     */
+    boolean getRenderTimings();
+
+    /**
+     * @return Number of entries per list of the render timing report, used only when {@link #getRenderTimings()} is true
+     */
+    int getRenderTimingsTop();
+
+    /**
+     * @return Number of threads writing rendered files to disk in the background, 0 to write them on the rendering threads
+     */
+    int getRenderWriterThreads();
+
+    /**
+     * @return Flag indicating if output files should only be replaced when their content changed
+     */
+    boolean getWriteIfChanged();
+
+    /**
+     * @return Flag indicating if precompressed .gz files should be written next to text output files
+     */
+    boolean getRenderGzip();
+
+    /**
+     * @return Extensions of output files to write precompressed .gz files for
+     */
+    List<String> getRenderGzipExtensions();
+
+    /**
+     * @return Compression level of precompressed .gz files, from 1 (fastest) to 9 (smallest)
+     */
+    int getRenderGzipLevel();
+
+    /**
+     * @return Flag indicating if insignificant whitespace should be removed from rendered HTML
+     */
+    boolean getRenderMinify();
+
+    /**
+     * @return Extensions of output files to remove insignificant whitespace from
+     */
+    List<String> getRenderMinifyExtensions();
+
     /**
      * @return Flag indicating if the tag value should be sanitized
      */
@@ -282,6 +403,16 @@ public interface JBakeConfiguration {
      */
     String getSiteMapFileName();
 
+    /**
+     * @return Flag indicating if the sitemap should be written without a template, split into several files if needed
+     */
+    boolean getSitemapBuiltin();
+
+    /**
+     * @return Maximum number of URLs per sitemap file when {@link #getSitemapBuiltin()} is true
+     */
+    int getSitemapMaxUrls();
+
     /**
      * @return the source folder of the project
      */
@@ -297,6 +428,12 @@ public interface JBakeConfiguration {
      */
     String getTemplateEncoding();
 
+    /**
+     * @return Folder keeping classes compiled from Groovy templates, relative to the source folder unless absolute, empty
+     * if templates are compiled on every run
+     */
+    String getTemplateCache();
+
     String getTemplateByDocType(String doctype);
 
     File getTemplateFileByDocType(String doctype);
@@ -321,6 +458,31 @@ public interface JBakeConfiguration {
      */
     boolean getUriWithoutExtension();
 
+    /**
+     * @return Folder keeping generated image variants, relative to the source folder unless absolute
+     */
+    String getImgDerivativeCache();
+
+    /**
+     * @return Extensions of images to generate variants of
+     */
+    List<String> getImgDerivativeExtensions();
+
+    /**
+     * @return Quality of generated jpeg image variants, from 1 to 100
+     */
+    int getImgDerivativeQuality();
+
+    /**
+     * @return Flag indicating if images in content should get a srcset listing their variants
+     */
+    boolean getImgDerivativeSrcset();
+
+    /**
+     * @return Widths of image variants to generate, empty if no variants are generated
+     */
+    List<Integer> getImgDerivativeWidths();
+
     /**
      * @return Flag indicating if image paths should be prepended with {@link #getSiteHost()} value - only has an effect if
      * {@link #getImgPathUpdate()} is set to true
@@ -369,6 +531,11 @@ public interface JBakeConfiguration {
 
     Map<String, Object> asHashMap();
 
+    /**
+     * @return An unmodifiable copy of {@link #asHashMap()}, shared by all renders until the configuration changes
+     */
+    Map<String, Object> getConfigModel();
+
     List<Property> getJbakeProperties();
 
     void addConfiguration(Properties properties);
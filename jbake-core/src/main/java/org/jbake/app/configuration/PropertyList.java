@@ -11,6 +11,11 @@ public abstract class PropertyList {
         "Output filename for archive file"
     );
 
+    public static final Property ARCHIVE_POSTS_PER_PAGE = new Property(
+        "archive.posts_per_page",
+        "number of posts per page for archive pagination"
+    );
+
     public static final Property ASCIIDOCTOR_ATTRIBUTES = new Property(
         "asciidoctor.attributes",
         "attributes to be set when processing input"
@@ -31,6 +36,21 @@ public abstract class PropertyList {
         "default asciidoctor options"
     );
 
+    public static final Property ASSET_COPY_MODE = new Property(
+        "asset.copy.mode",
+        "how asset files are published to the destination folder: copy, hardlink, symlink or clone (copy-on-write), falling back to copy"
+    );
+
+    public static final Property ASSET_FINGERPRINT = new Property(
+        "asset.fingerprint",
+        "publish a copy of every asset with a hash of its content in the file name, templates look it up with asset(\"path\")"
+    );
+
+    public static final Property ASSET_FINGERPRINT_MANIFEST = new Property(
+        "asset.fingerprint.manifest",
+        "file name of the manifest mapping asset paths to fingerprinted paths"
+    );
+
     public static final Property ASSET_FOLDER = new Property(
         "asset.folder",
         "folder that contains all asset files"
@@ -95,6 +115,11 @@ public abstract class PropertyList {
         "path to destination folder by default"
     );
 
+    public static final Property DESTINATION_GENERATIONS = new Property(
+        "destination.generations",
+        "bake into a new output generation and switch the destination folder to it once the bake completed"
+    );
+
     public static final Property DRAFT_SUFFIX = new Property(
         "draft.suffix",
         "draft content suffix"
@@ -110,6 +135,26 @@ public abstract class PropertyList {
         "filename to use for feed"
     );
 
+    public static final Property FEED_FORMAT = new Property(
+        "feed.format",
+        "write feeds without a template as atom or rss, leave empty to render the feed template"
+    );
+
+    public static final Property FEED_MAX_ENTRIES = new Property(
+        "feed.max_entries",
+        "maximum number of posts in a feed, 0 for all posts"
+    );
+
+    public static final Property FEED_TAGS = new Property(
+        "feed.tags",
+        "render a feed file for every tag?"
+    );
+
+    public static final Property FEED_TITLE = new Property(
+        "feed.title",
+        "title of feeds written without a template, defaults to the site host"
+    );
+
     public static final Property GIT_HASH = new Property(
         "git.hash",
         "abbreviated git hash"
@@ -125,6 +170,31 @@ public abstract class PropertyList {
         "file used to ignore a directory"
     );
 
+    public static final Property IMG_DERIVATIVE_CACHE = new Property(
+        "img.derivative.cache",
+        "folder keeping generated image variants, relative to the source folder"
+    );
+
+    public static final Property IMG_DERIVATIVE_EXTENSIONS = new Property(
+        "img.derivative.extensions",
+        "comma delimited extensions of images to generate variants of"
+    );
+
+    public static final Property IMG_DERIVATIVE_QUALITY = new Property(
+        "img.derivative.quality",
+        "quality of generated jpeg image variants, from 1 to 100"
+    );
+
+    public static final Property IMG_DERIVATIVE_SRCSET = new Property(
+        "img.derivative.srcset",
+        "add a srcset listing the image variants to images in content"
+    );
+
+    public static final Property IMG_DERIVATIVE_WIDTHS = new Property(
+        "img.derivative.widths",
+        "comma delimited widths of image variants to generate"
+    );
+
     public static final Property IMG_PATH_UPDATE = new Property(
         "img.path.update",
         "update image path?"
@@ -160,11 +230,21 @@ public abstract class PropertyList {
         "file extension for output content files"
     );
 
+    public static final Property PAGINATE_ARCHIVE = new Property(
+        "archive.paginate",
+        "paginate archive?"
+    );
+
     public static final Property PAGINATE_INDEX = new Property(
         "index.paginate",
         "paginate index?"
     );
 
+    public static final Property PAGINATE_TAGS = new Property(
+        "tag.paginate",
+        "paginate tag files?"
+    );
+
     public static final Property POSTS_PER_PAGE = new Property(
         "index.posts_per_page",
         "number of post per page for pagination"
@@ -190,11 +270,36 @@ public abstract class PropertyList {
         "render feed file?"
     );
 
+    public static final Property RENDER_GZIP = new Property(
+        "render.gzip",
+        "write precompressed .gz files next to text output files which changed"
+    );
+
+    public static final Property RENDER_GZIP_EXTENSIONS = new Property(
+        "render.gzip.extensions",
+        "comma delimited extensions of output files to write .gz files for"
+    );
+
+    public static final Property RENDER_GZIP_LEVEL = new Property(
+        "render.gzip.level",
+        "compression level of .gz files, from 1 (fastest) to 9 (smallest)"
+    );
+
     public static final Property RENDER_INDEX = new Property(
         "render.index",
         "render index file?"
     );
 
+    public static final Property RENDER_MINIFY = new Property(
+        "render.minify",
+        "remove insignificant whitespace from rendered HTML while it is written"
+    );
+
+    public static final Property RENDER_MINIFY_EXTENSIONS = new Property(
+        "render.minify.extensions",
+        "comma delimited extensions of output files to minify"
+    );
+
     public static final Property RENDER_SITEMAP = new Property(
         "render.sitemap",
         "render sitemap.xml file?"
@@ -210,6 +315,31 @@ public abstract class PropertyList {
         "render tag index file?"
     );
 
+    public static final Property RENDER_TIMINGS = new Property(
+        "render.timings",
+        "log the slowest outputs, templates and model extractors at the end of the bake?"
+    );
+
+    public static final Property RENDER_TIMINGS_TOP = new Property(
+        "render.timings.top",
+        "number of entries per list of the render timing report"
+    );
+
+    public static final Property RENDER_THREADS = new Property(
+        "render.threads",
+        "number of threads used to render pages in parallel (0 uses the number of available processors)"
+    );
+
+    public static final Property RENDER_WRITER_THREADS = new Property(
+        "render.writerThreads",
+        "number of threads writing rendered files to disk in the background (0 writes them on the rendering threads)"
+    );
+
+    public static final Property RENDER_WRITE_IF_CHANGED = new Property(
+        "render.writeIfChanged",
+        "only replace output files whose content changed, preserving the modification time of unchanged files"
+    );
+
     public static final Property SERVER_PORT = new Property(
         "server.port",
         "default server port"
@@ -230,16 +360,31 @@ public abstract class PropertyList {
         "site host"
     );
 
+    public static final Property SITEMAP_BUILTIN = new Property(
+        "sitemap.builtin",
+        "write sitemap.xml without a template?"
+    );
+
     public static final Property SITEMAP_FILE = new Property(
         "sitemap.file",
         "filename to use for sitemap file"
     );
 
+    public static final Property SITEMAP_MAX_URLS = new Property(
+        "sitemap.max_urls",
+        "maximum number of URLs per sitemap file written without a template"
+    );
+
     public static final Property TAG_SANITIZE = new Property(
         "tag.sanitize",
         "sanitize tag value before it is used as filename (i.e. replace spaces with hyphens)"
     );
 
+    public static final Property TAG_POSTS_PER_PAGE = new Property(
+        "tag.posts_per_page",
+        "number of posts per page for tag file pagination"
+    );
+
     public static final Property TAG_PATH = new Property(
         "tag.path",
         "folder name to use for tag files"
@@ -255,6 +400,11 @@ public abstract class PropertyList {
         "character encoding MIME name used in templates. use one of http://www.iana.org/assignments/character-sets/character-sets.xhtml"
     );
 
+    public static final Property TEMPLATE_CACHE = new Property(
+        "template.cache",
+        "folder keeping classes compiled from Groovy templates, relative to the source folder, empty to compile templates on every run"
+    );
+
     public static final Property TEMPLATE_MASTERINDEX_FILE = new Property(
         "template.masterindex.file",
         "filename of masterindex template file"
@@ -0,0 +1,202 @@
+package org.jbake.app.output;
+
+import org.jbake.app.FileUtil;
+import org.jbake.app.configuration.JBakeConfiguration;
+import org.jbake.util.Fingerprint;
+import org.jbake.util.ParallelExecutor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Writes a precompressed copy with the extension <code>.gz</code> next to text output files, so web servers can
+ * send it to clients accepting gzip without compressing the file on every request.
+ * <p>
+ * The sidecar gets the modification time of the file it was compressed from, which lets a later bake tell whether
+ * the sidecar of a file it did not write is still current. That does not tell whether the sidecar was written with the
+ * current settings, so the settings are kept as a fingerprint under {@link #FINGERPRINT_KEY}.
+ */
+public class GzipSidecars {
+
+    public static final String EXTENSION = ".gz";
+    public static final String FINGERPRINT_KEY = "gzip";
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(GzipSidecars.class);
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final int level;
+    private final int threads;
+    private final Set<String> extensions = new HashSet<>();
+    private final AtomicInteger compressedCount = new AtomicInteger();
+    private final AtomicLong tempFileCounter = new AtomicLong();
+
+    public GzipSidecars(JBakeConfiguration config) {
+        this.level = Math.max(1, Math.min(9, config.getRenderGzipLevel()));
+        this.threads = config.getRenderThreads();
+        for (String extension : config.getRenderGzipExtensions()) {
+            extensions.add(extension.trim().toLowerCase(Locale.ENGLISH));
+        }
+    }
+
+    /**
+     * @param file an output file
+     * @return true if a sidecar is written for the file
+     */
+    public boolean accepts(File file) {
+        return extensions.contains(FileUtil.fileExt(file).toLowerCase(Locale.ENGLISH));
+    }
+
+    /**
+     * @return a signature of the settings which affect which sidecars are written and their content
+     */
+    public String getSignature() {
+        Fingerprint fingerprint = new Fingerprint().add(level);
+        for (String extension : new TreeSet<>(extensions)) {
+            fingerprint.add(extension);
+        }
+        return fingerprint.toHex();
+    }
+
+    /**
+     * @param folder an output folder
+     * @return the accepted files in the folder and its subfolders
+     * @throws IOException if the folder could not be read
+     */
+    public List<File> findAccepted(File folder) throws IOException {
+        final List<File> files = new ArrayList<>();
+        Files.walkFileTree(folder.toPath(), new SimpleFileVisitor<Path>() {
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+                if (attrs.isRegularFile() && accepts(file.toFile())) {
+                    files.add(file.toFile());
+                }
+                return FileVisitResult.CONTINUE;
+            }
+        });
+        return files;
+    }
+
+    /**
+     * Writes the sidecars of the accepted files on {@link JBakeConfiguration#getRenderThreads()} threads.
+     *
+     * @param written  files written during this bake, their sidecars are always written
+     * @param existing files which may not have changed, their sidecars are only written if missing or out of date
+     * @return the errors which occurred while writing sidecars
+     */
+    public List<Throwable> compress(Collection<File> written, Collection<File> existing) {
+        List<Callable<Void>> tasks = new ArrayList<>();
+        for (final File file : written) {
+            if (accepts(file)) {
+                tasks.add(new Callable<Void>() {
+                    @Override
+                    public Void call() throws Exception {
+                        compress(file);
+                        return null;
+                    }
+                });
+            }
+        }
+        for (final File file : existing) {
+            if (accepts(file)) {
+                tasks.add(new Callable<Void>() {
+                    @Override
+                    public Void call() throws Exception {
+                        if (!isCurrent(file)) {
+                            compress(file);
+                        }
+                        return null;
+                    }
+                });
+            }
+        }
+        return ParallelExecutor.run(threads, "gzip", tasks);
+    }
+
+    /**
+     * Deletes an output file together with its sidecar, so no stale compressed copy is left behind.
+     *
+     * @param file the output file
+     * @return true if the output file existed
+     * @throws IOException if a file could not be deleted
+     */
+    public static boolean delete(File file) throws IOException {
+        boolean deleted = Files.deleteIfExists(file.toPath());
+        return Files.deleteIfExists(sidecar(file)) || deleted;
+    }
+
+    /**
+     * @return the number of sidecars written
+     */
+    public int getCompressedCount() {
+        return compressedCount.get();
+    }
+
+    private boolean isCurrent(File file) throws IOException {
+        Path sidecar = sidecar(file);
+        return Files.isRegularFile(sidecar)
+            && Files.getLastModifiedTime(sidecar).equals(Files.getLastModifiedTime(file.toPath()));
+    }
+
+    private void compress(File file) throws IOException {
+        Path source = file.toPath();
+        Path target = sidecar(file);
+        // replace instead of overwriting, the sidecar may be a hard link shared with another output generation
+        Path temp = target.resolveSibling("." + target.getFileName() + "." + tempFileCounter.incrementAndGet() + ".tmp");
+        try {
+            try (InputStream in = Files.newInputStream(source);
+                 OutputStream out = new LeveledGzipOutputStream(Files.newOutputStream(temp), level)) {
+                byte[] buffer = new byte[BUFFER_SIZE];
+                int read;
+                while ((read = in.read(buffer)) != -1) {
+                    out.write(buffer, 0, read);
+                }
+            }
+            Files.setLastModifiedTime(temp, Files.getLastModifiedTime(source));
+            try {
+                Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+            compressedCount.incrementAndGet();
+            LOGGER.debug("Compressing [{}]... done!", file);
+        } catch (IOException e) {
+            throw new IOException("Failed to compress " + file, e);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private static Path sidecar(File file) {
+        return new File(file.getPath() + EXTENSION).toPath();
+    }
+
+    private static class LeveledGzipOutputStream extends GZIPOutputStream {
+
+        LeveledGzipOutputStream(OutputStream out, int level) throws IOException {
+            super(out, BUFFER_SIZE);
+            def.setLevel(level);
+        }
+    }
+}
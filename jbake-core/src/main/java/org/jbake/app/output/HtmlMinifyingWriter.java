@@ -0,0 +1,226 @@
+package org.jbake.app.output;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Locale;
+
+/**
+ * Removes insignificant whitespace from HTML while it is written.
+ * <p>
+ * Every run of whitespace in text and between attributes is collapsed to a single space, or a single line break if
+ * the run contained one. The content of <code>pre</code>, <code>textarea</code>, <code>script</code> and
+ * <code>style</code> elements, comments and quoted attribute values are passed through unchanged. The HTML is
+ * processed one character at a time, so it never has to be held in memory as a whole.
+ */
+public class HtmlMinifyingWriter extends Writer {
+
+    private static final String[] RAW_ELEMENTS = {"pre", "textarea", "script", "style"};
+    private static final int BUFFER_SIZE = 8192;
+
+    private enum State {
+        TEXT, TAG_START, TAG, RAW, COMMENT
+    }
+
+    private final Writer out;
+    private final char[] buffer = new char[BUFFER_SIZE];
+    private int count;
+
+    private State state = State.TEXT;
+    private boolean pendingSpace;
+    private boolean pendingNewline;
+    private final StringBuilder tagName = new StringBuilder();
+    private boolean readingTagName;
+    private char quote;
+    private String rawEnd;
+    private int rawMatched;
+    private int commentDashes;
+
+    public HtmlMinifyingWriter(Writer out) {
+        this.out = out;
+    }
+
+    @Override
+    public void write(char[] cbuf, int off, int len) throws IOException {
+        for (int i = off; i < off + len; i++) {
+            process(cbuf[i]);
+        }
+    }
+
+    @Override
+    public void write(String str, int off, int len) throws IOException {
+        for (int i = off; i < off + len; i++) {
+            process(str.charAt(i));
+        }
+    }
+
+    @Override
+    public void write(int c) throws IOException {
+        process((char) c);
+    }
+
+    @Override
+    public void flush() throws IOException {
+        flushBuffer();
+        out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (pendingNewline) {
+            emit('\n');
+        }
+        pendingSpace = false;
+        pendingNewline = false;
+        flushBuffer();
+        out.close();
+    }
+
+    private void process(char c) throws IOException {
+        switch (state) {
+            case TEXT:
+                if (c == '<') {
+                    emitPendingWhitespace();
+                    emit(c);
+                    state = State.TAG_START;
+                } else {
+                    collapse(c);
+                }
+                break;
+            case TAG_START:
+                if (Character.isLetter(c) || c == '/' || c == '!' || c == '?') {
+                    tagName.setLength(0);
+                    tagName.append(c);
+                    readingTagName = true;
+                    quote = 0;
+                    emit(c);
+                    state = State.TAG;
+                } else {
+                    // a lone '<' in text
+                    state = State.TEXT;
+                    process(c);
+                }
+                break;
+            case TAG:
+                processTag(c);
+                break;
+            case RAW:
+                emit(c);
+                matchRawEnd(c);
+                break;
+            case COMMENT:
+                emit(c);
+                if (c == '>' && commentDashes >= 2) {
+                    state = State.TEXT;
+                }
+                commentDashes = c == '-' ? commentDashes + 1 : 0;
+                break;
+            default:
+                throw new IllegalStateException(state.toString());
+        }
+    }
+
+    private void processTag(char c) throws IOException {
+        if (quote != 0) {
+            emit(c);
+            if (c == quote) {
+                quote = 0;
+            }
+            return;
+        }
+
+        if (readingTagName) {
+            if (Character.isLetterOrDigit(c) || c == '-' || c == '!' || c == ':') {
+                tagName.append(c);
+                emit(c);
+                if (tagName.length() == 3 && "!--".contentEquals(tagName)) {
+                    readingTagName = false;
+                    commentDashes = 0;
+                    state = State.COMMENT;
+                }
+                return;
+            }
+            readingTagName = false;
+        }
+
+        if (c == '>') {
+            pendingSpace = false;
+            pendingNewline = false;
+            emit(c);
+            String element = tagName.toString().toLowerCase(Locale.ENGLISH);
+            state = State.TEXT;
+            for (String raw : RAW_ELEMENTS) {
+                if (raw.equals(element)) {
+                    rawEnd = "</" + raw;
+                    rawMatched = 0;
+                    state = State.RAW;
+                    break;
+                }
+            }
+        } else if (c == '"' || c == '\'') {
+            emitPendingWhitespace();
+            emit(c);
+            quote = c;
+        } else {
+            collapse(c);
+        }
+    }
+
+    private void matchRawEnd(char c) {
+        if (rawMatched == rawEnd.length()) {
+            if (Character.isWhitespace(c) || c == '>' || c == '/') {
+                // the closing tag of the raw element, it is already written up to its name
+                tagName.setLength(0);
+                tagName.append(rawEnd, 1, rawEnd.length());
+                readingTagName = false;
+                quote = 0;
+                state = State.TAG;
+                if (c == '>') {
+                    state = State.TEXT;
+                }
+                return;
+            }
+            rawMatched = 0;
+        }
+        if (Character.toLowerCase(c) == rawEnd.charAt(rawMatched)) {
+            rawMatched++;
+        } else {
+            rawMatched = c == '<' ? 1 : 0;
+        }
+    }
+
+    private void collapse(char c) throws IOException {
+        if (Character.isWhitespace(c)) {
+            pendingSpace = true;
+            if (c == '\n') {
+                pendingNewline = true;
+            }
+        } else {
+            emitPendingWhitespace();
+            emit(c);
+        }
+    }
+
+    private void emitPendingWhitespace() throws IOException {
+        if (pendingNewline) {
+            emit('\n');
+        } else if (pendingSpace) {
+            emit(' ');
+        }
+        pendingSpace = false;
+        pendingNewline = false;
+    }
+
+    private void emit(char c) throws IOException {
+        if (count == buffer.length) {
+            flushBuffer();
+        }
+        buffer[count++] = c;
+    }
+
+    private void flushBuffer() throws IOException {
+        if (count > 0) {
+            out.write(buffer, 0, count);
+            count = 0;
+        }
+    }
+}
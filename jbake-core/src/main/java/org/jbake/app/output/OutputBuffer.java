@@ -0,0 +1,111 @@
+package org.jbake.app.output;
+
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * A reusable buffer holding the characters of a rendered output and their encoded bytes.
+ */
+class OutputBuffer {
+
+    private static final int INITIAL_CAPACITY = 16 * 1024;
+
+    private char[] chars = new char[INITIAL_CAPACITY];
+    private int charCount = 0;
+    private byte[] bytes = new byte[INITIAL_CAPACITY];
+    private int byteCount = 0;
+
+    void append(char[] cbuf, int off, int len) {
+        ensureCharCapacity(charCount + len);
+        System.arraycopy(cbuf, off, chars, charCount, len);
+        charCount += len;
+    }
+
+    void append(String str, int off, int len) {
+        ensureCharCapacity(charCount + len);
+        str.getChars(off, off + len, chars, charCount);
+        charCount += len;
+    }
+
+    void append(char c) {
+        ensureCharCapacity(charCount + 1);
+        chars[charCount++] = c;
+    }
+
+    /**
+     * Encodes the characters appended so far. UTF-8 is encoded directly into the byte array of this buffer.
+     *
+     * @param charset the charset to encode with
+     */
+    void encode(Charset charset) {
+        if (StandardCharsets.UTF_8.equals(charset)) {
+            encodeUtf8();
+        } else {
+            ByteBuffer encoded = charset.encode(CharBuffer.wrap(chars, 0, charCount));
+            byteCount = encoded.remaining();
+            ensureByteCapacity(byteCount);
+            encoded.get(bytes, 0, byteCount);
+        }
+    }
+
+    private void encodeUtf8() {
+        ensureByteCapacity(charCount * 3);
+        byte[] b = bytes;
+        int j = 0;
+        for (int i = 0; i < charCount; i++) {
+            char c = chars[i];
+            if (c < 0x80) {
+                b[j++] = (byte) c;
+            } else if (c < 0x800) {
+                b[j++] = (byte) (0xc0 | (c >> 6));
+                b[j++] = (byte) (0x80 | (c & 0x3f));
+            } else if (Character.isHighSurrogate(c) && i + 1 < charCount && Character.isLowSurrogate(chars[i + 1])) {
+                int codePoint = Character.toCodePoint(c, chars[++i]);
+                b[j++] = (byte) (0xf0 | (codePoint >> 18));
+                b[j++] = (byte) (0x80 | ((codePoint >> 12) & 0x3f));
+                b[j++] = (byte) (0x80 | ((codePoint >> 6) & 0x3f));
+                b[j++] = (byte) (0x80 | (codePoint & 0x3f));
+            } else if (Character.isSurrogate(c)) {
+                // unpaired surrogate, replaced like String.getBytes does
+                b[j++] = (byte) '?';
+            } else {
+                b[j++] = (byte) (0xe0 | (c >> 12));
+                b[j++] = (byte) (0x80 | ((c >> 6) & 0x3f));
+                b[j++] = (byte) (0x80 | (c & 0x3f));
+            }
+        }
+        byteCount = j;
+    }
+
+    byte[] bytes() {
+        return bytes;
+    }
+
+    int byteCount() {
+        return byteCount;
+    }
+
+    int capacity() {
+        return Math.max(chars.length, bytes.length);
+    }
+
+    void reset() {
+        charCount = 0;
+        byteCount = 0;
+    }
+
+    private void ensureCharCapacity(int capacity) {
+        if (capacity > chars.length) {
+            chars = Arrays.copyOf(chars, Math.max(capacity, chars.length * 2));
+        }
+    }
+
+    private void ensureByteCapacity(int capacity) {
+        if (capacity > bytes.length) {
+            bytes = new byte[Math.max(capacity, bytes.length * 2)];
+        }
+    }
+}
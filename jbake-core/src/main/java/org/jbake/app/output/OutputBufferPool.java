@@ -0,0 +1,45 @@
+package org.jbake.app.output;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Keeps a bounded number of {@link OutputBuffer}s for reuse across rendered outputs.
+ */
+class OutputBufferPool {
+
+    /**
+     * Buffers grown beyond this many chars or bytes are left to the garbage collector instead of being pooled.
+     */
+    private static final int MAX_RETAINED_CAPACITY = 1024 * 1024;
+
+    private final Queue<OutputBuffer> buffers = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger size = new AtomicInteger();
+    private final int maxSize;
+
+    OutputBufferPool(int maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    OutputBuffer acquire() {
+        OutputBuffer buffer = buffers.poll();
+        if (buffer == null) {
+            return new OutputBuffer();
+        }
+        size.decrementAndGet();
+        return buffer;
+    }
+
+    void release(OutputBuffer buffer) {
+        if (buffer.capacity() > MAX_RETAINED_CAPACITY) {
+            return;
+        }
+        buffer.reset();
+        if (size.incrementAndGet() <= maxSize) {
+            buffers.offer(buffer);
+        } else {
+            size.decrementAndGet();
+        }
+    }
+}
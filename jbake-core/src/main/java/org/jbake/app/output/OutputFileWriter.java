@@ -0,0 +1,67 @@
+package org.jbake.app.output;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.Charset;
+
+/**
+ * Collects rendered output in a pooled {@link OutputBuffer} and hands it to {@link OutputFiles} when closed.
+ */
+class OutputFileWriter extends Writer {
+
+    private final OutputFiles outputFiles;
+    private final File file;
+    private final Charset charset;
+    private final Runnable written;
+    private OutputBuffer buffer;
+
+    OutputFileWriter(OutputFiles outputFiles, File file, Charset charset, OutputBuffer buffer, Runnable written) {
+        this.outputFiles = outputFiles;
+        this.file = file;
+        this.charset = charset;
+        this.buffer = buffer;
+        this.written = written;
+    }
+
+    @Override
+    public void write(char[] cbuf, int off, int len) throws IOException {
+        ensureOpen();
+        buffer.append(cbuf, off, len);
+    }
+
+    @Override
+    public void write(String str, int off, int len) throws IOException {
+        ensureOpen();
+        buffer.append(str, off, len);
+    }
+
+    @Override
+    public void write(int c) throws IOException {
+        ensureOpen();
+        buffer.append((char) c);
+    }
+
+    @Override
+    public void flush() {
+        // the content is written when the writer is closed
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (buffer == null) {
+            return;
+        }
+        OutputBuffer content = buffer;
+        buffer = null;
+
+        content.encode(charset);
+        outputFiles.submit(file, content, written);
+    }
+
+    private void ensureOpen() throws IOException {
+        if (buffer == null) {
+            throw new IOException("Writer for " + file + " is closed");
+        }
+    }
+}
@@ -0,0 +1,290 @@
+package org.jbake.app.output;
+
+import org.jbake.app.FileUtil;
+import org.jbake.app.configuration.JBakeConfiguration;
+import org.jbake.util.NamedThreadFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.OpenOption;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Writes rendered output files and keeps track of which files were written during a bake.
+ * <p>
+ * Rendered output is collected in pooled buffers. Between {@link #startWriteBehind()} and {@link #finishWriteBehind()}
+ * the buffers are written to disk by {@link JBakeConfiguration#getRenderWriterThreads()} writer threads, so rendering
+ * threads do not wait for disk I/O. Otherwise they are written by the rendering thread when the writer is closed.
+ * <p>
+ * If {@link JBakeConfiguration#getWriteIfChanged()} is enabled, a file whose content did not change is left untouched,
+ * so its modification time is preserved. Changed files are replaced atomically via a temporary file.
+ */
+public class OutputFiles {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(OutputFiles.class);
+    private static final int QUEUE_CAPACITY_PER_THREAD = 64;
+
+    private final boolean writeIfChanged;
+    private final boolean replaceFiles;
+    private final int writerThreads;
+    private final Set<String> minifyExtensions = new HashSet<>();
+    private final OutputBufferPool bufferPool;
+    private final Set<Path> createdDirectories = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger writtenCount = new AtomicInteger();
+    private final AtomicInteger unchangedCount = new AtomicInteger();
+    private final AtomicLong tempFileCounter = new AtomicLong();
+    private final Queue<File> writtenFiles = new ConcurrentLinkedQueue<>();
+    private final Queue<File> unchangedFiles = new ConcurrentLinkedQueue<>();
+    private final Queue<Throwable> errors = new ConcurrentLinkedQueue<>();
+    private volatile ThreadPoolExecutor writers;
+
+    public OutputFiles(JBakeConfiguration config) {
+        this.writeIfChanged = config.getWriteIfChanged();
+        // files of an output generation may be hard links shared with the previous generation, they must not be overwritten
+        this.replaceFiles = writeIfChanged || config.getDestinationGenerations();
+        this.writerThreads = config.getRenderWriterThreads();
+        if (config.getRenderMinify()) {
+            for (String extension : config.getRenderMinifyExtensions()) {
+                minifyExtensions.add(extension.trim().toLowerCase(Locale.ENGLISH));
+            }
+        }
+        this.bufferPool = new OutputBufferPool(Math.max(config.getRenderThreads(), 1) + writerThreads * (QUEUE_CAPACITY_PER_THREAD + 1));
+    }
+
+    /**
+     * Creates a writer collecting the rendered output in memory. The output is written to the file when the writer is closed.
+     * If {@link JBakeConfiguration#getRenderMinify()} is enabled for the type of the file, insignificant whitespace is
+     * removed while the output is collected.
+     *
+     * @param file     the output file
+     * @param encoding the character encoding of the output file
+     * @return the writer
+     */
+    public Writer createWriter(File file, String encoding) {
+        return createWriter(file, encoding, null);
+    }
+
+    /**
+     * Creates a writer like {@link #createWriter(File, String)}, which calls back once its content is on disk. With
+     * write-behind the callback runs on a writer thread, before {@link #finishWriteBehind()} returns.
+     *
+     * @param file     the output file
+     * @param encoding the character encoding of the output file
+     * @param written  called after the file was written or found unchanged, not called if writing it failed
+     * @return the writer
+     */
+    public Writer createWriter(File file, String encoding, Runnable written) {
+        Writer writer = new OutputFileWriter(this, file, Charset.forName(encoding), bufferPool.acquire(), written);
+        if (!minifyExtensions.isEmpty() && minifyExtensions.contains(FileUtil.fileExt(file).toLowerCase(Locale.ENGLISH))) {
+            return new HtmlMinifyingWriter(writer);
+        }
+        return writer;
+    }
+
+    /**
+     * Starts the writer threads. Until {@link #finishWriteBehind()} is called, closing a writer only queues its content.
+     */
+    public synchronized void startWriteBehind() {
+        if (writers != null || writerThreads <= 0) {
+            return;
+        }
+        writers = new ThreadPoolExecutor(writerThreads, writerThreads, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<Runnable>(writerThreads * QUEUE_CAPACITY_PER_THREAD),
+            new NamedThreadFactory("writer"),
+            // a full queue lets the rendering thread write the file itself instead of buffering ever more output
+            new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    /**
+     * Waits until all queued output has been written and stops the writer threads.
+     *
+     * @return the errors which occurred while writing queued output
+     */
+    public synchronized List<Throwable> finishWriteBehind() {
+        if (writers != null) {
+            writers.shutdown();
+            try {
+                while (!writers.awaitTermination(1, TimeUnit.SECONDS)) {
+                    LOGGER.debug("Waiting for {} queued output files to be written", writers.getQueue().size());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                errors.add(e);
+            }
+            writers = null;
+        }
+        List<Throwable> result = new ArrayList<>(errors);
+        errors.clear();
+        return result;
+    }
+
+    void submit(final File file, final OutputBuffer buffer, final Runnable written) throws IOException {
+        ThreadPoolExecutor executor = writers;
+        if (executor == null) {
+            try {
+                write(file, buffer.bytes(), buffer.byteCount());
+            } finally {
+                bufferPool.release(buffer);
+            }
+            if (written != null) {
+                written.run();
+            }
+            return;
+        }
+
+        executor.execute(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    write(file, buffer.bytes(), buffer.byteCount());
+                } catch (IOException e) {
+                    LOGGER.error("Writing [{}]... failed!", file, e);
+                    errors.add(new IOException("Failed to write " + file, e));
+                    return;
+                } finally {
+                    bufferPool.release(buffer);
+                }
+                if (written != null) {
+                    try {
+                        written.run();
+                    } catch (RuntimeException e) {
+                        LOGGER.error("Completing [{}]... failed!", file, e);
+                        errors.add(e);
+                    }
+                }
+            }
+        });
+    }
+
+    /**
+     * Writes the content to a file, unless the file already has exactly this content and write-if-changed is enabled.
+     *
+     * @param file    the output file
+     * @param content the encoded content
+     * @throws IOException if the file could not be written
+     */
+    public void write(File file, byte[] content) throws IOException {
+        write(file, content, content.length);
+    }
+
+    private void write(File file, byte[] content, int length) throws IOException {
+        Path target = file.toPath();
+
+        if (writeIfChanged && hasContent(target, content, length)) {
+            LOGGER.debug("Output [{}] is unchanged, not written", file);
+            unchangedCount.incrementAndGet();
+            unchangedFiles.add(file);
+            return;
+        }
+
+        Path parent = target.toAbsolutePath().getParent();
+        createDirectories(parent);
+
+        if (replaceFiles) {
+            replace(parent, target, content, length);
+        } else {
+            write(target, content, length, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+        }
+
+        writtenCount.incrementAndGet();
+        writtenFiles.add(file);
+    }
+
+    private void createDirectories(Path directory) throws IOException {
+        if (createdDirectories.contains(directory)) {
+            return;
+        }
+        Files.createDirectories(directory);
+        createdDirectories.add(directory);
+    }
+
+    private boolean hasContent(Path target, byte[] content, int length) throws IOException {
+        if (!Files.isRegularFile(target) || Files.size(target) != length) {
+            return false;
+        }
+        byte[] existing = Files.readAllBytes(target);
+        if (existing.length != length) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (existing[i] != content[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void replace(Path parent, Path target, byte[] content, int length) throws IOException {
+        Path temp = parent.resolve("." + target.getFileName() + "." + tempFileCounter.incrementAndGet() + ".tmp");
+        try {
+            write(temp, content, length, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+            try {
+                Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private void write(Path path, byte[] content, int length, OpenOption... options) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, options)) {
+            ByteBuffer buffer = ByteBuffer.wrap(content, 0, length);
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        }
+    }
+
+    /**
+     * @return the number of output files written
+     */
+    public int getWrittenCount() {
+        return writtenCount.get();
+    }
+
+    /**
+     * @return the number of output files which were not written because their content did not change
+     */
+    public int getUnchangedCount() {
+        return unchangedCount.get();
+    }
+
+    /**
+     * @return the output files written
+     */
+    public List<File> getWrittenFiles() {
+        return new ArrayList<>(writtenFiles);
+    }
+
+    /**
+     * @return the output files which were not written because their content did not change
+     */
+    public List<File> getUnchangedFiles() {
+        return new ArrayList<>(unchangedFiles);
+    }
+}
@@ -0,0 +1,158 @@
+package org.jbake.app.output;
+
+import org.apache.commons.io.FileUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+
+/**
+ * Lets every bake write into a fresh generation folder, while the destination folder keeps serving the previous one.
+ * <p>
+ * The destination folder becomes a symbolic link to the current generation, which lives in a hidden folder next to it.
+ * A new generation starts out with hard links to all files of the current generation, so unchanged files cost nothing.
+ * Rendered files replace their hard link with a new file, leaving the current generation untouched. Once the bake
+ * completes, the symbolic link is switched atomically and the previous generation is deleted.
+ */
+public class OutputGenerations {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(OutputGenerations.class);
+
+    private final Path destination;
+    private final Path generationsFolder;
+    private Path current;
+    private Path next;
+
+    /**
+     * @param destination the destination folder served to readers
+     */
+    public OutputGenerations(File destination) {
+        this.destination = destination.getAbsoluteFile().toPath();
+        this.generationsFolder = this.destination.resolveSibling("." + this.destination.getFileName() + "-generations");
+    }
+
+    /**
+     * Creates the folder of the next generation, linking the files of the current generation into it.
+     *
+     * @return the folder to write the next generation to
+     * @throws IOException if the generation could not be created
+     */
+    public File start() throws IOException {
+        Files.createDirectories(generationsFolder);
+        if (Files.isSymbolicLink(destination)) {
+            if (Files.exists(destination)) {
+                current = destination.toRealPath();
+            }
+        } else if (Files.isDirectory(destination)) {
+            current = destination;
+        }
+        deleteStaleGenerations();
+
+        long id = System.currentTimeMillis();
+        next = generationsFolder.resolve(Long.toString(id));
+        while (Files.exists(next)) {
+            next = generationsFolder.resolve(Long.toString(++id));
+        }
+        Files.createDirectories(next);
+
+        if (current != null) {
+            link(current, next);
+        }
+        LOGGER.info("Baking into output generation [{}]", next);
+        return next.toFile();
+    }
+
+    /**
+     * Switches the destination folder to the next generation and deletes the previous one.
+     *
+     * @throws IOException if the destination folder could not be switched
+     */
+    public void commit() throws IOException {
+        Path previous = current;
+        if (previous != null && previous.equals(destination)) {
+            // the destination is still a real folder, it becomes the first generation before it is replaced by a link
+            previous = generationsFolder.resolve("initial-" + System.currentTimeMillis());
+            Files.move(destination, previous);
+        }
+
+        Path link = generationsFolder.resolve("link.tmp");
+        Files.deleteIfExists(link);
+        // relative to the folder containing the destination, so the site can be moved as a whole
+        Files.createSymbolicLink(link, destination.getParent().relativize(next));
+        try {
+            Files.move(link, destination, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(link, destination, StandardCopyOption.REPLACE_EXISTING);
+        }
+        LOGGER.info("Switched [{}] to output generation [{}]", destination, next);
+
+        if (previous != null) {
+            delete(previous);
+        }
+        current = next;
+        next = null;
+    }
+
+    /**
+     * Deletes the next generation, leaving the destination folder unchanged.
+     */
+    public void abort() {
+        if (next != null) {
+            delete(next);
+            LOGGER.info("Discarded output generation [{}], [{}] is unchanged", next, destination);
+            next = null;
+        }
+    }
+
+    /**
+     * Deletes generations left behind by bakes which did not complete.
+     */
+    private void deleteStaleGenerations() throws IOException {
+        File[] generations = generationsFolder.toFile().listFiles();
+        if (generations == null) {
+            return;
+        }
+        for (File generation : generations) {
+            if (current == null || !generation.getCanonicalFile().toPath().equals(current)) {
+                delete(generation.toPath());
+            }
+        }
+    }
+
+    private void link(final Path source, final Path target) throws IOException {
+        Files.walkFileTree(source, new SimpleFileVisitor<Path>() {
+            @Override
+            public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) throws IOException {
+                Files.createDirectories(target.resolve(source.relativize(dir).toString()));
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
+                Path linked = target.resolve(source.relativize(file).toString());
+                try {
+                    Files.createLink(linked, file);
+                } catch (IOException | UnsupportedOperationException e) {
+                    Files.copy(file, linked, StandardCopyOption.COPY_ATTRIBUTES);
+                }
+                return FileVisitResult.CONTINUE;
+            }
+        });
+    }
+
+    private void delete(Path folder) {
+        try {
+            FileUtils.forceDelete(folder.toFile());
+        } catch (IOException e) {
+            LOGGER.warn("Unable to delete output generation [{}]", folder, e);
+        }
+    }
+}
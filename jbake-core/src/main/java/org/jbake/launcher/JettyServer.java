@@ -1,8 +1,10 @@
 package org.jbake.launcher;
 
+import org.eclipse.jetty.http.CompressedContentFormat;
 import org.eclipse.jetty.server.Handler;
 import org.eclipse.jetty.server.Server;
 import org.eclipse.jetty.server.ServerConnector;
+import org.eclipse.jetty.server.handler.AllowSymLinkAliasChecker;
 import org.eclipse.jetty.server.handler.ContextHandler;
 import org.eclipse.jetty.server.handler.DefaultHandler;
 import org.eclipse.jetty.server.handler.HandlerList;
@@ -29,11 +31,13 @@ public class JettyServer implements Closeable {
     @Deprecated
     public void run(String resourceBase, String port) {
         LOGGER.warn("DEPRECATED. This method will be removed in the next major release. Use run(String resourceBase, JBakeConfiguration config) instead.");
-        run(resourceBase, "/", "localhost", Integer.parseInt(port));
+        run(resourceBase, "/", "localhost", Integer.parseInt(port), false, false);
     }
 
     public void run(String resourceBase, JBakeConfiguration configuration) {
-        run(resourceBase, configuration.getServerContextPath(), configuration.getServerHostname(), configuration.getServerPort());
+        run(resourceBase, configuration.getServerContextPath(), configuration.getServerHostname(), configuration.getServerPort(),
+            configuration.getDestinationGenerations() || "symlink".equalsIgnoreCase(configuration.getAssetCopyMode()),
+            configuration.getRenderGzip());
     }
 
     /**
@@ -41,8 +45,11 @@ public class JettyServer implements Closeable {
      *
      * @param resourceBase Base directory for resources to be served
      * @param port         Required server port
+     * @param followSymLinks Serve files through symbolic links, required when the resource base is switched between output generations
+     *                       or assets are published as symbolic links
+     * @param precompressed  Serve the precompressed .gz file next to a file to clients accepting gzip
      */
-    private void run(String resourceBase, String contextPath, String hostname, int port) {
+    private void run(String resourceBase, String contextPath, String hostname, int port, boolean followSymLinks, boolean precompressed) {
         try {
             server = new Server();
             ServerConnector connector = new ServerConnector(server);
@@ -54,10 +61,16 @@ public class JettyServer implements Closeable {
             resource_handler.setDirectoriesListed(true);
             resource_handler.setWelcomeFiles(new String[]{"index", "index.html"});
             resource_handler.setResourceBase(resourceBase);
+            if (precompressed) {
+                resource_handler.setPrecompressedFormats(new CompressedContentFormat[]{CompressedContentFormat.GZIP});
+            }
 
             ContextHandler contextHandler = new ContextHandler();
             contextHandler.setContextPath(contextPath);
             contextHandler.setHandler(resource_handler);
+            if (followSymLinks) {
+                contextHandler.addAliasCheck(new AllowSymLinkAliasChecker());
+            }
 
             HandlerList handlers = new HandlerList();
 
@@ -18,6 +18,10 @@ public abstract class ModelAttributes {
     public static final String TITLE = "title";
     public static final String TAGGED_POSTS = "tagged_posts";
     public static final String TAGGED_DOCUMENTS = "tagged_documents";
+    public static final String TAGGED_POSTS_COUNT = "tagged_posts_count";
+    public static final String TAGGED_DOCUMENTS_COUNT = "tagged_documents_count";
+    public static final String PUBLISHED_POSTS = "published_posts";
+    public static final String TAG_POSTS = "tag_posts";
     public static final String NEXT_CONTENT = "nextContent";
     public static final String PREVIOUS_CONTENT = "previousContent";
     public static final String CONFIG = "config";
@@ -34,6 +38,8 @@ public abstract class ModelAttributes {
     public static final String PUBLISHED_DATE = "published_date";
     public static final String DB = "db";
     public static final String DATA = "data";
+    public static final String ASSET = "asset";
+    public static final String ASSET_MANIFEST = "asset_manifest";
 
     private ModelAttributes() {
     }
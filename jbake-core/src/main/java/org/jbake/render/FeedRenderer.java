@@ -18,7 +18,11 @@ public class FeedRenderer implements RenderingTool {
             try {
                 //TODO: refactor this. the renderer has a reference to the configuration
                 renderer.renderFeed(config.getFeedFileName());
-                return 1;
+                int renderedCount = 1;
+                if (config.getFeedTags()) {
+                    renderedCount += renderer.renderTagFeeds(config.getTagPathName());
+                }
+                return renderedCount;
             } catch (Exception e) {
                 throw new RenderingException(e);
             }
@@ -47,4 +47,14 @@ public abstract class AbstractTemplateEngine {
     }
 
     public abstract void renderDocument(TemplateModel model, String templateName, Writer writer) throws RenderingException;
+
+    /**
+     * Compiles a template ahead of rendering, so a broken template is reported before any document is rendered.
+     * Engines which only parse a template while rendering it do nothing.
+     *
+     * @param templateName the template
+     * @throws RenderingException if the template could not be compiled
+     */
+    public void compileTemplate(String templateName) throws RenderingException {
+    }
 }
@@ -0,0 +1,239 @@
+package org.jbake.template;
+
+import groovy.lang.GroovyClassLoader;
+import groovy.lang.GroovySystem;
+import org.codehaus.groovy.control.CompilationUnit;
+import org.codehaus.groovy.control.CompilerConfiguration;
+import org.codehaus.groovy.control.Phases;
+import org.codehaus.groovy.tools.GroovyClass;
+import org.jbake.app.configuration.JBakeConfiguration;
+import org.jbake.util.Fingerprint;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileFilter;
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keeps the classes compiled from Groovy templates in a cache folder, so a template is only compiled by the first bake
+ * after it changed instead of once per JVM. The classes of a template are stored in a file named after the hash of the
+ * template source, the Groovy version and the settings of the template engine, so a template is compiled again when
+ * any of them changes.
+ * <p>
+ * Classes are loaded once per source, rendering the same template again reuses them. Loading classes from the cache
+ * folder touches their file, so {@link #prune(long)} can delete the classes no longer used by a bake.
+ */
+public class CompiledTemplateCache {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(CompiledTemplateCache.class);
+    private static final String CLASS_NAME_PREFIX = "JBakeTemplate_";
+    private static final String EXTENSION = ".classes";
+    // some file systems keep modification times with a precision of two seconds
+    private static final long MODIFIED_PRECISION = 2000;
+
+    private final File folder;
+    private final ConcurrentMap<String, Class<?>> loaded = new ConcurrentHashMap<>();
+    private final AtomicInteger compiledCount = new AtomicInteger();
+    private final AtomicLong tempFileCounter = new AtomicLong();
+
+    /**
+     * @param folder the folder keeping the compiled classes
+     */
+    public CompiledTemplateCache(File folder) {
+        this.folder = folder;
+    }
+
+    /**
+     * @param config the configuration
+     * @return the cache in the folder configured by {@link JBakeConfiguration#getTemplateCache()}, null if compiled
+     * templates are not cached
+     */
+    public static CompiledTemplateCache create(JBakeConfiguration config) {
+        String templateCache = config.getTemplateCache();
+        if (templateCache == null || templateCache.trim().isEmpty()) {
+            return null;
+        }
+        File cache = new File(templateCache.trim());
+        return new CompiledTemplateCache(cache.isAbsolute() ? cache : new File(config.getSourceFolder(), cache.getPath()));
+    }
+
+    public File getFolder() {
+        return folder;
+    }
+
+    /**
+     * @return the number of templates compiled, not counting those loaded from the cache folder
+     */
+    public int getCompiledCount() {
+        return compiledCount.get();
+    }
+
+    /**
+     * Loads the main class compiled from the source of a template, compiling it and storing its classes in the cache
+     * folder if they are not there yet.
+     *
+     * @param source        the Groovy script the template is compiled from
+     * @param settings      the settings of the template engine changing the compiled classes
+     * @param configuration the compiler configuration of the template engine
+     * @param loader        the class loader of the template engine, resolving the classes used by the template
+     * @return the class of the script
+     * @throws IOException if the template could not be compiled
+     */
+    public Class<?> load(String source, String settings, CompilerConfiguration configuration, GroovyClassLoader loader) throws IOException {
+        String key = new Fingerprint().add(GroovySystem.getVersion()).add(settings).add(source).toHex();
+        Class<?> templateClass = loaded.get(key);
+        if (templateClass != null) {
+            return templateClass;
+        }
+
+        String className = CLASS_NAME_PREFIX + key;
+        File file = new File(folder, key + EXTENSION);
+        Map<String, byte[]> classes = null;
+        if (file.isFile()) {
+            try {
+                classes = read(file);
+            } catch (IOException | RuntimeException e) {
+                LOGGER.warn("Unable to read compiled template [{}], compiling it again", file, e);
+            }
+        }
+        if (classes == null || !classes.containsKey(className)) {
+            classes = compile(className, source, configuration, loader);
+            try {
+                write(file, classes);
+            } catch (IOException e) {
+                LOGGER.warn("Unable to store compiled template [{}]", file, e);
+            }
+        } else {
+            LOGGER.debug("Loaded compiled template [{}]", file);
+            if (!file.setLastModified(System.currentTimeMillis())) {
+                LOGGER.debug("Unable to touch compiled template [{}]", file);
+            }
+        }
+
+        try {
+            templateClass = new TemplateClassLoader(loader, classes).loadClass(className);
+        } catch (ClassNotFoundException e) {
+            throw new IOException("Compiled template [" + file + "] does not contain [" + className + "]", e);
+        }
+        Class<?> previous = loaded.putIfAbsent(key, templateClass);
+        return previous != null ? previous : templateClass;
+    }
+
+    /**
+     * Deletes the classes of templates which were neither compiled nor loaded from the cache folder since a bake
+     * started, so the classes of changed or deleted templates do not pile up.
+     *
+     * @param since the time the bake started
+     * @return the number of deleted files
+     */
+    public int prune(long since) {
+        File[] files = folder.listFiles(new FileFilter() {
+            @Override
+            public boolean accept(File file) {
+                return file.isFile() && file.getName().endsWith(EXTENSION);
+            }
+        });
+        if (files == null) {
+            return 0;
+        }
+        int deleted = 0;
+        for (File file : files) {
+            if (file.lastModified() < since - MODIFIED_PRECISION) {
+                try {
+                    Files.deleteIfExists(file.toPath());
+                    deleted++;
+                } catch (IOException e) {
+                    LOGGER.warn("Unable to delete unused compiled template [{}]", file, e);
+                }
+            }
+        }
+        return deleted;
+    }
+
+    private Map<String, byte[]> compile(String className, String source, CompilerConfiguration configuration, GroovyClassLoader loader) {
+        CompilationUnit unit = new CompilationUnit(configuration, null, loader);
+        unit.addSource(className + ".groovy", source);
+        unit.compile(Phases.CLASS_GENERATION);
+        compiledCount.incrementAndGet();
+        Map<String, byte[]> classes = new LinkedHashMap<>();
+        for (Object compiled : unit.getClasses()) {
+            GroovyClass groovyClass = (GroovyClass) compiled;
+            classes.put(groovyClass.getName(), groovyClass.getBytes());
+        }
+        return classes;
+    }
+
+    private Map<String, byte[]> read(File file) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file.toPath())))) {
+            int count = in.readInt();
+            Map<String, byte[]> classes = new LinkedHashMap<>();
+            for (int i = 0; i < count; i++) {
+                String name = in.readUTF();
+                byte[] bytes = new byte[in.readInt()];
+                in.readFully(bytes);
+                classes.put(name, bytes);
+            }
+            return classes;
+        }
+    }
+
+    private void write(File file, Map<String, byte[]> classes) throws IOException {
+        Path target = file.toPath();
+        Files.createDirectories(target.toAbsolutePath().getParent());
+        // other bakes may share the cache folder, so the file only appears once it is complete
+        Path temp = target.resolveSibling("." + target.getFileName() + "." + tempFileCounter.incrementAndGet() + ".tmp");
+        try {
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+                out.writeInt(classes.size());
+                for (Map.Entry<String, byte[]> compiled : classes.entrySet()) {
+                    out.writeUTF(compiled.getKey());
+                    out.writeInt(compiled.getValue().length);
+                    out.write(compiled.getValue());
+                }
+            }
+            try {
+                Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * Defines the classes of one template, closures included.
+     */
+    private static final class TemplateClassLoader extends ClassLoader {
+        private final Map<String, byte[]> classes;
+
+        private TemplateClassLoader(ClassLoader parent, Map<String, byte[]> classes) {
+            super(parent);
+            this.classes = classes;
+        }
+
+        @Override
+        protected Class<?> findClass(String name) throws ClassNotFoundException {
+            byte[] bytes = classes.get(name);
+            if (bytes == null) {
+                throw new ClassNotFoundException(name);
+            }
+            return defineClass(name, bytes, 0, bytes.length);
+        }
+    }
+}
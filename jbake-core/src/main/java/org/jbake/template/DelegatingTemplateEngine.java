@@ -1,15 +1,20 @@
 package org.jbake.template;
 
 import org.apache.commons.configuration2.CompositeConfiguration;
+import org.jbake.app.AssetManifest;
 import org.jbake.app.ContentStore;
 import org.jbake.app.FileUtil;
 import org.jbake.app.configuration.JBakeConfiguration;
 import org.jbake.template.model.TemplateModel;
+import org.jbake.util.RenderTimings;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.File;
 import java.io.Writer;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import static org.jbake.app.configuration.PropertyList.PAGINATE_INDEX;
 
@@ -23,6 +28,8 @@ public class DelegatingTemplateEngine extends AbstractTemplateEngine {
     private static final Logger LOGGER = LoggerFactory.getLogger(DelegatingTemplateEngine.class);
 
     private final TemplateEngines renderers;
+    private final ConcurrentMap<String, ResolvedTemplate> resolvedTemplates = new ConcurrentHashMap<>();
+    private volatile AssetManifest assetManifest;
 
     /**
      * @deprecated Use {@link #DelegatingTemplateEngine(ContentStore, JBakeConfiguration)} instead.
@@ -46,31 +53,98 @@ public class DelegatingTemplateEngine extends AbstractTemplateEngine {
     @Override
     public void renderDocument(final TemplateModel model, final String templateName, final Writer writer) throws RenderingException {
         model.setVersion(config.getVersion());
-        model.setConfig(config.asHashMap());
+        model.setConfig(config.getConfigModel());
+        if (assetManifest != null) {
+            model.setAssetManifest(assetManifest);
+        }
 
-        // if default template exists we will use it
+        ResolvedTemplate template = resolveTemplate(templateName);
+        if (template.engine != null) {
+            long start = RenderTimings.getInstance().begin();
+            template.engine.renderDocument(model, template.name, writer);
+            RenderTimings.getInstance().recordTemplate(template.name, start);
+        } else {
+            LOGGER.error("Warning - No template engine found for template: {}", template.name);
+        }
+    }
+
+    /**
+     * Sets the asset manifest of the current bake, which the <code>asset</code> model extractor looks up
+     * fingerprinted paths in.
+     *
+     * @param assetManifest the asset manifest, null if assets are not fingerprinted
+     */
+    public void setAssetManifest(AssetManifest assetManifest) {
+        this.assetManifest = assetManifest;
+    }
+
+    @Override
+    public void compileTemplate(final String templateName) throws RenderingException {
+        ResolvedTemplate template = resolveTemplate(templateName);
+        if (template.engine != null && template.exists) {
+            template.engine.compileTemplate(template.name);
+        }
+    }
+
+    /**
+     * Looks up the template to render a template name with and its engine. The result is kept until the template
+     * folder, or the folder of the template within it, changes, so templates are not searched for on every render.
+     */
+    private ResolvedTemplate resolveTemplate(final String templateName) {
         File templateFolder = config.getTemplateFolder();
+        File folder = new File(templateFolder, templateName).getParentFile();
+        long folderModified = folder == null ? 0 : folder.lastModified();
+
+        ResolvedTemplate template = resolvedTemplates.get(templateName);
+        if (template == null || !template.isCurrent(templateFolder, folderModified)) {
+            String theTemplateName = findTemplateName(templateFolder, templateName);
+            template = new ResolvedTemplate(templateFolder, folderModified, theTemplateName,
+                new File(templateFolder, theTemplateName).exists(), renderers.getEngine(FileUtil.fileExt(theTemplateName)));
+            resolvedTemplates.put(templateName, template);
+        }
+        return template;
+    }
+
+    /**
+     * @return the template itself if it exists, otherwise a template of the same name for another template engine, if
+     * there is one
+     */
+    private String findTemplateName(final File templateFolder, final String templateName) {
+        // if default template exists we will use it
         File templateFile = new File(templateFolder, templateName);
-        String theTemplateName = templateName;
-        if (!templateFile.exists()) {
-            LOGGER.info("Default template: {} was not found, searching for others...", templateName);
-            // if default template does not exist then check if any alternative engine templates exist
-            String templateNameWithoutExt = templateName.substring(0, templateName.length() - 4);
-            for (String extension : renderers.getRecognizedExtensions()) {
-                templateFile = new File(templateFolder, templateNameWithoutExt + "." + extension);
-                if (templateFile.exists()) {
-                    LOGGER.info("Found alternative template file: {} using this instead", templateFile.getName());
-                    theTemplateName = templateFile.getName();
-                    break;
-                }
+        if (templateFile.exists()) {
+            return templateName;
+        }
+        LOGGER.info("Default template: {} was not found, searching for others...", templateName);
+        // if default template does not exist then check if any alternative engine templates exist
+        String templateNameWithoutExt = templateName.substring(0, templateName.length() - 4);
+        for (String extension : renderers.getRecognizedExtensions()) {
+            templateFile = new File(templateFolder, templateNameWithoutExt + "." + extension);
+            if (templateFile.exists()) {
+                LOGGER.info("Found alternative template file: {} using this instead", templateFile.getName());
+                return templateFile.getName();
             }
         }
-        String ext = FileUtil.fileExt(theTemplateName);
-        AbstractTemplateEngine engine = renderers.getEngine(ext);
-        if (engine != null) {
-            engine.renderDocument(model, theTemplateName, writer);
-        } else {
-            LOGGER.error("Warning - No template engine found for template: {}", theTemplateName);
+        return templateName;
+    }
+
+    private static final class ResolvedTemplate {
+        private final File templateFolder;
+        private final long folderModified;
+        private final String name;
+        private final boolean exists;
+        private final AbstractTemplateEngine engine;
+
+        private ResolvedTemplate(File templateFolder, long folderModified, String name, boolean exists, AbstractTemplateEngine engine) {
+            this.templateFolder = templateFolder;
+            this.folderModified = folderModified;
+            this.name = name;
+            this.exists = exists;
+            this.engine = engine;
+        }
+
+        private boolean isCurrent(File templateFolder, long folderModified) {
+            return Objects.equals(this.templateFolder, templateFolder) && this.folderModified == folderModified;
         }
     }
 }
@@ -8,13 +8,17 @@ import freemarker.template.ObjectWrapper;
 import freemarker.template.SimpleCollection;
 import freemarker.template.SimpleDate;
 import freemarker.template.SimpleHash;
+import freemarker.template.SimpleScalar;
 import freemarker.template.SimpleSequence;
 import freemarker.template.Template;
 import freemarker.template.TemplateDateModel;
 import freemarker.template.TemplateException;
 import freemarker.template.TemplateHashModel;
+import freemarker.template.TemplateMethodModelEx;
 import freemarker.template.TemplateModelException;
+import freemarker.template.TemplateScalarModel;
 import org.apache.commons.configuration2.CompositeConfiguration;
+import org.jbake.app.AssetManifest;
 import org.jbake.app.ContentStore;
 import org.jbake.app.configuration.JBakeConfiguration;
 import org.jbake.model.ModelAttributes;
@@ -26,6 +30,7 @@ import java.io.IOException;
 import java.io.Writer;
 import java.util.Collection;
 import java.util.Date;
+import java.util.List;
 
 /**
  * Renders pages using the <a href="http://freemarker.org/">Freemarker</a> template engine.
@@ -68,6 +73,15 @@ public class FreemarkerTemplateEngine extends AbstractTemplateEngine {
         }
     }
 
+    @Override
+    public void compileTemplate(final String templateName) throws RenderingException {
+        try {
+            templateCfg.getTemplate(templateName);
+        } catch (IOException e) {
+            throw new RenderingException(e);
+        }
+    }
+
     /**
      * A custom Freemarker model that avoids loading the whole documents into memory if not necessary.
      */
@@ -110,6 +124,8 @@ public class FreemarkerTemplateEngine extends AbstractTemplateEngine {
                             return new SimpleCollection((Collection) extractedValue, wrapper);
                         } else if (key.equals(ModelAttributes.PUBLISHED_DATE)) {
                             return new SimpleDate((Date) extractedValue, TemplateDateModel.UNKNOWN);
+                        } else if (key.equals(ModelAttributes.ASSET)) {
+                            return new AssetMethod((AssetManifest) extractedValue);
                         } else {
                             // All other cases, as far as I know, are document collections
                             return new SimpleSequence((Collection) extractedValue, wrapper);
@@ -129,4 +145,35 @@ public class FreemarkerTemplateEngine extends AbstractTemplateEngine {
 
     }
 
+
+    /**
+     * Exposes the asset manifest as <code>asset("css/app.css")</code> as well as <code>asset["css/app.css"]</code>.
+     */
+    private static class AssetMethod implements TemplateMethodModelEx, TemplateHashModel {
+
+        private final AssetManifest manifest;
+
+        AssetMethod(AssetManifest manifest) {
+            this.manifest = manifest;
+        }
+
+        @Override
+        public Object exec(List arguments) throws TemplateModelException {
+            if (arguments.size() != 1) {
+                throw new TemplateModelException("asset expects the path of an asset");
+            }
+            Object path = arguments.get(0);
+            return manifest.get(path instanceof TemplateScalarModel ? ((TemplateScalarModel) path).getAsString() : String.valueOf(path));
+        }
+
+        @Override
+        public freemarker.template.TemplateModel get(String key) {
+            return new SimpleScalar(manifest.get(key));
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return manifest.isEmpty();
+        }
+    }
 }
@@ -5,24 +5,50 @@ import groovy.text.Template;
 import groovy.text.markup.MarkupTemplateEngine;
 import groovy.text.markup.TemplateConfiguration;
 import org.apache.commons.configuration2.CompositeConfiguration;
+import org.codehaus.groovy.runtime.DefaultGroovyMethods;
+import org.codehaus.groovy.runtime.IOGroovyMethods;
 import org.jbake.app.ContentStore;
 import org.jbake.app.configuration.JBakeConfiguration;
 import org.jbake.template.model.TemplateModel;
 
 import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
 import java.io.Writer;
+import java.net.URL;
+import java.util.Collections;
 import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
 
 /**
  * Renders documents using the GroovyMarkupTemplateEngine.
  * <p>
  * The file extension to activate this Engine is .tpl
+ * <p>
+ * Classes compiled from templates, includes and layouts are kept by the {@link CompiledTemplateCache} if it is
+ * configured.
+ * <p>
+ * Compiled templates, includes and layouts are shared by all rendering threads. A {@link MarkupTemplateEngine}
+ * compiling templates on several threads at once is not thread-safe, so every thread compiles with its own engine.
  *
  * @see <a href="http://groovy-lang.org/templating.html#_the_markuptemplateengine">Groovy MarkupTemplateEngine Documentation</a>
  */
 public class GroovyMarkupTemplateEngine extends AbstractTemplateEngine {
     private TemplateConfiguration templateConfiguration;
-    private MarkupTemplateEngine templateEngine;
+    private CompiledTemplateCache cache;
+    private String settings;
+    private final ConcurrentMap<String, FutureTask<Template>> templates = new ConcurrentHashMap<>();
+    private final ThreadLocal<CompilingTemplateEngine> templateEngines = new ThreadLocal<CompilingTemplateEngine>() {
+        @Override
+        protected CompilingTemplateEngine initialValue() {
+            return new CompilingTemplateEngine();
+        }
+    };
 
     /**
      * @deprecated Use {@link #GroovyMarkupTemplateEngine(JBakeConfiguration, ContentStore)} instead
@@ -54,13 +80,15 @@ public class GroovyMarkupTemplateEngine extends AbstractTemplateEngine {
     }
 
     private void initializeTemplateEngine() {
-        templateEngine = new MarkupTemplateEngine(MarkupTemplateEngine.class.getClassLoader(), config.getTemplateFolder(), templateConfiguration);
+        cache = CompiledTemplateCache.create(config);
+        settings = "tpl:" + templateConfiguration.getBaseTemplateClass().getName() + ":" + templateConfiguration.getDeclarationEncoding()
+            + ":" + templateConfiguration.getNewLineString() + ":" + templateConfiguration.getLocale();
     }
 
     @Override
     public void renderDocument(final TemplateModel model, final String templateName, final Writer writer) throws RenderingException {
         try {
-            Template template = templateEngine.createTemplateByPath(templateName);
+            Template template = templateEngines.get().createTemplateByPath(templateName);
             Map<String, Object> wrappedModel = wrap(model);
             Writable writable = template.make(wrappedModel);
             writable.writeTo(writer);
@@ -69,6 +97,61 @@ public class GroovyMarkupTemplateEngine extends AbstractTemplateEngine {
         }
     }
 
+    @Override
+    public void compileTemplate(final String templateName) throws RenderingException {
+        try {
+            templateEngines.get().createTemplateByPath(templateName);
+        } catch (Exception e) {
+            throw new RenderingException(e);
+        }
+    }
+
+    /**
+     * Returns the compiled template, include or layout, compiling it with the engine of the current thread if it was
+     * not compiled yet. Concurrent renders of the same template wait for a single compilation.
+     */
+    private Template findTemplate(final URL resource) throws IOException, ClassNotFoundException {
+        if (!templateConfiguration.isCacheTemplates()) {
+            return templateEngines.get().compile(resource);
+        }
+        String key = resource.toExternalForm();
+        FutureTask<Template> template = templates.get(key);
+        if (template == null) {
+            FutureTask<Template> compiling = new FutureTask<>(new Callable<Template>() {
+                @Override
+                public Template call() throws Exception {
+                    return templateEngines.get().compile(resource);
+                }
+            });
+            template = templates.putIfAbsent(key, compiling);
+            if (template == null) {
+                template = compiling;
+                compiling.run();
+            }
+        }
+
+        try {
+            return template.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while compiling template " + key, e);
+        } catch (ExecutionException e) {
+            // compile it again on the next render, the template may be fixed by then
+            templates.remove(key, template);
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            } else if (cause instanceof ClassNotFoundException) {
+                throw (ClassNotFoundException) cause;
+            } else if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            } else if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IOException(cause);
+        }
+    }
+
     private TemplateModel wrap(final TemplateModel model) {
         return new TemplateModel(model) {
             @Override
@@ -81,4 +164,72 @@ public class GroovyMarkupTemplateEngine extends AbstractTemplateEngine {
             }
         };
     }
+
+    /**
+     * Compiles templates for one thread. Templates, includes and layouts are looked up in the templates shared by all
+     * threads, including those a template includes while it is rendered on another thread. Classes are loaded from the
+     * {@link CompiledTemplateCache} instead of compiling them if it is configured.
+     */
+    private final class CompilingTemplateEngine extends MarkupTemplateEngine {
+
+        private CompilingTemplateEngine() {
+            super(MarkupTemplateEngine.class.getClassLoader(), config.getTemplateFolder(), templateConfiguration);
+        }
+
+        @Override
+        public Template createTemplateByPath(String templatePath) throws IOException, ClassNotFoundException {
+            return findTemplate(resolveTemplate(templatePath));
+        }
+
+        /**
+         * Called for includes and layouts.
+         */
+        @Override
+        public Template createTypeCheckedModelTemplate(URL resource, Map<String, String> modelTypes) throws IOException, ClassNotFoundException {
+            if (modelTypes != null) {
+                CompilingTemplateEngine engine = templateEngines.get();
+                return engine == this ? super.createTypeCheckedModelTemplate(resource, modelTypes) : engine.createTypeCheckedModelTemplate(resource, modelTypes);
+            }
+            return findTemplate(resource);
+        }
+
+        /**
+         * Called for fragments.
+         */
+        @Override
+        public Template createTemplate(Reader reader) throws IOException, ClassNotFoundException {
+            CompilingTemplateEngine engine = templateEngines.get();
+            return engine == this ? super.createTemplate(reader) : engine.createTemplate(reader);
+        }
+
+        private Template compile(URL resource) throws IOException, ClassNotFoundException {
+            if (cache == null) {
+                return super.createTypeCheckedModelTemplate(resource, null);
+            }
+            String source;
+            try (InputStream in = resource.openStream()) {
+                source = IOGroovyMethods.getText(in, config.getTemplateEncoding());
+            }
+            return new CachedMarkupTemplate(cache.load(source, settings, getCompilerConfiguration(), getTemplateLoader()));
+        }
+
+        private final class CachedMarkupTemplate implements Template {
+            private final Class<?> templateClass;
+
+            private CachedMarkupTemplate(Class<?> templateClass) {
+                this.templateClass = templateClass;
+            }
+
+            @Override
+            public Writable make() {
+                return make(Collections.emptyMap());
+            }
+
+            @Override
+            public Writable make(Map binding) {
+                return (Writable) DefaultGroovyMethods.newInstance(templateClass,
+                    new Object[]{CompilingTemplateEngine.this, binding, null, getTemplateConfiguration()});
+            }
+        }
+    }
 }
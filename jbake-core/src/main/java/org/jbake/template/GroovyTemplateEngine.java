@@ -1,12 +1,17 @@
 package org.jbake.template;
 
 
+import groovy.lang.GroovyShell;
+import groovy.lang.Script;
 import groovy.lang.Writable;
 import groovy.text.SimpleTemplateEngine;
 import groovy.text.Template;
 import groovy.text.TemplateEngine;
 import groovy.text.XmlTemplateEngine;
 import org.apache.commons.configuration2.CompositeConfiguration;
+import org.codehaus.groovy.control.CompilationFailedException;
+import org.codehaus.groovy.control.CompilerConfiguration;
+import org.codehaus.groovy.runtime.InvokerHelper;
 import org.codehaus.groovy.runtime.MethodClosure;
 import org.jbake.app.ContentStore;
 import org.jbake.app.configuration.JBakeConfiguration;
@@ -19,20 +24,37 @@ import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStreamReader;
+import java.io.Reader;
 import java.io.Writer;
-import java.util.HashMap;
-import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
 
 /**
  * Renders documents using a Groovy template engine. Depending on the file extension of the template, the template
  * engine will either be a {@link groovy.text.SimpleTemplateEngine}, or an {@link groovy.text.XmlTemplateEngine}
  * (.gxml).
+ * <p>
+ * Classes compiled from .gsp templates are kept by the {@link CompiledTemplateCache} if it is configured.
+ * <p>
+ * The Groovy template engines reuse their parser and are not thread-safe, so every rendering thread compiles with its
+ * own engines. Compiled templates are shared.
  *
  * @author Cédric Champeau
  */
 public class GroovyTemplateEngine extends AbstractTemplateEngine {
 
-    private final Map<String, Template> cachedTemplates = new HashMap<>();
+    private final ConcurrentMap<String, CachedTemplate> cachedTemplates = new ConcurrentHashMap<>();
+    private final ThreadLocal<SimpleTemplateEngine> simpleTemplateEngines = new ThreadLocal<SimpleTemplateEngine>() {
+        @Override
+        protected SimpleTemplateEngine initialValue() {
+            return createSimpleTemplateEngine();
+        }
+    };
+    private final ThreadLocal<XmlTemplateEngine> xmlTemplateEngines = new ThreadLocal<>();
+    private final CompiledTemplateCache cache;
 
     /**
      * @deprecated Use {@link #GroovyTemplateEngine(JBakeConfiguration, ContentStore)} instead
@@ -45,10 +67,19 @@ public class GroovyTemplateEngine extends AbstractTemplateEngine {
     @Deprecated
     public GroovyTemplateEngine(final CompositeConfiguration config, final ContentStore db, final File destination, final File templatesPath) {
         super(config, db, destination, templatesPath);
+        cache = CompiledTemplateCache.create(this.config);
     }
 
     public GroovyTemplateEngine(final JBakeConfiguration config, final ContentStore db) {
         super(config, db);
+        cache = CompiledTemplateCache.create(config);
+    }
+
+    private SimpleTemplateEngine createSimpleTemplateEngine() {
+        if (cache == null) {
+            return new SimpleTemplateEngine();
+        }
+        return new SimpleTemplateEngine(new CachingGroovyShell(GroovyShell.class.getClassLoader(), cache));
     }
 
     @Override
@@ -62,15 +93,67 @@ public class GroovyTemplateEngine extends AbstractTemplateEngine {
         }
     }
 
-    private Template findTemplate(final String templateName) throws SAXException, ParserConfigurationException, ClassNotFoundException, IOException {
-        TemplateEngine ste = templateName.endsWith(".gxml") ? new XmlTemplateEngine() : new SimpleTemplateEngine();
-        File sourceTemplate = new File(config.getTemplateFolder(), templateName);
-        Template template = cachedTemplates.get(templateName);
-        if (template == null) {
-            template = ste.createTemplate(new InputStreamReader(new BufferedInputStream(new FileInputStream(sourceTemplate)), config.getTemplateEncoding()));
-            cachedTemplates.put(templateName, template);
+    @Override
+    public void compileTemplate(final String templateName) throws RenderingException {
+        try {
+            findTemplate(templateName);
+        } catch (Exception e) {
+            throw new RenderingException(e);
+        }
+    }
+
+    /**
+     * Returns the compiled template, compiling it if it is not cached or changed since it was compiled. Concurrent
+     * renders of the same template wait for a single compilation.
+     */
+    private Template findTemplate(final String templateName) throws Exception {
+        final File sourceTemplate = new File(config.getTemplateFolder(), templateName);
+        long modified = sourceTemplate.lastModified();
+        long size = sourceTemplate.length();
+
+        CachedTemplate cached = cachedTemplates.get(templateName);
+        while (cached == null || !cached.isCurrent(modified, size)) {
+            CachedTemplate compiling = new CachedTemplate(modified, size, new FutureTask<>(new Callable<Template>() {
+                @Override
+                public Template call() throws Exception {
+                    return compile(templateName, sourceTemplate);
+                }
+            }));
+            boolean added = cached == null
+                ? cachedTemplates.putIfAbsent(templateName, compiling) == null
+                : cachedTemplates.replace(templateName, cached, compiling);
+            if (added) {
+                compiling.template.run();
+                cached = compiling;
+            } else {
+                cached = cachedTemplates.get(templateName);
+            }
+        }
+
+        try {
+            return cached.template.get();
+        } catch (ExecutionException e) {
+            // compile it again on the next render, the template may be fixed by then
+            cachedTemplates.remove(templateName, cached);
+            Throwable cause = e.getCause();
+            throw cause instanceof Exception ? (Exception) cause : e;
+        }
+    }
+
+    private Template compile(String templateName, File sourceTemplate) throws Exception {
+        TemplateEngine engine = templateName.endsWith(".gxml") ? getXmlTemplateEngine() : simpleTemplateEngines.get();
+        try (Reader reader = new InputStreamReader(new BufferedInputStream(new FileInputStream(sourceTemplate)), config.getTemplateEncoding())) {
+            return engine.createTemplate(reader);
+        }
+    }
+
+    private XmlTemplateEngine getXmlTemplateEngine() throws SAXException, ParserConfigurationException {
+        XmlTemplateEngine xmlTemplateEngine = xmlTemplateEngines.get();
+        if (xmlTemplateEngine == null) {
+            xmlTemplateEngine = new XmlTemplateEngine();
+            xmlTemplateEngines.set(xmlTemplateEngine);
         }
-        return template;
+        return xmlTemplateEngine;
     }
 
     private TemplateModel wrap(final TemplateModel model) {
@@ -94,4 +177,42 @@ public class GroovyTemplateEngine extends AbstractTemplateEngine {
         Writer out = model.getWriter();
         engine.renderDocument(model, templateName, out);
     }
+
+    /**
+     * Loads the scripts {@link SimpleTemplateEngine} generates from templates from the cache instead of compiling them.
+     */
+    private static final class CachingGroovyShell extends GroovyShell {
+        private final CompiledTemplateCache cache;
+        private final CompilerConfiguration configuration = new CompilerConfiguration();
+
+        private CachingGroovyShell(ClassLoader parent, CompiledTemplateCache cache) {
+            super(parent);
+            this.cache = cache;
+        }
+
+        @Override
+        public Script parse(String scriptText, String fileName) throws CompilationFailedException {
+            try {
+                return InvokerHelper.createScript(cache.load(scriptText, "gsp", configuration, getClassLoader()), getContext());
+            } catch (IOException e) {
+                throw new IllegalStateException("Unable to load compiled template " + fileName, e);
+            }
+        }
+    }
+
+    private static final class CachedTemplate {
+        private final long modified;
+        private final long size;
+        private final FutureTask<Template> template;
+
+        private CachedTemplate(long modified, long size, FutureTask<Template> template) {
+            this.modified = modified;
+            this.size = size;
+            this.template = template;
+        }
+
+        private boolean isCurrent(long modified, long size) {
+            return this.modified == modified && this.size == size;
+        }
+    }
 }
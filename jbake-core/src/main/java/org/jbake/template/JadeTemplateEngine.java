@@ -66,6 +66,15 @@ public class JadeTemplateEngine extends AbstractTemplateEngine {
         }
     }
 
+    @Override
+    public void compileTemplate(String templateName) throws RenderingException {
+        try {
+            jadeConfiguration.getTemplate(templateName);
+        } catch (IOException e) {
+            throw new RenderingException(e);
+        }
+    }
+
     public void renderTemplate(JadeTemplate template, TemplateModel model, Writer writer) {
         JadeModel jadeModel = wrap(model);
         jadeModel.putAll(jadeConfiguration.getSharedVariables());
@@ -89,7 +98,7 @@ public class JadeTemplateEngine extends AbstractTemplateEngine {
     public static class FormatHelper {
         private final Map<String, SimpleDateFormat> formatters = new HashMap<>();
 
-        public String format(Date date, String pattern) {
+        public synchronized String format(Date date, String pattern) {
             if (date != null && pattern != null) {
                 SimpleDateFormat df = formatters.get(pattern);
 
@@ -13,4 +13,16 @@ public interface ModelExtractor<T> {
 
     T get(ContentStore db, Map model, String key);
 
+    /**
+     * Tells whether the result of {@link #get(ContentStore, Map, String)} depends on the page being rendered. Results
+     * of extractors which do not are computed once during the render phase of a bake and shared by all renders, see
+     * {@link ModelExtractors#startMemoizing()}. Such results must not be modified.
+     *
+     * @param model the model of the page being rendered
+     * @return true if the result depends on the model, which is assumed unless an extractor declares otherwise
+     */
+    default boolean isPageDependent(Map model) {
+        return true;
+    }
+
 }
@@ -4,6 +4,7 @@ import org.jbake.app.ContentStore;
 import org.jbake.model.DocumentTypeUtils;
 import org.jbake.template.model.PublishedCustomExtractor;
 import org.jbake.template.model.TypedDocumentsExtractor;
+import org.jbake.util.RenderTimings;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -14,6 +15,11 @@ import java.util.Map;
 import java.util.Properties;
 import java.util.Set;
 import java.util.TreeMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
 
 
 /**
@@ -40,6 +46,8 @@ public class ModelExtractors {
     private final static Logger LOGGER = LoggerFactory.getLogger(ModelExtractors.class);
 
     private final Map<String, ModelExtractor> extractors;
+    private final ConcurrentMap<String, FutureTask<Object>> memoized = new ConcurrentHashMap<>();
+    private volatile boolean memoizing;
 
     private static class Loader {
         private static final ModelExtractors INSTANCE = new ModelExtractors();
@@ -56,9 +64,29 @@ public class ModelExtractors {
 
     public void reset() {
         extractors.clear();
+        memoized.clear();
         loadEngines();
     }
 
+    /**
+     * Starts sharing the results of extractors which are not page dependent between all renders, so they are only
+     * computed once. Call it when the content store holds all documents of the render phase.
+     *
+     * @see ModelExtractor#isPageDependent(Map)
+     */
+    public void startMemoizing() {
+        memoized.clear();
+        memoizing = true;
+    }
+
+    /**
+     * Stops sharing results and drops the shared results, the next render calls the extractors again.
+     */
+    public void stopMemoizing() {
+        memoizing = false;
+        memoized.clear();
+    }
+
     public void registerEngine(String key, ModelExtractor extractor) {
         ModelExtractor old = extractors.put(key, extractor);
         if (old != null) {
@@ -123,13 +151,59 @@ public class ModelExtractors {
 
     public <Type> Type extractAndTransform(ContentStore db, String key, Map map, TemplateEngineAdapter<Type> adapter) throws NoModelExtractorException {
         if (extractors.containsKey(key)) {
-            Object extractedValue = extractors.get(key).get(db, map, key);
+            long start = RenderTimings.getInstance().begin();
+            ModelExtractor extractor = extractors.get(key);
+            Object extractedValue;
+            if (memoizing && !extractor.isPageDependent(map)) {
+                extractedValue = memoized(db, key, map, extractor);
+            } else {
+                extractedValue = extractor.get(db, map, key);
+            }
+            RenderTimings.getInstance().recordExtractor(key, start);
             return adapter.adapt(key, extractedValue);
         } else {
             throw new NoModelExtractorException("no model extractor for key \"" + key + "\"");
         }
     }
 
+    /**
+     * Returns the shared result of an extractor, computing it if this is the first render asking for it. Renders asking
+     * for it while it is computed wait for the result instead of computing it again.
+     */
+    private Object memoized(final ContentStore db, final String key, final Map map, final ModelExtractor extractor) {
+        FutureTask<Object> result = memoized.get(key);
+        if (result == null) {
+            FutureTask<Object> task = new FutureTask<>(new Callable<Object>() {
+                @Override
+                public Object call() {
+                    return extractor.get(db, map, key);
+                }
+            });
+            result = memoized.putIfAbsent(key, task);
+            if (result == null) {
+                result = task;
+                task.run();
+            }
+        }
+        try {
+            return result.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for model extractor \"" + key + "\"", e);
+        } catch (ExecutionException e) {
+            // let the next render try again
+            memoized.remove(key, result);
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IllegalStateException(cause);
+        }
+    }
+
     /**
      * @see java.util.Map#containsKey(java.lang.Object)
      * @param key A key a {@link ModelExtractor} is registered with
@@ -55,6 +55,15 @@ public class PebbleTemplateEngine extends AbstractTemplateEngine {
 
     }
 
+    @Override
+    public void compileTemplate(final String templateName) throws RenderingException {
+        try {
+            engine.getTemplate(templateName);
+        } catch (PebbleException e) {
+            throw new RenderingException(e);
+        }
+    }
+
     private TemplateModel wrap(final TemplateModel model) {
         return new TemplateModel(model) {
 
@@ -0,0 +1,310 @@
+package org.jbake.template;
+
+import org.apache.commons.io.FileUtils;
+import org.jbake.app.FileUtil;
+import org.jbake.util.Fingerprint;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Signatures of the files in the template folder and the includes between them.
+ * <p>
+ * Template engines cache compiled templates, so the includes a template uses can not be observed reliably while
+ * rendering. Instead the sources are scanned for the include, import, extends and layout syntax of the supported
+ * template engines, and a template is considered to include another template if one of them names the other template's
+ * path, file name or file name without extension. A template whose include is computed, such as
+ * <code>&lt;#include "${name}.ftl"&gt;</code>, is considered to include every other template.
+ * <p>
+ * Includes written in a syntax not recognized here are missed. A template file no document template is found to
+ * include, see {@link #findUnattributed(Collection, Collection)}, may still be included that way, so a change of such
+ * a file is treated as a change of every template.
+ */
+public class TemplateDependencies {
+
+    /**
+     * Prefix of the keys the template signatures are stored with in the content store.
+     */
+    public static final String FINGERPRINT_PREFIX = "template:";
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(TemplateDependencies.class);
+
+    /**
+     * Include, import, extends and layout directives of Freemarker, Groovy, Groovy markup and Pebble templates. The
+     * first group is the quoted template name, missing if the name is an expression, the second group is set if the
+     * quoted name is concatenated with an expression.
+     */
+    private static final Pattern DIRECTIVE = Pattern.compile(
+        "(?:<#(?:include|import)|\\{%-?\\s*(?:include|extends|import|embed|from)|<%=?\\s*include"
+            + "|\\binclude\\s+(?:template|escaped|unescaped)\\s*:|(?m:^)[ \\t]*layout(?=\\s*\\(?\\s*(?:[\"']|[\\w.]+\\s*,)))"
+            + "\\s*\\(?\\s*(\"[^\"\\r\\n]*\"|'[^'\\r\\n]*')?(\\s*\\+)?");
+
+    /**
+     * Fragment attributes of Thymeleaf templates, such as <code>th:replace="header.thyme::head"</code>.
+     */
+    private static final Pattern FRAGMENT_ATTRIBUTE = Pattern.compile(
+        "\\b(?:data-)?(?:th|layout)[:-](?:replace|insert|include|substituteby|decorate)\\s*=\\s*(\"[^\"]*\"|'[^']*')");
+
+    /**
+     * Include and extends statements of Jade templates, which name the template without quotes.
+     */
+    private static final Pattern JADE_STATEMENT = Pattern.compile("(?m)^[ \\t]*(?:include|extends)[ \\t]+([\\w./-]+)[ \\t]*$");
+
+    private final Map<String, String> signatures = new TreeMap<>();
+    private final Map<String, Set<String>> includes = new HashMap<>();
+
+    /**
+     * Reads all files of the template folder.
+     *
+     * @param templateFolder the template folder
+     * @param encoding       the encoding of the template files
+     */
+    public TemplateDependencies(File templateFolder, String encoding) {
+        Map<String, String> sources = new HashMap<>();
+        if (templateFolder != null && templateFolder.isDirectory()) {
+            for (File file : FileUtils.listFiles(templateFolder, null, true)) {
+                String path = FileUtil.asPath(templateFolder.toPath().relativize(file.toPath()).toFile());
+                try {
+                    signatures.put(path, FileUtil.sha1(file));
+                    sources.put(path, FileUtils.readFileToString(file, encoding));
+                } catch (Exception e) {
+                    LOGGER.warn("Unable to read template [{}]", file, e);
+                    signatures.put(path, "");
+                    sources.put(path, "");
+                }
+            }
+        }
+
+        for (Map.Entry<String, String> source : sources.entrySet()) {
+            Set<String> references = new HashSet<>();
+            boolean dynamic = findReferences(source.getValue(), references);
+            Set<String> included = new HashSet<>();
+            for (String path : signatures.keySet()) {
+                if (!source.getKey().equals(path) && (dynamic || isReferenced(path, references))) {
+                    included.add(path);
+                }
+            }
+            if (!included.isEmpty()) {
+                includes.put(source.getKey(), included);
+            }
+        }
+    }
+
+    /**
+     * Collects the names of the templates a template source includes.
+     *
+     * @param source     the template source
+     * @param references receives the names of the included templates
+     * @return true if the source computes the name of an included template
+     */
+    private static boolean findReferences(String source, Set<String> references) {
+        Matcher directive = DIRECTIVE.matcher(source);
+        while (directive.find()) {
+            String name = directive.group(1);
+            if (name == null || directive.group(2) != null || isExpression(name)) {
+                return true;
+            }
+            references.add(name.substring(1, name.length() - 1));
+        }
+
+        Matcher attribute = FRAGMENT_ATTRIBUTE.matcher(source);
+        while (attribute.find()) {
+            String value = attribute.group(1);
+            value = value.substring(1, value.length() - 1).trim();
+            if (value.startsWith("~{") && value.endsWith("}")) {
+                value = value.substring(2, value.length() - 1);
+            }
+            int selector = value.indexOf("::");
+            String name = (selector < 0 ? value : value.substring(0, selector)).trim();
+            if (isExpression(name)) {
+                return true;
+            }
+            if (!name.isEmpty() && !"this".equals(name)) {
+                references.add(name);
+            }
+        }
+
+        Matcher statement = JADE_STATEMENT.matcher(source);
+        while (statement.find()) {
+            references.add(statement.group(1));
+        }
+        return false;
+    }
+
+    private static boolean isExpression(String name) {
+        return name.contains("${") || name.contains("*{") || name.contains("#{") || name.contains("{{");
+    }
+
+    private static boolean isReferenced(String path, Set<String> references) {
+        String fileName = fileName(path);
+        String baseName = baseName(fileName);
+        for (String reference : references) {
+            String name = reference.replace('\\', '/');
+            while (name.startsWith("./") || name.startsWith("/")) {
+                name = name.substring(name.indexOf('/') + 1);
+            }
+            String referencedFileName = fileName(name);
+            if (name.equals(path) || name.equals(baseName(path))
+                || referencedFileName.equals(fileName) || referencedFileName.equals(baseName)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String fileName(String path) {
+        return path.substring(path.lastIndexOf('/') + 1);
+    }
+
+    /**
+     * @return the signatures of all template files keyed by their path relative to the template folder
+     */
+    public Map<String, String> getSignatures() {
+        return signatures;
+    }
+
+    /**
+     * Computes a signature over a template and all templates it includes.
+     *
+     * @param templateName the name of the template, as configured for a document type
+     * @return the signature
+     */
+    public String getSignature(String templateName) {
+        Fingerprint fingerprint = new Fingerprint();
+        for (String path : closure(templateName)) {
+            fingerprint.add(path).add(signatures.get(path));
+        }
+        return fingerprint.toHex();
+    }
+
+    /**
+     * Finds the template files which changed compared to previously stored signatures.
+     *
+     * @param previous the previous signatures keyed by path
+     * @return the paths of all template files which were added, changed or removed
+     */
+    public Set<String> findChanged(Map<String, String> previous) {
+        Set<String> changed = new TreeSet<>();
+        for (Map.Entry<String, String> entry : signatures.entrySet()) {
+            if (!entry.getValue().equals(previous.get(entry.getKey()))) {
+                changed.add(entry.getKey());
+            }
+        }
+        for (String path : previous.keySet()) {
+            if (!signatures.containsKey(path)) {
+                changed.add(path);
+            }
+        }
+        return changed;
+    }
+
+    /**
+     * Checks whether a template or any template it includes is one of the given template files.
+     *
+     * @param templateName the name of the template, as configured for a document type
+     * @param paths        paths of template files
+     * @return true if the template depends on one of the template files
+     */
+    public boolean dependsOn(String templateName, Collection<String> paths) {
+        if (templateName == null) {
+            return false;
+        }
+        Set<String> closure = closure(templateName);
+        for (String path : paths) {
+            // a removed template may have been the one used for this name before an alternative took over
+            if (closure.contains(path) || sameBaseName(path, templateName)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Finds the template files which are neither one of the given templates nor found to be included by them.
+     *
+     * @param templateNames the names of the templates, as configured for the document types
+     * @param paths         paths of template files
+     * @return the paths no template depends on as far as the include syntax tells
+     */
+    public Set<String> findUnattributed(Collection<String> templateNames, Collection<String> paths) {
+        Set<String> unattributed = new TreeSet<>(paths);
+        for (String templateName : templateNames) {
+            if (templateName == null) {
+                continue;
+            }
+            unattributed.removeAll(closure(templateName));
+            Iterator<String> path = unattributed.iterator();
+            while (path.hasNext()) {
+                if (sameBaseName(path.next(), templateName)) {
+                    path.remove();
+                }
+            }
+        }
+        return unattributed;
+    }
+
+    private Set<String> closure(String templateName) {
+        Set<String> closure = new TreeSet<>();
+        if (templateName == null) {
+            return closure;
+        }
+
+        Deque<String> pending = new ArrayDeque<>();
+        if (signatures.containsKey(templateName)) {
+            pending.add(templateName);
+        } else {
+            // the engine falls back to a template with the same name and another extension
+            for (String path : signatures.keySet()) {
+                if (sameBaseName(path, templateName)) {
+                    pending.add(path);
+                }
+            }
+        }
+
+        while (!pending.isEmpty()) {
+            String path = pending.pop();
+            if (closure.add(path) && includes.containsKey(path)) {
+                pending.addAll(includes.get(path));
+            }
+        }
+        return closure;
+    }
+
+    private static boolean sameBaseName(String path, String templateName) {
+        return baseName(path).equals(baseName(templateName));
+    }
+
+    private static String baseName(String path) {
+        int dot = path.lastIndexOf('.');
+        return dot > path.lastIndexOf('/') ? path.substring(0, dot) : path;
+    }
+
+    /**
+     * Reads the paths from the keys of stored template fingerprints.
+     *
+     * @param fingerprints the stored fingerprints keyed by {@link #FINGERPRINT_PREFIX} and path
+     * @return the signatures keyed by path
+     */
+    public static Map<String, String> fromFingerprints(Map<String, String> fingerprints) {
+        Map<String, String> result = new HashMap<>();
+        for (Map.Entry<String, String> entry : fingerprints.entrySet()) {
+            if (entry.getKey().startsWith(FINGERPRINT_PREFIX)) {
+                result.put(entry.getKey().substring(FINGERPRINT_PREFIX.length()), entry.getValue());
+            }
+        }
+        return result;
+    }
+}
@@ -18,7 +18,8 @@ import java.io.Writer;
 import java.util.Date;
 import java.util.Locale;
 import java.util.Set;
-import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 /**
  * <p>A template engine which renders pages using Thymeleaf.</p>
@@ -36,10 +37,7 @@ import java.util.concurrent.locks.ReentrantLock;
  * @author Cédric Champeau
  */
 public class ThymeleafTemplateEngine extends AbstractTemplateEngine {
-    private final ReentrantLock lock = new ReentrantLock();
-    private TemplateEngine templateEngine;
-    private final Context context;
-    private FileTemplateResolver templateResolver;
+    private final ConcurrentMap<String, TemplateEngine> templateEngines = new ConcurrentHashMap<>();
 
     /**
      * @deprecated Use {@link #ThymeleafTemplateEngine(JBakeConfiguration, ContentStore)} instead
@@ -52,32 +50,41 @@ public class ThymeleafTemplateEngine extends AbstractTemplateEngine {
     @Deprecated
     public ThymeleafTemplateEngine(final CompositeConfiguration config, final ContentStore db, final File destination, final File templatesPath) {
         super(config, db, destination, templatesPath);
-        this.context = new Context();
-        initializeTemplateEngine();
     }
 
     public ThymeleafTemplateEngine(final JBakeConfiguration config, final ContentStore db) {
         super(config, db);
-        this.context = new Context();
-        initializeTemplateEngine();
     }
 
-    private void initializeTemplateEngine() {
-        templateResolver = new FileTemplateResolver();
-        templateResolver.setPrefix(config.getTemplateFolder().getAbsolutePath() + File.separatorChar);
-        templateResolver.setCharacterEncoding(config.getTemplateEncoding());
-        templateResolver.setTemplateMode(DefaultJBakeConfiguration.DEFAULT_TYHMELEAF_TEMPLATE_MODE);
-        templateEngine = new TemplateEngine();
-        templateEngine.setTemplateResolver(templateResolver);
-        templateEngine.clearTemplateCache();
-    }
-
-    private void updateTemplateMode(TemplateModel model) {
-        templateResolver.setTemplateMode(getTemplateModeByModel(model));
+    /**
+     * Returns the template engine of a template mode. Every mode has its own engine and resolver, created on first use,
+     * so documents of different types can be rendered concurrently without changing a shared resolver.
+     *
+     * @param templateMode the template mode
+     * @return the template engine
+     */
+    private TemplateEngine getTemplateEngine(String templateMode) {
+        TemplateEngine templateEngine = templateEngines.get(templateMode);
+        if (templateEngine == null) {
+            FileTemplateResolver templateResolver = new FileTemplateResolver();
+            templateResolver.setPrefix(config.getTemplateFolder().getAbsolutePath() + File.separatorChar);
+            templateResolver.setCharacterEncoding(config.getTemplateEncoding());
+            templateResolver.setTemplateMode(templateMode);
+            TemplateEngine created = new TemplateEngine();
+            created.setTemplateResolver(templateResolver);
+            templateEngine = templateEngines.putIfAbsent(templateMode, created);
+            if (templateEngine == null) {
+                templateEngine = created;
+            }
+        }
+        return templateEngine;
     }
 
     private String getTemplateModeByModel(TemplateModel model) {
         DocumentModel content = model.getContent();
+        if (content == null || content.getType() == null) {
+            return DefaultJBakeConfiguration.DEFAULT_TYHMELEAF_TEMPLATE_MODE;
+        }
         return config.getThymeleafModeByType(content.getType());
     }
 
@@ -87,24 +94,19 @@ public class ThymeleafTemplateEngine extends AbstractTemplateEngine {
         String localeString = config.getThymeleafLocale();
         Locale locale = localeString != null ? LocaleUtils.toLocale(localeString) : Locale.getDefault();
 
-        lock.lock();
-        try {
-            initializeContext(locale, model);
-            updateTemplateMode(model);
-            templateEngine.process(templateName, context, writer);
-        } finally {
-            lock.unlock();
-        }
+        // every render has its own context, template engines are thread safe once configured
+        Context context = createContext(locale, model);
+        getTemplateEngine(getTemplateModeByModel(model)).process(templateName, context, writer);
     }
 
-    private void initializeContext(Locale locale, TemplateModel model) {
-        context.clearVariables();
-        context.setLocale(locale);
+    private Context createContext(Locale locale, TemplateModel model) {
+        Context context = new Context(locale);
         context.setVariables(model);
 
         for (String key : extractors.keySet()) {
             context.setVariable(key, new ContextVariable(db, key, model));
         }
+        return context;
     }
 
     /**
@@ -26,4 +26,9 @@ public class AllContentExtractor implements ModelExtractor<DocumentList> {
         return allContent;
     }
 
+    @Override
+    public boolean isPageDependent(Map model) {
+        return false;
+    }
+
 }
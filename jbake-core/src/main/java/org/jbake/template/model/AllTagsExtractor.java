@@ -13,4 +13,9 @@ public class AllTagsExtractor implements ModelExtractor<Set<String>> {
         return db.getAllTags();
     }
 
+    @Override
+    public boolean isPageDependent(Map model) {
+        return false;
+    }
+
 }
\ No newline at end of file
@@ -0,0 +1,72 @@
+package org.jbake.template.model;
+
+import org.jbake.app.AssetManifest;
+import org.jbake.app.ContentStore;
+import org.jbake.template.ModelExtractor;
+
+import java.io.File;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import static org.jbake.app.configuration.PropertyList.ASSET_FINGERPRINT;
+import static org.jbake.app.configuration.PropertyList.ASSET_FINGERPRINT_MANIFEST;
+
+/**
+ * Looks up the fingerprinted paths of assets in the asset manifest of the current bake. Without one, for example
+ * when rendering outside of a bake, the manifest written to the destination folder is read once and again only when
+ * it changes.
+ */
+public class AssetExtractor implements ModelExtractor<AssetManifest> {
+
+    private static final String DESTINATION_FOLDER = "destinationFolder";
+
+    private final ConcurrentMap<File, CachedManifest> manifests = new ConcurrentHashMap<>();
+
+    @Override
+    public AssetManifest get(ContentStore db, Map model, String key) {
+        TemplateModel templateModel = new TemplateModel();
+        templateModel.putAll(model);
+        Map<?, ?> config = templateModel.getConfig();
+
+        if (config == null || !Boolean.parseBoolean(String.valueOf(config.get(ASSET_FINGERPRINT.getKey().replace(".", "_"))))) {
+            return new AssetManifest();
+        }
+        AssetManifest current = templateModel.getAssetManifest();
+        if (current != null) {
+            return current;
+        }
+        Object destination = config.get(DESTINATION_FOLDER);
+        Object manifestName = config.get(ASSET_FINGERPRINT_MANIFEST.getKey().replace(".", "_"));
+        if (destination == null || manifestName == null) {
+            return new AssetManifest();
+        }
+
+        File file = new File(destination.toString(), manifestName.toString());
+        long modified = file.lastModified();
+        long size = file.length();
+        CachedManifest cached = manifests.get(file);
+        if (cached == null || cached.modified != modified || cached.size != size) {
+            cached = new CachedManifest(AssetManifest.read(file), modified, size);
+            manifests.put(file, cached);
+        }
+        return cached.manifest;
+    }
+
+    @Override
+    public boolean isPageDependent(Map model) {
+        return false;
+    }
+
+    private static final class CachedManifest {
+        private final AssetManifest manifest;
+        private final long modified;
+        private final long size;
+
+        private CachedManifest(AssetManifest manifest, long modified, long size) {
+            this.manifest = manifest;
+            this.modified = modified;
+            this.size = size;
+        }
+    }
+}
@@ -12,4 +12,9 @@ public class DBExtractor implements ModelExtractor<ContentStore> {
         return db;
     }
 
+    @Override
+    public boolean isPageDependent(Map model) {
+        return false;
+    }
+
 }
\ No newline at end of file
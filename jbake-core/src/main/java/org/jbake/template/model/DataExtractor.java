@@ -22,4 +22,9 @@ public class DataExtractor implements ModelExtractor<DataFileUtil> {
         return dataUtil;
     }
 
+    @Override
+    public boolean isPageDependent(Map model) {
+        return false;
+    }
+
 }
@@ -0,0 +1,71 @@
+package org.jbake.template.model;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * A read-only list of documents which are only queried when the list is first read, so a model can offer lists which
+ * most templates never use without querying the content store for them. The size is known up front and does not
+ * load the documents.
+ * <p>
+ * Lists may be shared by renders on several threads, the documents are loaded once.
+ *
+ * @param <T> the type of the documents
+ */
+public abstract class LazyDocumentList<T> extends AbstractList<T> {
+
+    private final int size;
+    private volatile List<T> documents;
+
+    /**
+     * @param size the number of documents {@link #load()} returns
+     */
+    protected LazyDocumentList(int size) {
+        this.size = size;
+    }
+
+    /**
+     * @return the documents, queried from the content store
+     */
+    protected abstract List<T> load();
+
+    private List<T> documents() {
+        List<T> result = documents;
+        if (result == null) {
+            synchronized (this) {
+                result = documents;
+                if (result == null) {
+                    result = Collections.unmodifiableList(new ArrayList<>(load()));
+                    documents = result;
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @return true if the documents were queried
+     */
+    public boolean isLoaded() {
+        return documents != null;
+    }
+
+    @Override
+    public T get(int index) {
+        return documents().get(index);
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        return documents().iterator();
+    }
+
+    @Override
+    public int size() {
+        List<T> result = documents;
+        return result == null ? size : result.size();
+    }
+}
@@ -21,4 +21,9 @@ public class PublishedContentExtractor implements ModelExtractor<DocumentList> {
         return publishedContent;
     }
 
+    @Override
+    public boolean isPageDependent(Map model) {
+        return false;
+    }
+
 }
\ No newline at end of file
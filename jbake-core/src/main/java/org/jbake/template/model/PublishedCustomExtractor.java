@@ -20,4 +20,9 @@ public class PublishedCustomExtractor implements ModelExtractor<DocumentList> {
         return db.getPublishedContent(customDocumentType);
     }
 
+    @Override
+    public boolean isPageDependent(Map model) {
+        return false;
+    }
+
 }
\ No newline at end of file
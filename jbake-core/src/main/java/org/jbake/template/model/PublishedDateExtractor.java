@@ -13,4 +13,9 @@ public class PublishedDateExtractor implements ModelExtractor<Date> {
         return new Date();
     }
 
+    @Override
+    public boolean isPageDependent(Map model) {
+        return false;
+    }
+
 }
\ No newline at end of file
@@ -13,4 +13,9 @@ public class PublishedPagesExtractor implements ModelExtractor<DocumentList> {
         return db.getPublishedPages();
     }
 
+    @Override
+    public boolean isPageDependent(Map model) {
+        return false;
+    }
+
 }
\ No newline at end of file
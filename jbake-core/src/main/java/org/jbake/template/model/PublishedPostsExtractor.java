@@ -2,14 +2,25 @@ package org.jbake.template.model;
 
 import org.jbake.app.ContentStore;
 import org.jbake.app.DocumentList;
+import org.jbake.model.ModelAttributes;
 import org.jbake.template.ModelExtractor;
 
+import java.util.List;
 import java.util.Map;
 
 public class PublishedPostsExtractor implements ModelExtractor<DocumentList> {
 
     @Override
     public DocumentList get(ContentStore db, Map model, String key) {
+        Object page = model.get(ModelAttributes.PUBLISHED_POSTS);
+        if (page instanceof DocumentList) {
+            // the posts of the current index page
+            return (DocumentList) page;
+        } else if (page instanceof List) {
+            DocumentList posts = new DocumentList();
+            posts.addAll((List) page);
+            return posts;
+        }
         if (model.containsKey("numberOfPages")) {
             return db.getPublishedPosts(true);
         } else {
@@ -17,4 +28,12 @@ public class PublishedPostsExtractor implements ModelExtractor<DocumentList> {
         }
     }
 
+    /**
+     * The posts only depend on the page when it is a page of a paginated index.
+     */
+    @Override
+    public boolean isPageDependent(Map model) {
+        return model.containsKey(ModelAttributes.PUBLISHED_POSTS) || model.containsKey("numberOfPages");
+    }
+
 }
\ No newline at end of file
@@ -2,14 +2,25 @@ package org.jbake.template.model;
 
 import org.jbake.app.ContentStore;
 import org.jbake.app.DocumentList;
+import org.jbake.model.ModelAttributes;
 import org.jbake.template.ModelExtractor;
 
+import java.util.List;
 import java.util.Map;
 
 public class TagPostsExtractor implements ModelExtractor<DocumentList> {
 
     @Override
     public DocumentList get(ContentStore db, Map model, String key) {
+        Object page = model.get(ModelAttributes.TAG_POSTS);
+        if (page instanceof DocumentList) {
+            // the posts of the current tag page
+            return (DocumentList) page;
+        } else if (page instanceof List) {
+            DocumentList posts = new DocumentList();
+            posts.addAll((List) page);
+            return posts;
+        }
         String tag = null;
         TemplateModel templateModel = new TemplateModel();
         templateModel.putAll(model);
@@ -3,18 +3,26 @@ package org.jbake.template.model;
 import org.jbake.app.ContentStore;
 import org.jbake.app.DocumentList;
 import org.jbake.app.FileUtil;
+import org.jbake.model.DocumentModel;
+import org.jbake.model.DocumentTypes;
 import org.jbake.template.ModelExtractor;
 
+import java.util.List;
 import java.util.Map;
+import java.util.TreeMap;
 
 import static org.jbake.app.configuration.PropertyList.OUTPUT_EXTENSION;
 import static org.jbake.app.configuration.PropertyList.TAG_PATH;
 
 
+/**
+ * Builds the model of all tags: their name, uri and number of tagged posts and documents, from a single query of the
+ * tags of the published documents. The lists of tagged posts and documents are only queried when a template reads them.
+ */
 public class TagsExtractor implements ModelExtractor<DocumentList> {
 
     @Override
-    public DocumentList get(ContentStore db, Map model, String key) {
+    public DocumentList get(final ContentStore db, Map model, String key) {
         DocumentList<TemplateModel> dl = new DocumentList<>();
         TemplateModel templateModel = new TemplateModel();
         templateModel.putAll(model);
@@ -22,19 +30,66 @@ public class TagsExtractor implements ModelExtractor<DocumentList> {
 
         String tagPath = config.get(TAG_PATH.getKey().replace(".", "_")).toString();
 
-        for (String tag : db.getAllTags()) {
+        for (Map.Entry<String, int[]> entry : countTags(db).entrySet()) {
             TemplateModel newTag = new TemplateModel();
-            String tagName = tag;
+            final String tagName = entry.getKey();
+            int postCount = entry.getValue()[0];
+            int documentCount = entry.getValue()[1];
             newTag.setName(tagName);
 
-            String uri = tagPath + FileUtil.URI_SEPARATOR_CHAR + tag + config.get(OUTPUT_EXTENSION.getKey().replace(".", "_")).toString();
+            String uri = tagPath + FileUtil.URI_SEPARATOR_CHAR + tagName + config.get(OUTPUT_EXTENSION.getKey().replace(".", "_")).toString();
 
             newTag.setUri(uri);
-            newTag.setTaggedPosts(db.getPublishedPostsByTag(tagName));
-            newTag.setTaggedDocuments(db.getPublishedDocumentsByTag(tagName));
-            dl.push(newTag);
+            newTag.setTaggedPostsCount(postCount);
+            newTag.setTaggedDocumentsCount(documentCount);
+            newTag.setTaggedPosts(new LazyDocumentList<DocumentModel>(postCount) {
+                @Override
+                protected List<DocumentModel> load() {
+                    return db.getPublishedPostsByTag(tagName);
+                }
+            });
+            newTag.setTaggedDocuments(new LazyDocumentList<DocumentModel>(documentCount) {
+                @Override
+                protected List<DocumentModel> load() {
+                    return db.getPublishedDocumentsByTag(tagName);
+                }
+            });
+            dl.add(newTag);
         }
         return dl;
     }
 
+    /**
+     * Counts the published posts and documents of every tag.
+     *
+     * @return the number of posts and documents keyed by tag, sorted by tag
+     */
+    private Map<String, int[]> countTags(ContentStore db) {
+        Map<String, int[]> counts = new TreeMap<>();
+        for (DocumentModel document : db.getPublishedDocumentTags()) {
+            String type = document.getType();
+            String[] tags = document.getTags();
+            if (!DocumentTypes.contains(type) || tags == null) {
+                continue;
+            }
+            for (String tag : tags) {
+                int[] count = counts.get(tag);
+                if (count == null) {
+                    count = new int[2];
+                    counts.put(tag, count);
+                }
+                if ("post".equals(type)) {
+                    count[0]++;
+                }
+                count[1]++;
+            }
+        }
+        return counts;
+    }
+
+    @Override
+    public boolean isPageDependent(Map model) {
+        return false;
+    }
+
 }
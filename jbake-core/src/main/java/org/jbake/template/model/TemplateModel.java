@@ -1,5 +1,6 @@
 package org.jbake.template.model;
 
+import org.jbake.app.AssetManifest;
 import org.jbake.app.DocumentList;
 import org.jbake.model.BaseModel;
 import org.jbake.model.DocumentModel;
@@ -7,6 +8,7 @@ import org.jbake.model.ModelAttributes;
 import org.jbake.template.DelegatingTemplateEngine;
 
 import java.io.Writer;
+import java.util.List;
 import java.util.Map;
 
 public class TemplateModel extends BaseModel {
@@ -66,18 +68,42 @@ public class TemplateModel extends BaseModel {
         put(ModelAttributes.TAG, tag);
     }
 
-    public void setTaggedPosts(DocumentList taggedPosts) {
+    public void setTaggedPosts(List taggedPosts) {
         put(ModelAttributes.TAGGED_POSTS, taggedPosts);
     }
 
-    public void setTaggedDocuments(DocumentList taggedDocuments) {
+    public void setTaggedDocuments(List taggedDocuments) {
         put(ModelAttributes.TAGGED_DOCUMENTS, taggedDocuments);
     }
 
+    public void setTaggedPostsCount(int count) {
+        put(ModelAttributes.TAGGED_POSTS_COUNT, count);
+    }
+
+    public void setTaggedDocumentsCount(int count) {
+        put(ModelAttributes.TAGGED_DOCUMENTS_COUNT, count);
+    }
+
+    public void setTagPosts(DocumentList tagPosts) {
+        put(ModelAttributes.TAG_POSTS, tagPosts);
+    }
+
+    public void setPublishedPosts(DocumentList publishedPosts) {
+        put(ModelAttributes.PUBLISHED_POSTS, publishedPosts);
+    }
+
     public void setVersion(String version) {
         put(ModelAttributes.VERSION, version);
     }
 
+    public AssetManifest getAssetManifest() {
+        return (AssetManifest) get(ModelAttributes.ASSET_MANIFEST);
+    }
+
+    public void setAssetManifest(AssetManifest assetManifest) {
+        put(ModelAttributes.ASSET_MANIFEST, assetManifest);
+    }
+
     public Writer getWriter() {
         return (Writer) get(ModelAttributes.OUT);
     }
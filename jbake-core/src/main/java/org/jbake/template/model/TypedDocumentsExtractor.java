@@ -21,4 +21,9 @@ public class TypedDocumentsExtractor implements ModelExtractor<DocumentList> {
         }
     }
 
+    @Override
+    public boolean isPageDependent(Map model) {
+        return false;
+    }
+
 }
\ No newline at end of file
@@ -0,0 +1,64 @@
+package org.jbake.util;
+
+import org.jbake.model.DocumentModel;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Date;
+
+/**
+ * Builds a SHA-1 fingerprint over the inputs of a rendered output, so unchanged outputs can be detected
+ * without rendering them.
+ */
+public class Fingerprint {
+
+    private static final char SEPARATOR = '\u0000';
+
+    private final MessageDigest digest;
+
+    public Fingerprint() {
+        try {
+            digest = MessageDigest.getInstance("SHA-1");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-1 is not available", e);
+        }
+    }
+
+    public Fingerprint add(Object value) {
+        String text;
+        if (value == null) {
+            text = "";
+        } else if (value instanceof Date) {
+            text = String.valueOf(((Date) value).getTime());
+        } else {
+            text = value.toString();
+        }
+        digest.update(text.getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) SEPARATOR);
+        return this;
+    }
+
+    /**
+     * Adds the attributes of a document which identify its content and its position in listings.
+     *
+     * @param document the document
+     * @return this fingerprint
+     */
+    public Fingerprint add(DocumentModel document) {
+        return add(document.getType())
+            .add(document.getSourceuri())
+            .add(document.getSha1())
+            .add(document.getDate())
+            .add(document.getStatus());
+    }
+
+    public String toHex() {
+        byte[] hash = digest.digest();
+        StringBuilder sb = new StringBuilder(hash.length * 2);
+        for (byte b : hash) {
+            sb.append(String.format("%02x", b));
+        }
+        return sb.toString();
+    }
+}
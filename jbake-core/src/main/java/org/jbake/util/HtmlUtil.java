@@ -1,5 +1,6 @@
 package org.jbake.util;
 
+import org.jbake.app.ImageDerivatives;
 import org.jbake.app.configuration.JBakeConfiguration;
 import org.jbake.model.DocumentModel;
 import org.jsoup.Jsoup;
@@ -7,6 +8,8 @@ import org.jsoup.nodes.Document;
 import org.jsoup.nodes.Element;
 import org.jsoup.select.Elements;
 
+import java.io.File;
+
 /**
  * @author Manik Magar
  */
@@ -41,6 +44,81 @@ public class HtmlUtil {
         fileContents.setBody(document.body().html());
     }
 
+    /**
+     * Adds a srcset listing the variants generated by {@link ImageDerivatives} to all img elements showing a local
+     * image, unless they have a srcset already. Should be called after {@link #fixImageSourceUrls}, as the variants
+     * are found next to the image.
+     * <p>
+     * Only variants narrower than the image are listed, followed by the image itself at its own width, as wider
+     * variants are mere copies of it. If the image is not found in the asset or content folder, all variants are listed.
+     *
+     * @param fileContents  Map representing file contents
+     * @param configuration Configuration object
+     */
+    public static void addImageSrcset(DocumentModel fileContents, JBakeConfiguration configuration) {
+        ImageDerivatives derivatives = new ImageDerivatives(configuration);
+        String siteHost = configuration.getSiteHost();
+
+        Document document = Jsoup.parseBodyFragment(fileContents.getBody());
+        boolean changed = false;
+        for (Element img : document.getElementsByTag("img")) {
+            String source = img.attr("src");
+            if (img.hasAttr("srcset") || !isLocal(source, siteHost) || !derivatives.accepts(source)) {
+                continue;
+            }
+            int imageWidth = ImageDerivatives.readWidth(findImage(configuration, source, siteHost));
+            StringBuilder srcset = new StringBuilder();
+            for (int width : configuration.getImgDerivativeWidths()) {
+                if (imageWidth > 0 && width >= imageWidth) {
+                    continue;
+                }
+                if (srcset.length() > 0) {
+                    srcset.append(", ");
+                }
+                srcset.append(ImageDerivatives.derivativePath(source, width)).append(' ').append(width).append('w');
+            }
+            if (srcset.length() == 0) {
+                continue;
+            }
+            if (imageWidth > 0) {
+                srcset.append(", ").append(source).append(' ').append(imageWidth).append('w');
+            }
+            img.attr("srcset", srcset.toString());
+            changed = true;
+        }
+
+        if (changed) {
+            //Use body().html() to prevent adding <body></body> from parsed fragment.
+            fileContents.setBody(document.body().html());
+        }
+    }
+
+    private static File findImage(JBakeConfiguration configuration, String source, String siteHost) {
+        String path = source;
+        if (siteHost != null && !siteHost.isEmpty() && path.startsWith(siteHost)) {
+            path = path.substring(siteHost.length());
+        }
+        while (path.startsWith("/")) {
+            path = path.substring(1);
+        }
+        for (File folder : new File[]{configuration.getAssetFolder(), configuration.getContentFolder()}) {
+            if (folder != null && new File(folder, path).isFile()) {
+                return new File(folder, path);
+            }
+        }
+        return null;
+    }
+
+    private static boolean isLocal(String source, String siteHost) {
+        if (source.isEmpty() || source.contains("?") || source.contains("#") || source.startsWith("data:")) {
+            return false;
+        }
+        if (source.startsWith("http://") || source.startsWith("https://") || source.startsWith("//")) {
+            return siteHost != null && !siteHost.isEmpty() && source.startsWith(siteHost);
+        }
+        return true;
+    }
+
     private static String getDocumentUri(DocumentModel fileContents) {
         String uri = fileContents.getUri();
 
@@ -39,6 +39,32 @@ public class PagingHelper {
         }
     }
 
+    /**
+     * @param currentPageNumber the current page
+     * @param fileName          the file name of the first page
+     * @return the file name of the next page relative to the folder of the first page, or null on the last page
+     */
+    public String getNextFileName(int currentPageNumber, String fileName) throws URISyntaxException {
+        if (currentPageNumber < getNumberOfPages()) {
+            return getCurrentFileName(currentPageNumber + 1, fileName);
+        } else {
+            return null;
+        }
+    }
+
+    /**
+     * @param currentPageNumber the current page
+     * @param fileName          the file name of the first page
+     * @return the file name of the previous page relative to the folder of the first page, or null on the first page
+     */
+    public String getPreviousFileName(int currentPageNumber, String fileName) throws URISyntaxException {
+        if (isFirstPage(currentPageNumber)) {
+            return null;
+        } else {
+            return getCurrentFileName(currentPageNumber - 1, fileName);
+        }
+    }
+
     private boolean isFirstPage(int page) {
         return page == 1;
     }
@@ -0,0 +1,67 @@
+package org.jbake.util;
+
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Runs a batch of independent tasks on a fixed number of threads and collects their failures.
+ * <p>
+ * Batches with a single task, or a thread count of one, are run on the calling thread.
+ */
+public class ParallelExecutor {
+
+    private ParallelExecutor() {
+    }
+
+    /**
+     * Runs all tasks and waits for them to complete.
+     *
+     * @param threads the maximum number of threads to use
+     * @param name    a name used for the worker threads
+     * @param tasks   the tasks to run
+     * @return the failures of all tasks in the order of the tasks, empty if all tasks succeeded
+     */
+    public static List<Throwable> run(int threads, String name, List<? extends Callable<?>> tasks) {
+        List<Throwable> errors = new LinkedList<>();
+        int poolSize = Math.min(threads, tasks.size());
+
+        if (poolSize <= 1) {
+            for (Callable<?> task : tasks) {
+                try {
+                    task.call();
+                } catch (Exception e) {
+                    errors.add(e);
+                }
+            }
+            return errors;
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(poolSize, new NamedThreadFactory(name));
+        try {
+            List<Future<?>> futures = new ArrayList<>(tasks.size());
+            for (Callable<?> task : tasks) {
+                futures.add(executor.submit(task));
+            }
+            for (Future<?> future : futures) {
+                try {
+                    future.get();
+                } catch (ExecutionException e) {
+                    errors.add(e.getCause());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    errors.add(e);
+                    break;
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        return errors;
+    }
+}
@@ -0,0 +1,203 @@
+package org.jbake.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Collects how long rendering takes per output file, per template and per model extractor during a bake, and reports
+ * the slowest of them. Rendering happens on several threads and model extractors are shared by all template engines,
+ * so the timings are collected by a single instance.
+ * <p>
+ * Timings are only collected between {@link #start()} and {@link #stop()}. Otherwise {@link #begin()} and the record
+ * methods do nothing, so rendering is not slowed down when no report is wanted.
+ */
+public class RenderTimings {
+
+    private static final long NANOS_PER_MILLI = 1000000L;
+
+    private volatile boolean enabled;
+    private final ConcurrentMap<String, Timing> outputs = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Timing> templates = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Timing> extractors = new ConcurrentHashMap<>();
+
+    private static class Loader {
+        private static final RenderTimings INSTANCE = new RenderTimings();
+    }
+
+    public static RenderTimings getInstance() {
+        return Loader.INSTANCE;
+    }
+
+    RenderTimings() {
+    }
+
+    /**
+     * Clears the timings of a previous bake and starts collecting.
+     */
+    public void start() {
+        outputs.clear();
+        templates.clear();
+        extractors.clear();
+        enabled = true;
+    }
+
+    /**
+     * Stops collecting, the timings collected so far are kept for the report.
+     */
+    public void stop() {
+        enabled = false;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * @return the start time to pass to a record method, 0 if timings are not collected
+     */
+    public long begin() {
+        return enabled ? System.nanoTime() : 0;
+    }
+
+    /**
+     * @param path  the output file
+     * @param start the value returned by {@link #begin()} before rendering it
+     */
+    public void recordOutput(String path, long start) {
+        record(outputs, path, start);
+    }
+
+    /**
+     * @param templateName the template
+     * @param start        the value returned by {@link #begin()} before rendering it
+     */
+    public void recordTemplate(String templateName, long start) {
+        record(templates, templateName, start);
+    }
+
+    /**
+     * @param key   the key of the model extractor
+     * @param start the value returned by {@link #begin()} before calling it
+     */
+    public void recordExtractor(String key, long start) {
+        record(extractors, key, start);
+    }
+
+    private void record(ConcurrentMap<String, Timing> timings, String name, long start) {
+        if (!enabled || start == 0) {
+            return;
+        }
+        long duration = System.nanoTime() - start;
+        Timing timing = timings.get(name);
+        if (timing == null) {
+            Timing created = new Timing(name);
+            timing = timings.putIfAbsent(name, created);
+            if (timing == null) {
+                timing = created;
+            }
+        }
+        timing.add(duration);
+    }
+
+    /**
+     * Builds a report of the slowest outputs, templates and model extractors, listing the 50th, 95th and 99th
+     * percentile of the render time of every template.
+     *
+     * @param top the number of entries per list
+     * @return the report, one entry per line
+     */
+    public String report(int top) {
+        StringBuilder sb = new StringBuilder();
+        sb.append("Slowest outputs:");
+        for (Timing timing : slowest(outputs, top)) {
+            sb.append(String.format(Locale.ENGLISH, "%n  %8d ms  %s", millis(timing.total()), timing.name));
+        }
+        sb.append(String.format("%nSlowest templates:"));
+        for (Timing timing : slowest(templates, top)) {
+            sb.append(String.format(Locale.ENGLISH, "%n  %8d ms  %s (%d renders, p50 %d ms, p95 %d ms, p99 %d ms)",
+                millis(timing.total()), timing.name, timing.count(),
+                millis(timing.percentile(50)), millis(timing.percentile(95)), millis(timing.percentile(99))));
+        }
+        sb.append(String.format("%nSlowest model extractors:"));
+        for (Timing timing : slowest(extractors, top)) {
+            sb.append(String.format(Locale.ENGLISH, "%n  %8d ms  %s (%d calls)", millis(timing.total()), timing.name, timing.count()));
+        }
+        return sb.toString();
+    }
+
+    /**
+     * @param templateName the template
+     * @param percentile   the percentile, between 1 and 100
+     * @return the render time of the template at the percentile in milliseconds, 0 if it was not rendered
+     */
+    public long getTemplatePercentile(String templateName, int percentile) {
+        Timing timing = templates.get(templateName);
+        return timing == null ? 0 : millis(timing.percentile(percentile));
+    }
+
+    private static List<Timing> slowest(Map<String, Timing> timings, int top) {
+        List<Timing> sorted = new ArrayList<>(timings.values());
+        Collections.sort(sorted, new Comparator<Timing>() {
+            @Override
+            public int compare(Timing a, Timing b) {
+                int result = Long.compare(b.total(), a.total());
+                return result != 0 ? result : a.name.compareTo(b.name);
+            }
+        });
+        return sorted.subList(0, Math.min(Math.max(0, top), sorted.size()));
+    }
+
+    private static long millis(long nanos) {
+        return nanos / NANOS_PER_MILLI;
+    }
+
+    private static final class Timing {
+        private final String name;
+        private long[] durations = new long[4];
+        private int count;
+        private long total;
+
+        private Timing(String name) {
+            this.name = name;
+        }
+
+        private synchronized void add(long duration) {
+            if (count == durations.length) {
+                long[] grown = new long[count * 2];
+                System.arraycopy(durations, 0, grown, 0, count);
+                durations = grown;
+            }
+            durations[count++] = duration;
+            total += duration;
+        }
+
+        private synchronized int count() {
+            return count;
+        }
+
+        private synchronized long total() {
+            return total;
+        }
+
+        /**
+         * Nearest rank percentile of the durations.
+         */
+        private synchronized long percentile(int percentile) {
+            if (count == 0) {
+                return 0;
+            }
+            long[] sorted = new long[count];
+            System.arraycopy(durations, 0, sorted, 0, count);
+            Arrays.sort(sorted);
+            int rank = (int) Math.ceil(percentile / 100.0 * count);
+            return sorted[Math.min(count, Math.max(1, rank)) - 1];
+        }
+    }
+}
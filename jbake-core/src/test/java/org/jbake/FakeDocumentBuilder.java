@@ -50,6 +50,23 @@ public class FakeDocumentBuilder {
         return this;
     }
 
+    public FakeDocumentBuilder withUri(String uri) {
+        fileModel.setSourceUri(uri);
+        fileModel.setUri(uri);
+        hasSourceUri = true;
+        return this;
+    }
+
+    public FakeDocumentBuilder withTitle(String title) {
+        fileModel.setTitle(title);
+        return this;
+    }
+
+    public FakeDocumentBuilder withTags(String... tags) {
+        fileModel.setTags(tags);
+        return this;
+    }
+
     public FakeDocumentBuilder withCached(boolean cached) {
         fileModel.setCached(cached);
         return this;
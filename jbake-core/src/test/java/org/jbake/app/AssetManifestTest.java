@@ -0,0 +1,68 @@
+package org.jbake.app;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class AssetManifestTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void shouldInsertHashBeforeExtension() {
+        assertThat(AssetManifest.fingerprintedPath("css/app.css", "3f9a1c02d4e5f6")).isEqualTo("css/app.3f9a1c02d4.css");
+        assertThat(AssetManifest.fingerprintedPath("css/app.min.css", "3f9a1c02d4e5f6")).isEqualTo("css/app.min.3f9a1c02d4.css");
+        assertThat(AssetManifest.fingerprintedPath("LICENSE", "3f9a1c02d4e5f6")).isEqualTo("LICENSE.3f9a1c02d4");
+        assertThat(AssetManifest.fingerprintedPath("img/.hidden", "3f9a1c02d4e5f6")).isEqualTo("img/.hidden.3f9a1c02d4");
+    }
+
+    @Test
+    public void shouldResolveFingerprintedPaths() throws Exception {
+        File css = write("app.css", "body { color: red; }");
+        AssetManifest manifest = new AssetManifest();
+        manifest.add("css/app.css", css, new AssetManifest());
+
+        String expected = AssetManifest.fingerprintedPath("css/app.css", FileUtil.sha1(css));
+        assertThat(manifest.get("css/app.css")).isEqualTo(expected);
+        assertThat(manifest.call("/css/app.css")).isEqualTo("/" + expected);
+        assertThat(manifest.get("css/unknown.css")).isEqualTo("css/unknown.css");
+    }
+
+    @Test
+    public void shouldReuseHashesOfUnchangedAssets() throws Exception {
+        File css = write("app.css", "body { color: red; }");
+        File manifestFile = new File(folder.getRoot(), "asset-manifest.json");
+        AssetManifest manifest = new AssetManifest();
+        manifest.add("css/app.css", css, new AssetManifest());
+        manifest.write(manifestFile);
+
+        AssetManifest previous = AssetManifest.read(manifestFile);
+        assertThat(previous.get("css/app.css")).isEqualTo(manifest.get("css/app.css"));
+
+        // same size and modification time, the hash of the previous bake is used
+        long modified = css.lastModified();
+        write("app.css", "body { color: 000; }");
+        assertThat(css.setLastModified(modified)).isTrue();
+        AssetManifest next = new AssetManifest();
+        next.add("css/app.css", css, previous);
+        assertThat(next.get("css/app.css")).isEqualTo(manifest.get("css/app.css"));
+
+        assertThat(css.setLastModified(modified + 10000)).isTrue();
+        next.add("css/app.css", css, previous);
+        assertThat(next.get("css/app.css")).isNotEqualTo(manifest.get("css/app.css"));
+        assertThat(next.getSignature()).isNotEqualTo(manifest.getSignature());
+    }
+
+    private File write(String name, String content) throws Exception {
+        File file = new File(folder.getRoot(), name);
+        Files.write(file.toPath(), content.getBytes(StandardCharsets.UTF_8));
+        return file;
+    }
+}
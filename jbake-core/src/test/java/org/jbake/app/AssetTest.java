@@ -8,6 +8,7 @@ import org.jbake.app.configuration.ConfigUtil;
 import org.jbake.app.configuration.DefaultJBakeConfiguration;
 import org.jbake.app.configuration.PropertyList;
 import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Assumptions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
@@ -16,9 +17,13 @@ import java.io.File;
 import java.io.FileFilter;
 import java.io.IOException;
 import java.net.URL;
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.Set;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.atLeastOnce;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
@@ -118,6 +123,93 @@ public class AssetTest extends LoggingTest {
         Assertions.assertTrue(asset.getErrors().isEmpty(), "Errors during asset copying");
     }
 
+    @Test
+    public void shouldOnlyCopyChangedAssets() throws Exception {
+        Asset asset = new Asset(config);
+        asset.copy();
+        int copied = asset.getCopiedFiles().size();
+        Assertions.assertTrue(copied > 0, "Assets should be copied");
+
+        File cssFile = new File(folder.toFile(), "css" + File.separatorChar + "bootstrap.min.css");
+        Assertions.assertTrue(cssFile.setLastModified(cssFile.lastModified() - 10000));
+
+        Asset again = new Asset(config);
+        again.copy();
+
+        assertThat(again.getCopiedFiles()).containsExactly(cssFile);
+        assertThat(again.getUnchangedCount()).isEqualTo(copied - 1);
+        assertThat(again.getAssetPaths()).contains("css/bootstrap.min.css").hasSize(copied);
+        Assertions.assertTrue(again.getErrors().isEmpty(), "Errors during asset copying");
+    }
+
+    @Test
+    public void shouldPublishAssetsAsSymbolicLinks() throws Exception {
+        Assumptions.assumeFalse(TestUtils.isWindows(), "Ignore running on Windows");
+        config.setAssetCopyMode("symlink");
+        Asset asset = new Asset(config);
+        asset.copy();
+
+        File cssFile = new File(folder.toFile(), "css" + File.separatorChar + "bootstrap.min.css");
+        Assertions.assertTrue(Files.isSymbolicLink(cssFile.toPath()), "Asset should be a symbolic link");
+        assertThat(Files.readSymbolicLink(cssFile.toPath())).isEqualTo(new File(config.getAssetFolder(), "css" + File.separatorChar + "bootstrap.min.css").toPath().toAbsolutePath());
+        Assertions.assertTrue(asset.getErrors().isEmpty(), "Errors during asset copying");
+
+        config.setAssetCopyMode("copy");
+        new Asset(config).copy();
+        Assertions.assertFalse(Files.isSymbolicLink(cssFile.toPath()), "Asset should be copied after changing the copy mode");
+    }
+
+    @Test
+    public void shouldFallBackToCopyingAssets() throws Exception {
+        config.setAssetCopyMode("hardlink");
+        Asset asset = new Asset(config);
+        asset.copy();
+
+        File cssFile = new File(folder.toFile(), "css" + File.separatorChar + "bootstrap.min.css");
+        File source = new File(config.getAssetFolder(), "css" + File.separatorChar + "bootstrap.min.css");
+        // a hard link where destination and assets share a file system, a copy otherwise
+        assertThat(cssFile).hasSameContentAs(source);
+        Assertions.assertTrue(asset.getErrors().isEmpty(), "Errors during asset copying");
+    }
+
+    @Test
+    public void shouldCloneAssetsOrCopyAllOfThem() throws Exception {
+        config.setAssetCopyMode("clone");
+        Asset asset = new Asset(config);
+        asset.copy();
+
+        File cssFile = new File(folder.toFile(), "css" + File.separatorChar + "bootstrap.min.css");
+        File source = new File(config.getAssetFolder(), "css" + File.separatorChar + "bootstrap.min.css");
+        // a clone where the file system supports it, a copy of every asset otherwise
+        assertThat(cssFile).hasSameContentAs(source);
+        Assertions.assertTrue(asset.getErrors().isEmpty(), "Errors during asset copying");
+        verify(mockAppender, atLeastOnce()).doAppend(captorLoggingEvent.capture());
+        Set<Object> modes = new HashSet<>();
+        for (LoggingEvent event : captorLoggingEvent.getAllValues()) {
+            if ("{} [{}]... done!".equals(event.getMessage())) {
+                modes.add(event.getArgumentArray()[0]);
+            }
+        }
+        assertThat(modes).hasSize(1).isSubsetOf("Cloning", "Copying");
+        assertThat(folder.toFile().list()).noneMatch(name -> name.startsWith(".clone-probe"));
+    }
+
+    @Test
+    public void shouldPublishFingerprintedAssets() throws Exception {
+        config.setAssetFingerprint(true);
+        Asset asset = new Asset(config);
+        AssetManifest manifest = asset.fingerprint();
+        asset.copy();
+
+        String fingerprinted = manifest.get("css/bootstrap.min.css");
+        assertThat(fingerprinted).matches("css/bootstrap\\.min\\.[0-9a-f]{10}\\.css");
+        File cssFile = new File(folder.toFile(), "css" + File.separatorChar + "bootstrap.min.css");
+        assertThat(new File(folder.toFile(), fingerprinted)).hasSameContentAs(cssFile);
+        assertThat(new File(folder.toFile(), config.getAssetFingerprintManifest())).exists();
+        assertThat(asset.getAssetPaths()).contains(fingerprinted, config.getAssetFingerprintManifest());
+        Assertions.assertTrue(asset.getErrors().isEmpty(), "Errors during asset copying");
+    }
+
     @Test
     public void testCopyIgnore() throws Exception {
         File assetFolder = new File(folder.toFile(), "ignoredAssets");
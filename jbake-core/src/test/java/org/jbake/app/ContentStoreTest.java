@@ -125,4 +125,30 @@ public class ContentStoreTest extends ContentStoreIntegrationTest {
         db.deleteAllByDocType(typeWithHyphen);
     }
 
+    @Test
+    public void shouldStoreAndUpdateFingerprints() {
+        assertThat(db.getFingerprint("tag:blog")).isNull();
+
+        db.updateFingerprint("tag:blog", "first");
+        assertEquals("first", db.getFingerprint("tag:blog"));
+
+        db.updateFingerprint("tag:blog", "second");
+        assertEquals("second", db.getFingerprint("tag:blog"));
+
+        db.deleteFingerprints();
+        assertThat(db.getFingerprint("tag:blog")).isNull();
+    }
+
+    @Test
+    public void shouldFindFingerprintsByPrefix() {
+        db.updateFingerprint("template:post.ftl", "post");
+        db.updateFingerprint("template:page.ftl", "page");
+        db.updateFingerprint("tag:blog", "blog");
+
+        assertThat(db.getFingerprints("template:")).containsOnlyKeys("template:post.ftl", "template:page.ftl");
+
+        db.deleteFingerprint("template:page.ftl");
+        assertThat(db.getFingerprints("template:")).containsOnlyKeys("template:post.ftl");
+    }
+
 }
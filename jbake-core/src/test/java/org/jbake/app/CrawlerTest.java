@@ -67,6 +67,27 @@ public class CrawlerTest extends ContentStoreIntegrationTest {
         Assert.assertNotNull(data.get("data"));
     }
 
+    @Test
+    public void shouldCrawlAgainWhenImageVariantsChange() {
+        config.setImgDerivativeSrcset(true);
+        config.setImgDerivativeWidths(320);
+        try {
+            Crawler crawler = new Crawler(db, config);
+            crawler.crawl();
+            String sha1 = db.getDocumentStatus("about.html").get(0).getSha1();
+
+            crawler.crawl();
+            assertThat(db.getDocumentStatus("about.html").get(0).getSha1()).isEqualTo(sha1);
+
+            config.setImgDerivativeWidths(320, 640);
+            crawler.crawl();
+            assertThat(db.getDocumentStatus("about.html").get(0).getSha1()).isNotEqualTo(sha1);
+        } finally {
+            config.setImgDerivativeSrcset(false);
+            config.setImgDerivativeWidths();
+        }
+    }
+
     @Test
     public void renderWithPrettyUrls() {
 
@@ -0,0 +1,92 @@
+package org.jbake.app;
+
+import org.apache.commons.io.FileUtils;
+import org.jbake.FakeDocumentBuilder;
+import org.jbake.model.DocumentTypes;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.util.Calendar;
+import java.util.Locale;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class FeedWriterTest extends ContentStoreIntegrationTest {
+
+    private File destination;
+    private Calendar calendar;
+
+    @Before
+    public void setUpOwn() throws Exception {
+        destination = folder.newFolder("feed" + System.nanoTime());
+        config.setDestinationFolder(destination);
+        config.setSiteHost("http://www.example.org");
+        config.setFeedTitle("Example");
+        config.setFeedMaxEntries(2);
+        calendar = Calendar.getInstance(Locale.ENGLISH);
+        calendar.set(2020, Calendar.JANUARY, 1);
+        DocumentTypes.addDocumentType("post");
+    }
+
+    @Test
+    public void shouldWriteNewestPostsAsAtom() throws Exception {
+        config.setFeedFormat(FeedWriter.ATOM);
+        post("blog/first.html", "First");
+        post("blog/second.html", "Second");
+        post("blog/third.html", "Fish & Chips");
+
+        new Renderer(db, config).renderFeed("feed.xml");
+
+        String feed = read("feed.xml");
+        assertThat(feed).contains("<feed xmlns=\"http://www.w3.org/2005/Atom\"><title>Example</title>");
+        assertThat(feed).contains("<link rel=\"self\" href=\"http://www.example.org/feed.xml\"");
+        assertThat(feed).contains("<title>Fish &amp; Chips</title><link href=\"http://www.example.org/blog/third.html\"");
+        assertThat(feed).contains("blog/second.html").doesNotContain("blog/first.html");
+        assertThat(feed.indexOf("third.html")).isLessThan(feed.indexOf("second.html"));
+    }
+
+    @Test
+    public void shouldWriteNewestPostsAsRss() throws Exception {
+        config.setFeedFormat(FeedWriter.RSS);
+        post("blog/first.html", "First");
+        post("blog/second.html", "Second");
+        post("blog/third.html", "Third");
+
+        new Renderer(db, config).renderFeed("feed.xml");
+
+        String feed = read("feed.xml");
+        assertThat(feed).contains("<rss version=\"2.0\" xmlns:atom=\"http://www.w3.org/2005/Atom\"><channel><title>Example</title>");
+        assertThat(feed).contains("<item><title>Third</title><link>http://www.example.org/blog/third.html</link>");
+        assertThat(feed).contains("<pubDate>").contains("blog/second.html").doesNotContain("blog/first.html");
+    }
+
+    @Test
+    public void shouldOnlyRewriteTagFeedsWhoseNewestPostsChanged() throws Exception {
+        config.setFeedFormat(FeedWriter.ATOM);
+        post("blog/first.html", "First", "java", "groovy");
+        post("blog/second.html", "Second", "java");
+        post("blog/third.html", "Third", "java");
+
+        assertThat(new Renderer(db, config).renderTagFeeds("tags")).isEqualTo(2);
+        assertThat(read("tags/java.xml")).contains("third.html").contains("second.html").doesNotContain("first.html");
+        assertThat(read("tags/java.xml")).contains("<title>Example - java</title>");
+        assertThat(read("tags/groovy.xml")).contains("first.html");
+        assertThat(new Renderer(db, config).renderTagFeeds("tags")).isZero();
+
+        post("blog/fourth.html", "Fourth", "groovy");
+        assertThat(new Renderer(db, config).renderTagFeeds("tags")).isEqualTo(1);
+        assertThat(read("tags/groovy.xml")).contains("fourth.html").contains("first.html");
+    }
+
+    private void post(String uri, String title, String... tags) {
+        calendar.add(Calendar.DAY_OF_MONTH, 1);
+        new FakeDocumentBuilder("post").withUri(uri).withTitle(title).withTags(tags).withStatus("published")
+            .withDate(calendar.getTime()).build();
+    }
+
+    private String read(String fileName) throws Exception {
+        return FileUtils.readFileToString(new File(destination, fileName), StandardCharsets.UTF_8);
+    }
+}
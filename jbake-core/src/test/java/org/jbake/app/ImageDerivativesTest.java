@@ -0,0 +1,141 @@
+package org.jbake.app;
+
+import org.jbake.app.configuration.JBakeConfiguration;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class ImageDerivativesTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private File destination;
+    private JBakeConfiguration config;
+    private ContentStore db;
+    private final Map<String, String> fingerprints = new HashMap<>();
+
+    @Before
+    public void setUp() throws Exception {
+        destination = folder.newFolder("output");
+        config = mock(JBakeConfiguration.class);
+        when(config.getDestinationFolder()).thenReturn(destination);
+        when(config.getSourceFolder()).thenReturn(folder.getRoot());
+        when(config.getImgDerivativeCache()).thenReturn("image-cache");
+        when(config.getImgDerivativeWidths()).thenReturn(Arrays.asList(100, 400));
+        when(config.getImgDerivativeExtensions()).thenReturn(Arrays.asList("jpg", "png"));
+        when(config.getImgDerivativeQuality()).thenReturn(85);
+        when(config.getRenderThreads()).thenReturn(2);
+
+        db = mock(ContentStore.class);
+        when(db.getFingerprints(ImageDerivatives.FINGERPRINT_PREFIX)).thenAnswer(invocation -> new HashMap<>(fingerprints));
+        doAnswer(invocation -> fingerprints.put(invocation.getArgument(0), invocation.getArgument(1)))
+            .when(db).updateFingerprint(anyString(), anyString());
+        doAnswer(invocation -> fingerprints.remove(invocation.getArgument(0)))
+            .when(db).deleteFingerprint(anyString());
+    }
+
+    @Test
+    public void shouldInsertWidthBeforeExtension() {
+        assertThat(ImageDerivatives.derivativePath("img/photo.jpg", 640)).isEqualTo("img/photo-640w.jpg");
+        assertThat(ImageDerivatives.derivativePath("/blog/2017/05/first.png", 320)).isEqualTo("/blog/2017/05/first-320w.png");
+        assertThat(ImageDerivatives.derivativePath("img/photo", 640)).isEqualTo("img/photo-640w");
+    }
+
+    @Test
+    public void shouldGenerateVariantsWithoutScalingUp() throws Exception {
+        image("img/photo.jpg", 300, 200);
+        write("css/site.css");
+
+        ImageDerivatives derivatives = new ImageDerivatives(config);
+        List<Throwable> errors = derivatives.generate(Arrays.asList("img/photo.jpg", "css/site.css"), db);
+
+        assertThat(errors).isEmpty();
+        assertThat(derivatives.getDerivativePaths()).containsOnly("img/photo-100w.jpg", "img/photo-400w.jpg");
+        BufferedImage small = ImageIO.read(new File(destination, "img/photo-100w.jpg"));
+        assertThat(small.getWidth()).isEqualTo(100);
+        assertThat(small.getHeight()).isEqualTo(67);
+        BufferedImage large = ImageIO.read(new File(destination, "img/photo-400w.jpg"));
+        assertThat(large.getWidth()).isEqualTo(300);
+        assertThat(fingerprints).containsOnlyKeys(ImageDerivatives.FINGERPRINT_PREFIX + "img/photo.jpg");
+    }
+
+    @Test
+    public void shouldOnlyGenerateVariantsOfChangedImages() throws Exception {
+        image("img/logo.png", 800, 400);
+        ImageDerivatives first = new ImageDerivatives(config);
+        first.generate(Collections.singletonList("img/logo.png"), db);
+        assertThat(first.getGeneratedCount()).isEqualTo(2);
+
+        // the variants are still in the destination folder
+        ImageDerivatives second = new ImageDerivatives(config);
+        second.generate(Collections.singletonList("img/logo.png"), db);
+        assertThat(second.getGeneratedCount()).isZero();
+
+        // the variants are taken from the cache folder
+        assertThat(new File(destination, "img/logo-100w.png").delete()).isTrue();
+        ImageDerivatives third = new ImageDerivatives(config);
+        third.generate(Collections.singletonList("img/logo.png"), db);
+        assertThat(third.getGeneratedCount()).isZero();
+        assertThat(new File(destination, "img/logo-100w.png")).exists();
+
+        image("img/logo.png", 600, 400);
+        ImageDerivatives fourth = new ImageDerivatives(config);
+        fourth.generate(Collections.singletonList("img/logo.png"), db);
+        assertThat(fourth.getGeneratedCount()).isEqualTo(2);
+        assertThat(ImageIO.read(new File(destination, "img/logo-100w.png")).getHeight()).isEqualTo(67);
+
+        ImageDerivatives fifth = new ImageDerivatives(config);
+        fifth.generate(Collections.<String>emptyList(), db);
+        assertThat(fingerprints).isEmpty();
+    }
+
+    @Test
+    public void shouldKeepAspectRatioOfSubsampledImages() throws Exception {
+        when(config.getImgDerivativeWidths()).thenReturn(Collections.singletonList(100));
+        image("img/panorama.png", 2000, 1001);
+
+        ImageDerivatives derivatives = new ImageDerivatives(config);
+        List<Throwable> errors = derivatives.generate(Collections.singletonList("img/panorama.png"), db);
+
+        assertThat(errors).isEmpty();
+        BufferedImage small = ImageIO.read(new File(destination, "img/panorama-100w.png"));
+        assertThat(small.getWidth()).isEqualTo(100);
+        assertThat(small.getHeight()).isEqualTo(50);
+    }
+
+    private File image(String path, int width, int height) throws Exception {
+        File file = new File(destination, path);
+        file.getParentFile().mkdirs();
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        for (int x = 0; x < width; x++) {
+            for (int y = 0; y < height; y++) {
+                image.setRGB(x, y, (x * 255 / width) << 16 | (y * 255 / height) << 8);
+            }
+        }
+        ImageIO.write(image, path.endsWith(".png") ? "png" : "jpg", file);
+        return file;
+    }
+
+    private void write(String path) throws Exception {
+        File file = new File(destination, path);
+        file.getParentFile().mkdirs();
+        assertThat(file.createNewFile()).isTrue();
+    }
+}
@@ -17,6 +17,7 @@ import static org.hamcrest.core.Is.is;
 import java.io.BufferedReader;
 import java.io.BufferedWriter;
 import java.io.File;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
@@ -72,6 +73,162 @@ public class OvenTest {
         assertThat(oven.getErrors()).isEmpty();
     }
 
+    @Test
+    public void shouldNotRenderWhenTemplateDoesNotCompile() throws Exception {
+        Path templates = root.resolve("templates");
+        FileUtils.copyDirectory(new File(sourceFolder, "freemarkerTemplates"), templates.toFile());
+        Files.write(templates.resolve("post.ftl"), "<#if>broken".getBytes(StandardCharsets.UTF_8));
+        configuration.setTemplateFolder(templates.toFile());
+        configuration.setContentFolder(new File(sourceFolder, "content"));
+        configuration.setAssetFolder(new File(sourceFolder, "assets"));
+
+        final Oven oven = new Oven(configuration);
+        oven.bake();
+
+        assertThat(oven.getErrors()).hasSize(1);
+        assertThat(oven.getErrors().get(0)).hasMessageContaining("post.ftl");
+        assertThat(new File(configuration.getDestinationFolder(), "index.html")).doesNotExist();
+    }
+
+    @Test
+    public void shouldNotCompileTemplateOfDisabledOutput() throws Exception {
+        Path templates = root.resolve("templates");
+        FileUtils.copyDirectory(new File(sourceFolder, "freemarkerTemplates"), templates.toFile());
+        for (String template : new String[]{"archive.ftl", "tags.ftl", "tags-index.ftl", "sitemap.ftl", "error404.ftl"}) {
+            Files.write(templates.resolve(template), "<#if>broken".getBytes(StandardCharsets.UTF_8));
+        }
+        configuration.setTemplateFolder(templates.toFile());
+        configuration.setContentFolder(new File(sourceFolder, "content"));
+        configuration.setAssetFolder(new File(sourceFolder, "assets"));
+        configuration.setProperty(PropertyList.RENDER_ARCHIVE.getKey(), false);
+        configuration.setProperty(PropertyList.RENDER_TAGS.getKey(), false);
+        configuration.setProperty(PropertyList.RENDER_TAGS_INDEX.getKey(), true);
+        configuration.setProperty(PropertyList.RENDER_SITEMAP.getKey(), false);
+        configuration.setProperty(PropertyList.RENDER_ERROR404.getKey(), false);
+
+        final Oven oven = new Oven(configuration);
+        oven.bake();
+
+        assertThat(oven.getErrors()).isEmpty();
+        assertThat(new File(configuration.getDestinationFolder(), "index.html")).isFile();
+    }
+
+    @Test
+    public void shouldSkipUnchangedOutputsWhenBakingOutputGenerations() throws Exception {
+        configuration.setContentFolder(new File(sourceFolder, "content"));
+        configuration.setAssetFolder(new File(sourceFolder, "assets"));
+        configuration.setDatabaseStore("plocal");
+        configuration.setDatabasePath(root.resolve("cache").toAbsolutePath().toString());
+        configuration.setDestinationGenerations(true);
+        File destination = configuration.getDestinationFolder();
+
+        final Oven first = new Oven(configuration);
+        first.bake();
+        assertThat(first.getErrors()).isEmpty();
+        assertThat(first.getUtensils().getRenderer().getWrittenCount()).isGreaterThan(0);
+
+        final Oven second = new Oven(configuration);
+        second.bake();
+        Renderer renderer = second.getUtensils().getRenderer();
+
+        assertThat(second.getErrors()).isEmpty();
+        assertThat(configuration.getDestinationFolder()).isEqualTo(destination);
+        assertThat(renderer.getSkippedCount()).isGreaterThan(0);
+        assertThat(renderer.getWrittenCount()).isZero();
+        assertThat(renderer.getUnchangedCount()).isZero();
+        assertThat(new File(destination, "index.html")).isFile();
+    }
+
+    @Test
+    public void shouldLinkFingerprintedAssetsOfCurrentBakeWhenBakingOutputGenerations() throws Exception {
+        Path templates = root.resolve("templates");
+        FileUtils.copyDirectory(new File(sourceFolder, "freemarkerTemplates"), templates.toFile());
+        Files.write(templates.resolve("page.ftl"), "<link href=\"${asset(\"css/app.css\")}\">".getBytes(StandardCharsets.UTF_8));
+        Path content = root.resolve("content");
+        Files.createDirectories(content);
+        Files.write(content.resolve("about.html"), "title=About\ndate=2013-02-27\ntype=page\nstatus=published\n~~~~~~\n\nAll about stuff!".getBytes(StandardCharsets.UTF_8));
+        Path css = root.resolve("assets").resolve("css").resolve("app.css");
+        Files.createDirectories(css.getParent());
+        Files.write(css, "body { color: red; }".getBytes(StandardCharsets.UTF_8));
+        configuration.setTemplateFolder(templates.toFile());
+        configuration.setContentFolder(content.toFile());
+        configuration.setAssetFolder(root.resolve("assets").toFile());
+        configuration.setDatabaseStore("plocal");
+        configuration.setDatabasePath(root.resolve("cache").toAbsolutePath().toString());
+        configuration.setDestinationGenerations(true);
+        configuration.setAssetFingerprint(true);
+        File destination = configuration.getDestinationFolder();
+
+        final Oven first = new Oven(configuration);
+        first.bake();
+        assertThat(first.getErrors()).isEmpty();
+        String firstPath = linkedPath(new File(destination, "about.html"));
+        assertThat(firstPath).matches("css/app\\.[0-9a-f]{10}\\.css");
+        assertThat(new File(destination, firstPath)).isFile();
+
+        Files.write(css, "body { color: blue; }".getBytes(StandardCharsets.UTF_8));
+        assertThat(css.toFile().setLastModified(css.toFile().lastModified() + 10000)).isTrue();
+        final Oven second = new Oven(configuration);
+        second.bake();
+
+        assertThat(second.getErrors()).isEmpty();
+        String secondPath = linkedPath(new File(destination, "about.html"));
+        assertThat(secondPath).matches("css/app\\.[0-9a-f]{10}\\.css").isNotEqualTo(firstPath);
+        assertThat(new File(destination, secondPath)).isFile();
+    }
+
+    @Test
+    public void shouldDeleteCompressedCopyOfUnpublishedPage() throws Exception {
+        Path content = root.resolve("content");
+        Files.createDirectories(content);
+        Path page = content.resolve("about.html");
+        Files.write(page, "title=About\ndate=2013-02-27\ntype=page\nstatus=published\n~~~~~~\n\nAll about stuff!".getBytes(StandardCharsets.UTF_8));
+        configuration.setContentFolder(content.toFile());
+        configuration.setAssetFolder(new File(sourceFolder, "assets"));
+        configuration.setRenderGzip(true);
+        File published = new File(configuration.getDestinationFolder(), "about.html");
+        File compressed = new File(configuration.getDestinationFolder(), "about.html.gz");
+
+        final Oven oven = new Oven(configuration);
+        oven.bake();
+        assertThat(oven.getErrors()).isEmpty();
+        assertThat(published).isFile();
+        assertThat(compressed).isFile();
+
+        Files.write(page, "title=About\ndate=2013-02-27\ntype=page\nstatus=draft\n~~~~~~\n\nAll about stuff!".getBytes(StandardCharsets.UTF_8));
+        final Oven unpublished = new Oven(configuration);
+        unpublished.bake();
+
+        assertThat(unpublished.getErrors()).isEmpty();
+        assertThat(published).doesNotExist();
+        assertThat(compressed).doesNotExist();
+    }
+
+    @Test
+    public void shouldCompressUnchangedOutputsWhenCompressionIsEnabled() throws Exception {
+        Path content = root.resolve("content");
+        Files.createDirectories(content);
+        Files.write(content.resolve("about.html"), "title=About\ndate=2013-02-27\ntype=page\nstatus=published\n~~~~~~\n\nAll about stuff!".getBytes(StandardCharsets.UTF_8));
+        configuration.setContentFolder(content.toFile());
+        configuration.setAssetFolder(new File(sourceFolder, "assets"));
+        configuration.setDatabaseStore("plocal");
+        configuration.setDatabasePath(root.resolve("cache").toAbsolutePath().toString());
+        File compressed = new File(configuration.getDestinationFolder(), "about.html.gz");
+
+        final Oven oven = new Oven(configuration);
+        oven.bake();
+        assertThat(oven.getErrors()).isEmpty();
+        assertThat(compressed).doesNotExist();
+
+        configuration.setRenderGzip(true);
+        final Oven compressing = new Oven(configuration);
+        compressing.bake();
+
+        assertThat(compressing.getErrors()).isEmpty();
+        assertThat(compressing.getUtensils().getRenderer().getSkippedCount()).isGreaterThan(0);
+        assertThat(compressed).isFile();
+    }
+
     @Test
     public void shouldBakeWithRelativeCustomPaths() throws Exception {
         sourceFolder = TestUtils.getTestResourcesAsSourceFolder("/fixture-custom-relative");
@@ -229,4 +386,10 @@ public class OvenTest {
 
         assertThat(Locale.getDefault(), is(new Locale(language)));
     }
+
+    private String linkedPath(File page) throws Exception {
+        String html = new String(Files.readAllBytes(page.toPath()), StandardCharsets.UTF_8);
+        assertThat(html).startsWith("<link href=\"");
+        return html.substring("<link href=\"".length(), html.indexOf('"', "<link href=\"".length()));
+    }
 }
@@ -0,0 +1,104 @@
+package org.jbake.app;
+
+import org.apache.commons.io.FileUtils;
+import org.jbake.FakeDocumentBuilder;
+import org.jbake.app.output.OutputFiles;
+import org.jbake.model.DocumentTypes;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.util.Calendar;
+import java.util.Locale;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class SitemapWriterTest extends ContentStoreIntegrationTest {
+
+    private File destination;
+    private Calendar calendar;
+
+    @Before
+    public void setUpOwn() throws Exception {
+        destination = folder.newFolder("sitemap" + System.nanoTime());
+        config.setDestinationFolder(destination);
+        config.setSiteHost("http://www.example.org");
+        config.setSitemapMaxUrls(2);
+        calendar = Calendar.getInstance(Locale.ENGLISH);
+        calendar.set(2020, Calendar.JANUARY, 1);
+        DocumentTypes.addDocumentType("post");
+    }
+
+    @Test
+    public void shouldInsertChunkNumberBeforeExtension() {
+        assertThat(SitemapWriter.chunkFileName("sitemap.xml", 2)).isEqualTo("sitemap-2.xml");
+        assertThat(SitemapWriter.chunkFileName("maps/sitemap", 1)).isEqualTo("maps/sitemap-1");
+    }
+
+    @Test
+    public void shouldWriteSingleSitemapWithinLimit() throws Exception {
+        post("blog/first.html", "published");
+        post("blog/draft.html", "draft");
+
+        write();
+
+        String sitemap = read("sitemap.xml");
+        assertThat(sitemap).contains("<urlset xmlns=\"http://www.sitemaps.org/schemas/sitemap/0.9\">");
+        assertThat(sitemap).contains("<url><loc>http://www.example.org/blog/first.html</loc><lastmod>2020-01-02</lastmod></url>");
+        assertThat(sitemap).doesNotContain("draft.html");
+        assertThat(new File(destination, "sitemap-1.xml")).doesNotExist();
+    }
+
+    @Test
+    public void shouldSplitIntoSitemapIndex() throws Exception {
+        post("blog/first.html", "published");
+        post("blog/second.html", "published");
+        post("blog/third&more.html", "published");
+
+        write();
+
+        String index = read("sitemap.xml");
+        assertThat(index).contains("<sitemapindex xmlns=\"http://www.sitemaps.org/schemas/sitemap/0.9\">");
+        assertThat(index).contains("<sitemap><loc>http://www.example.org/sitemap-1.xml</loc><lastmod>2020-01-03</lastmod></sitemap>");
+        assertThat(index).contains("<sitemap><loc>http://www.example.org/sitemap-2.xml</loc><lastmod>2020-01-04</lastmod></sitemap>");
+        assertThat(read("sitemap-1.xml")).contains("first.html").contains("second.html").doesNotContain("third");
+        assertThat(read("sitemap-2.xml")).contains("blog/third&amp;more.html");
+    }
+
+    @Test
+    public void shouldOnlyRewriteChangedChunks() throws Exception {
+        post("blog/first.html", "published");
+        post("blog/second.html", "published");
+        post("blog/third.html", "published");
+        assertThat(write()).isEqualTo(3);
+        assertThat(write()).isZero();
+
+        // the newest post only changes the last chunk and the index
+        post("blog/fourth.html", "published");
+        assertThat(write()).isEqualTo(2);
+        assertThat(read("sitemap-2.xml")).contains("fourth.html");
+
+        // back within the limit, the chunks are removed
+        config.setSitemapMaxUrls(10);
+        assertThat(write()).isEqualTo(1);
+        assertThat(read("sitemap.xml")).contains("<urlset").contains("fourth.html");
+        assertThat(new File(destination, "sitemap-1.xml")).doesNotExist();
+        assertThat(new File(destination, "sitemap-2.xml")).doesNotExist();
+    }
+
+    private void post(String uri, String status) {
+        calendar.add(Calendar.DAY_OF_MONTH, 1);
+        new FakeDocumentBuilder("post").withUri(uri).withStatus(status).withDate(calendar.getTime()).build();
+    }
+
+    private int write() throws Exception {
+        SitemapWriter writer = new SitemapWriter(db, config, new OutputFiles(config));
+        writer.write("sitemap.xml");
+        return writer.getWrittenCount();
+    }
+
+    private String read(String fileName) throws Exception {
+        return FileUtils.readFileToString(new File(destination, fileName), StandardCharsets.UTF_8);
+    }
+}
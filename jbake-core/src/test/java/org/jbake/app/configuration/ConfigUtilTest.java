@@ -19,6 +19,7 @@ import java.nio.file.Path;
 import java.nio.file.StandardCopyOption;
 import java.nio.file.StandardOpenOption;
 import java.util.List;
+import java.util.Map;
 
 import static ch.qos.logback.classic.Level.WARN;
 import static org.assertj.core.api.Assertions.assertThat;
@@ -368,6 +369,23 @@ public class ConfigUtilTest extends LoggingTest {
         assertThat(config.getIgnoreFileName()).isEqualTo(".jbakeignore");
     }
 
+    @Test
+    public void shouldShareConfigModelUntilConfigurationChanges() throws Exception {
+        DefaultJBakeConfiguration config = (DefaultJBakeConfiguration) util.loadConfig(TestUtils.getTestResourcesAsSourceFolder());
+
+        Map<String, Object> configModel = config.getConfigModel();
+        assertThat(configModel).containsEntry("site_host", "http://www.jbake.org");
+        assertThat(config.getConfigModel()).isSameAs(configModel);
+        assertThrows(UnsupportedOperationException.class, () -> configModel.put("site_host", "changed"));
+
+        config.setProperty("site.host", "http://example.org");
+        assertThat(config.getConfigModel()).isNotSameAs(configModel).containsEntry("site_host", "http://example.org");
+
+        Map<String, Object> updated = config.getConfigModel();
+        config.getCompositeConfiguration().setProperty("test.property", "12345");
+        assertThat(config.getConfigModel()).isNotSameAs(updated).containsEntry("test_property", "12345");
+    }
+
     private void assertDefaultPropertiesPresent(JBakeConfiguration config) throws IllegalAccessException {
         for (Field field : JBakeConfiguration.class.getFields()) {
 
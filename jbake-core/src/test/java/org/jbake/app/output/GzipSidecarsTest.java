@@ -0,0 +1,73 @@
+package org.jbake.app.output;
+
+import org.apache.commons.io.IOUtils;
+import org.jbake.app.configuration.JBakeConfiguration;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.attribute.FileTime;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class GzipSidecarsTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void shouldCompressTextOutputs() throws Exception {
+        File html = write("index.html", "<html><body>hello</body></html>");
+        File png = write("logo.png", "not really a png");
+
+        GzipSidecars sidecars = new GzipSidecars(config());
+        List<Throwable> errors = sidecars.compress(Arrays.asList(html, png), Collections.<File>emptyList());
+
+        assertThat(errors).isEmpty();
+        assertThat(sidecars.getCompressedCount()).isEqualTo(1);
+        assertThat(new File(folder.getRoot(), "logo.png.gz")).doesNotExist();
+        try (InputStream in = new GZIPInputStream(Files.newInputStream(new File(folder.getRoot(), "index.html.gz").toPath()))) {
+            assertThat(IOUtils.toString(in, StandardCharsets.UTF_8)).isEqualTo("<html><body>hello</body></html>");
+        }
+        assertThat(new File(folder.getRoot(), "index.html.gz").lastModified()).isEqualTo(html.lastModified());
+    }
+
+    @Test
+    public void shouldOnlyCompressExistingFilesWithOutdatedSidecar() throws Exception {
+        File css = write("style.css", "body { color: red; }");
+        GzipSidecars sidecars = new GzipSidecars(config());
+        sidecars.compress(Collections.<File>emptyList(), Collections.singletonList(css));
+        assertThat(sidecars.getCompressedCount()).isEqualTo(1);
+
+        sidecars.compress(Collections.<File>emptyList(), Collections.singletonList(css));
+        assertThat(sidecars.getCompressedCount()).isEqualTo(1);
+
+        Files.setLastModifiedTime(css.toPath(), FileTime.fromMillis(css.lastModified() + 10000));
+        sidecars.compress(Collections.<File>emptyList(), Collections.singletonList(css));
+        assertThat(sidecars.getCompressedCount()).isEqualTo(2);
+    }
+
+    private File write(String name, String content) throws Exception {
+        File file = new File(folder.getRoot(), name);
+        Files.write(file.toPath(), content.getBytes(StandardCharsets.UTF_8));
+        return file;
+    }
+
+    private JBakeConfiguration config() {
+        JBakeConfiguration config = mock(JBakeConfiguration.class);
+        when(config.getRenderGzipLevel()).thenReturn(9);
+        when(config.getRenderGzipExtensions()).thenReturn(Arrays.asList("html", "css", "js"));
+        when(config.getRenderThreads()).thenReturn(2);
+        return config;
+    }
+}
@@ -0,0 +1,49 @@
+package org.jbake.app.output;
+
+import org.junit.Test;
+
+import java.io.StringWriter;
+import java.io.Writer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class HtmlMinifyingWriterTest {
+
+    @Test
+    public void shouldCollapseWhitespace() throws Exception {
+        assertThat(minify("<html>\n  <body   class=\"a   b\"  >\n    <p>x  <b>y</b>   z</p>\n  </body>\n</html>\n"))
+            .isEqualTo("<html>\n<body class=\"a   b\">\n<p>x <b>y</b> z</p>\n</body>\n</html>\n");
+    }
+
+    @Test
+    public void shouldKeepRawElementsAndComments() throws Exception {
+        String pre = "<pre>\n  code\n     here\n</pre>";
+        String script = "<script>\n  var a  =  '</p>';\n  if (a <  b) {}\n</script>";
+        String textarea = "<TEXTAREA>  a\n  b</TEXTAREA>";
+        String comment = "<!--  keep   me -->";
+
+        assertThat(minify("<div>  " + pre + "  " + script + "  " + textarea + "  " + comment + "  </div>"))
+            .isEqualTo("<div> " + pre + " " + script + " " + textarea + " " + comment + " </div>");
+    }
+
+    @Test
+    public void shouldMinifyAcrossWrites() throws Exception {
+        StringWriter result = new StringWriter();
+        try (Writer writer = new HtmlMinifyingWriter(result)) {
+            writer.write("<p>a   ");
+            writer.write("  b</p><pr");
+            writer.write("e>  x  </p");
+            writer.write("re>");
+        }
+
+        assertThat(result.toString()).isEqualTo("<p>a b</p><pre>  x  </pre>");
+    }
+
+    private String minify(String html) throws Exception {
+        StringWriter result = new StringWriter();
+        try (Writer writer = new HtmlMinifyingWriter(result)) {
+            writer.write(html);
+        }
+        return result.toString();
+    }
+}
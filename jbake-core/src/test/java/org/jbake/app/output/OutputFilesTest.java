@@ -0,0 +1,134 @@
+package org.jbake.app.output;
+
+import org.jbake.app.configuration.JBakeConfiguration;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.Writer;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class OutputFilesTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void shouldCreateParentFoldersAndWriteContent() throws Exception {
+        OutputFiles outputFiles = new OutputFiles(config(true));
+        File file = new File(folder.getRoot(), "blog/2020/post.html");
+
+        try (Writer writer = outputFiles.createWriter(file, "UTF-8")) {
+            writer.write("<p>Grüße</p>");
+        }
+
+        assertThat(new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8)).isEqualTo("<p>Grüße</p>");
+        assertThat(outputFiles.getWrittenCount()).isEqualTo(1);
+        assertThat(outputFiles.getWrittenFiles()).containsExactly(file);
+    }
+
+    @Test
+    public void shouldNotRewriteUnchangedContent() throws Exception {
+        OutputFiles outputFiles = new OutputFiles(config(true));
+        File file = folder.newFile("index.html");
+        Files.write(file.toPath(), "<p>same</p>".getBytes(StandardCharsets.UTF_8));
+        assertThat(file.setLastModified(1000L)).isTrue();
+
+        outputFiles.write(file, "<p>same</p>".getBytes(StandardCharsets.UTF_8));
+
+        assertThat(file.lastModified()).isEqualTo(1000L);
+        assertThat(outputFiles.getUnchangedCount()).isEqualTo(1);
+        assertThat(outputFiles.getWrittenCount()).isZero();
+
+        outputFiles.write(file, "<p>new</p>".getBytes(StandardCharsets.UTF_8));
+
+        assertThat(new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8)).isEqualTo("<p>new</p>");
+        assertThat(outputFiles.getWrittenCount()).isEqualTo(1);
+        assertThat(folder.getRoot().list()).containsExactly("index.html");
+    }
+
+    @Test
+    public void shouldAlwaysWriteIfDisabled() throws Exception {
+        OutputFiles outputFiles = new OutputFiles(config(false));
+        File file = folder.newFile("index.html");
+        Files.write(file.toPath(), "<p>same</p>".getBytes(StandardCharsets.UTF_8));
+
+        outputFiles.write(file, "<p>same</p>".getBytes(StandardCharsets.UTF_8));
+
+        assertThat(outputFiles.getWrittenCount()).isEqualTo(1);
+        assertThat(outputFiles.getUnchangedCount()).isZero();
+    }
+
+    @Test
+    public void shouldWriteQueuedFilesInBackground() throws Exception {
+        JBakeConfiguration config = config(true);
+        when(config.getRenderWriterThreads()).thenReturn(2);
+        OutputFiles outputFiles = new OutputFiles(config);
+
+        outputFiles.startWriteBehind();
+        for (int i = 0; i < 100; i++) {
+            try (Writer writer = outputFiles.createWriter(new File(folder.getRoot(), "page" + (i % 10) + "/" + i + ".html"), "UTF-8")) {
+                writer.write("page " + i);
+            }
+        }
+        List<Throwable> errors = outputFiles.finishWriteBehind();
+
+        assertThat(errors).isEmpty();
+        assertThat(outputFiles.getWrittenCount()).isEqualTo(100);
+        assertThat(new String(Files.readAllBytes(new File(folder.getRoot(), "page3/73.html").toPath()), StandardCharsets.UTF_8)).isEqualTo("page 73");
+    }
+
+    @Test
+    public void shouldOnlyCallBackForFilesWrittenInBackground() throws Exception {
+        JBakeConfiguration config = config(true);
+        when(config.getRenderWriterThreads()).thenReturn(2);
+        OutputFiles outputFiles = new OutputFiles(config);
+        folder.newFile("blocked");
+        final List<File> written = new CopyOnWriteArrayList<>();
+
+        outputFiles.startWriteBehind();
+        for (String name : new String[]{"index.html", "blocked/index.html"}) {
+            final File file = new File(folder.getRoot(), name);
+            try (Writer writer = outputFiles.createWriter(file, "UTF-8", new Runnable() {
+                @Override
+                public void run() {
+                    written.add(file);
+                }
+            })) {
+                writer.write("page");
+            }
+        }
+        List<Throwable> errors = outputFiles.finishWriteBehind();
+
+        assertThat(errors).hasSize(1);
+        assertThat(written).containsExactly(new File(folder.getRoot(), "index.html"));
+    }
+
+    @Test
+    public void shouldEncodeLikeStringGetBytes() throws Exception {
+        String text = "ascii é € \uD83D\uDE00 \uD800 end";
+        for (String charset : new String[]{"UTF-8", "ISO-8859-1", "UTF-16"}) {
+            OutputBuffer buffer = new OutputBuffer();
+            buffer.append(text, 0, text.length());
+            buffer.encode(Charset.forName(charset));
+
+            assertThat(Arrays.copyOf(buffer.bytes(), buffer.byteCount())).isEqualTo(text.getBytes(charset));
+        }
+    }
+
+    private JBakeConfiguration config(boolean writeIfChanged) {
+        JBakeConfiguration config = mock(JBakeConfiguration.class);
+        when(config.getWriteIfChanged()).thenReturn(writeIfChanged);
+        return config;
+    }
+}
@@ -0,0 +1,88 @@
+package org.jbake.app.output;
+
+import org.jbake.TestUtils;
+import org.jbake.app.configuration.JBakeConfiguration;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class OutputGenerationsTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private File destination;
+
+    @Before
+    public void setup() throws Exception {
+        Assume.assumeFalse("Ignore running on Windows", TestUtils.isWindows());
+        destination = folder.newFolder("output");
+        write(new File(destination, "index.html"), "index");
+    }
+
+    @Test
+    public void shouldLinkUnchangedFilesAndSwitchDestination() throws Exception {
+        OutputGenerations generations = new OutputGenerations(destination);
+
+        File generation = generations.start();
+        File linked = new File(generation, "index.html");
+        assertThat(Files.isSameFile(linked.toPath(), new File(destination, "index.html").toPath())).isTrue();
+
+        write(new File(generation, "about.html"), "about");
+        assertThat(new File(destination, "about.html")).doesNotExist();
+
+        generations.commit();
+
+        assertThat(Files.isSymbolicLink(destination.toPath())).isTrue();
+        assertThat(read(new File(destination, "index.html"))).isEqualTo("index");
+        assertThat(read(new File(destination, "about.html"))).isEqualTo("about");
+    }
+
+    @Test
+    public void shouldKeepCurrentGenerationUntilCommit() throws Exception {
+        OutputGenerations generations = new OutputGenerations(destination);
+        generations.start();
+        generations.commit();
+        Path first = destination.toPath().toRealPath();
+
+        File generation = new OutputGenerations(destination).start();
+        write(new File(generation, "index.html"), "changed");
+
+        assertThat(read(new File(destination, "index.html"))).isEqualTo("index");
+        assertThat(destination.toPath().toRealPath()).isEqualTo(first);
+    }
+
+    @Test
+    public void shouldDiscardAbortedGeneration() throws Exception {
+        OutputGenerations generations = new OutputGenerations(destination);
+        File generation = generations.start();
+        write(new File(generation, "index.html"), "changed");
+
+        generations.abort();
+
+        assertThat(generation).doesNotExist();
+        assertThat(Files.isSymbolicLink(destination.toPath())).isFalse();
+        assertThat(read(new File(destination, "index.html"))).isEqualTo("index");
+    }
+
+    private void write(File file, String content) throws Exception {
+        JBakeConfiguration config = mock(JBakeConfiguration.class);
+        when(config.getDestinationGenerations()).thenReturn(true);
+        new OutputFiles(config).write(file, content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private String read(File file) throws Exception {
+        return new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8);
+    }
+}
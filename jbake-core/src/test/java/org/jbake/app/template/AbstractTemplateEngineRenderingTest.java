@@ -32,6 +32,7 @@ import org.jbake.model.DocumentModel;
 import org.jbake.model.DocumentTypes;
 import org.jbake.template.ModelExtractors;
 import org.jbake.template.ModelExtractorsDocumentTypeListener;
+import org.jbake.util.RenderTimings;
 import org.junit.After;
 import org.junit.Assert;
 import org.junit.Before;
@@ -177,6 +178,25 @@ public abstract class AbstractTemplateEngineRenderingTest extends ContentStoreIn
         }
     }
 
+    @Test
+    public void renderPostWithTimings() throws Exception {
+        String filename = "second-post.html";
+
+        File sampleFile = new File(sourceFolder.getPath() + File.separator + "content"
+                + File.separator + "blog" + File.separator + "2013" + File.separator + filename);
+        DocumentModel content = parser.processFile(sampleFile);
+        content.setUri("/" + filename);
+        RenderTimings.getInstance().start();
+        try {
+            renderer.render(content);
+        } finally {
+            RenderTimings.getInstance().stop();
+        }
+
+        File outputFile = new File(destinationFolder, filename);
+        assertThat(RenderTimings.getInstance().report(10)).contains(outputFile.getPath());
+    }
+
     @Test
     public void renderPage() throws Exception {
         // setup
@@ -212,6 +232,21 @@ public abstract class AbstractTemplateEngineRenderingTest extends ContentStoreIn
         }
     }
 
+    @Test
+    public void renderIndexSkipsUnchangedIndex() throws Exception {
+        renderer.renderIndex("index.html");
+        File outputFile = new File(destinationFolder, "index.html");
+        Assert.assertTrue(outputFile.exists());
+        int skipped = renderer.getSkippedCount();
+
+        renderer.renderIndex("index.html");
+        assertThat(renderer.getSkippedCount()).isEqualTo(skipped + 1);
+
+        db.deleteAllByDocType("page");
+        renderer.renderIndex("index.html");
+        assertThat(renderer.getSkippedCount()).isEqualTo(skipped + 1);
+    }
+
     @Test
     public void renderFeed() throws Exception {
         renderer.renderFeed("feed.xml");
@@ -251,6 +286,21 @@ public abstract class AbstractTemplateEngineRenderingTest extends ContentStoreIn
         }
     }
 
+    @Test
+    public void renderTagsSkipsUnchangedTags() throws Exception {
+        int rendered = renderer.renderTags("tags");
+        assertThat(rendered).isPositive();
+
+        File outputFile = new File(destinationFolder + File.separator + "tags" + File.separator + "blog.html");
+        Assert.assertTrue(outputFile.exists());
+
+        assertThat(renderer.renderTags("tags")).isZero();
+
+        Assert.assertTrue(outputFile.delete());
+        assertThat(renderer.renderTags("tags")).isEqualTo(1);
+        Assert.assertTrue(outputFile.exists());
+    }
+
     @Test
     public void renderTagsIndex() throws Exception {
         config.setRenderTagsIndex(true);
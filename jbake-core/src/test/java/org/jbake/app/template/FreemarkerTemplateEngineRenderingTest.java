@@ -29,6 +29,8 @@ import org.junit.Test;
 import java.io.File;
 import java.nio.charset.Charset;
 import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.Assert.assertFalse;
@@ -66,6 +68,64 @@ public class FreemarkerTemplateEngineRenderingTest extends AbstractTemplateEngin
         assertThat(output).contains("Post Url: blog%2F2013%2Fsecond-post.html");
     }
 
+    @Test
+    public void shouldRenderEveryIndexPageWithItsOwnPosts() throws Exception {
+        config.setPaginateIndex(true);
+        config.setPostsPerPage(1);
+
+        renderer.renderIndexPaging("index.html");
+
+        Set<String> postUrls = new HashSet<>();
+        for (String fileName : Arrays.asList("index.html", "2/index.html", "3/index.html")) {
+            String output = FileUtils.readFileToString(new File(destinationFolder, fileName), Charset.defaultCharset());
+            assertThat(output.split("Post Url: ")).hasSize(2);
+            postUrls.add(output.substring(output.indexOf("Post Url: "), output.indexOf("</span>", output.indexOf("Post Url: "))));
+        }
+        assertThat(postUrls).hasSize(3);
+        assertThat(db.getStart()).isEqualTo(-1);
+        assertThat(db.getLimit()).isEqualTo(-1);
+    }
+
+    @Test
+    public void renderPaginatedArchive() throws Exception {
+        config.setPaginateArchive(true);
+        config.setArchivePostsPerPage(2);
+
+        renderer.renderArchive("archive.html");
+
+        assertThat(postLinks(new File(destinationFolder, "archive.html"))).isEqualTo(2);
+        assertThat(postLinks(new File(destinationFolder, "2/archive.html"))).isEqualTo(1);
+        assertThat(new File(destinationFolder, "3/archive.html")).doesNotExist();
+    }
+
+    @Test
+    public void renderPaginatedTags() throws Exception {
+        config.setPaginateTags(true);
+        config.setTagPostsPerPage(2);
+
+        assertThat(renderer.renderTags("tags")).isPositive();
+
+        File firstPage = new File(destinationFolder, "tags/blog.html");
+        File secondPage = new File(destinationFolder, "tags/2/blog.html");
+        assertThat(postLinks(firstPage)).isEqualTo(2);
+        assertThat(postLinks(secondPage)).isEqualTo(1);
+
+        assertThat(renderer.renderTags("tags")).isZero();
+        assertTrue(secondPage.delete());
+        assertThat(renderer.renderTags("tags")).isEqualTo(1);
+
+        // fewer pages, the second one is removed
+        config.setTagPostsPerPage(3);
+        renderer.renderTags("tags");
+        assertThat(postLinks(firstPage)).isEqualTo(3);
+        assertThat(secondPage).doesNotExist();
+    }
+
+    private int postLinks(File file) throws Exception {
+        String output = FileUtils.readFileToString(file, Charset.defaultCharset());
+        return output.split("- <a href=\"blog/", -1).length - 1;
+    }
+
     @Test
     public void shouldFallbackToRenderSingleIndexIfNoPostArePresent() throws Exception {
         config.setPaginateIndex(true);
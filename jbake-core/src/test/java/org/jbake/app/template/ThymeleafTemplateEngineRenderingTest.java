@@ -23,6 +23,20 @@
  */
 package org.jbake.app.template;
 
+import org.apache.commons.io.FileUtils;
+import org.jbake.app.Parser;
+import org.jbake.model.DocumentModel;
+import org.jbake.util.ParallelExecutor;
+import org.junit.Test;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
 /**
  *
  * @author jdlee
@@ -33,4 +47,44 @@ public class ThymeleafTemplateEngineRenderingTest extends AbstractTemplateEngine
         super("thymeleafTemplates", "thyme");
     }
 
+    @Test
+    public void renderDocumentsOfDifferentModesConcurrently() throws Exception {
+        Parser parser = new Parser(config);
+        File sampleFile = new File(sourceFolder.getPath() + File.separator + "content"
+                + File.separator + "blog" + File.separator + "2013" + File.separator + "second-post.html");
+        List<Callable<Void>> tasks = new ArrayList<>();
+        for (int i = 0; i < 16; i++) {
+            final DocumentModel content = parser.processFile(sampleFile);
+            content.setUri("/second-post-" + i + ".html");
+            tasks.add(new Callable<Void>() {
+                @Override
+                public Void call() throws Exception {
+                    renderer.render(content);
+                    return null;
+                }
+            });
+        }
+        // the feed is rendered in XML mode while the posts are rendered in HTML mode
+        tasks.add(new Callable<Void>() {
+            @Override
+            public Void call() throws Exception {
+                renderer.renderFeed("feed.xml");
+                return null;
+            }
+        });
+
+        assertThat(ParallelExecutor.run(4, "thymeleaf", tasks)).isEmpty();
+
+        for (int i = 0; i < 16; i++) {
+            String output = FileUtils.readFileToString(new File(destinationFolder, "second-post-" + i + ".html"), StandardCharsets.UTF_8);
+            for (String string : getOutputStrings("post")) {
+                assertThat(output).contains(string);
+            }
+        }
+        String feed = FileUtils.readFileToString(new File(destinationFolder, "feed.xml"), StandardCharsets.UTF_8);
+        for (String string : getOutputStrings("feed")) {
+            assertThat(feed).contains(string);
+        }
+    }
+
 }
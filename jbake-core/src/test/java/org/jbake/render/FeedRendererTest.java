@@ -79,6 +79,25 @@ public class FeedRendererTest {
         verify(mockRenderer, times(1)).renderFeed(anyString());
     }
 
+    @Test
+    public void rendersTagFeedsWhenConfigured() throws Exception {
+        FeedRenderer renderer = new FeedRenderer();
+        JBakeConfiguration configuration = mock(DefaultJBakeConfiguration.class);
+        when(configuration.getRenderFeed()).thenReturn(true);
+        when(configuration.getFeedTags()).thenReturn(true);
+        when(configuration.getFeedFileName()).thenReturn("mockfeedfile.xml");
+        when(configuration.getTagPathName()).thenReturn("mocktagpath");
+
+        ContentStore contentStore = mock(ContentStore.class);
+        Renderer mockRenderer = mock(Renderer.class);
+        when(mockRenderer.renderTagFeeds(anyString())).thenReturn(3);
+
+        int renderResponse = renderer.render(mockRenderer, contentStore, configuration);
+
+        assertThat(renderResponse).isEqualTo(4);
+        verify(mockRenderer, times(1)).renderTagFeeds("mocktagpath");
+    }
+
     @Test(expected = RenderingException.class)
     public void propogatesRenderingException() throws Exception {
         FeedRenderer renderer = new FeedRenderer();
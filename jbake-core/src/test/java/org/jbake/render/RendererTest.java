@@ -2,6 +2,7 @@ package org.jbake.render;
 
 import org.jbake.TestUtils;
 import org.jbake.app.ContentStore;
+import org.jbake.app.DocumentList;
 import org.jbake.app.Renderer;
 import org.jbake.app.configuration.ConfigUtil;
 import org.jbake.app.configuration.DefaultJBakeConfiguration;
@@ -20,6 +21,9 @@ import java.io.File;
 import java.net.URL;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 @RunWith(MockitoJUnitRunner.class)
 public class RendererTest {
@@ -73,4 +77,28 @@ public class RendererTest {
         File outputFile = new File(outputPath.getAbsolutePath() + File.separatorChar + FOLDER + File.separatorChar + FILENAME);
         assertThat(outputFile).isFile();
     }
+
+    @Test
+    public void shouldScanDocumentSignaturesOncePerRenderPhase() throws Exception {
+        DocumentModel post = new DocumentModel();
+        post.setType("post");
+        post.setSourceUri("post.md");
+        post.setStatus("published");
+        DocumentList<DocumentModel> documents = new DocumentList<>();
+        documents.add(post);
+        when(db.getDocumentSignatures()).thenReturn(documents);
+        config.setTemplateFolder(folder.newFolder("templates"));
+        config.setPaginateArchive(false);
+        Renderer renderer = new Renderer(db, config, renderingEngine);
+
+        renderer.startMemoizingSignatures();
+        renderer.renderIndex("index.html");
+        renderer.renderArchive("archive.html");
+        renderer.renderSitemap("sitemap.xml");
+        renderer.stopMemoizingSignatures();
+
+        verify(db, times(1)).getDocumentSignatures();
+        assertThat(new File(outputPath, "index.html")).isFile();
+        assertThat(new File(outputPath, "archive.html")).isFile();
+    }
 }
@@ -0,0 +1,91 @@
+package org.jbake.template;
+
+import groovy.lang.Binding;
+import groovy.lang.GroovyClassLoader;
+import org.codehaus.groovy.control.CompilerConfiguration;
+import org.codehaus.groovy.runtime.InvokerHelper;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class CompiledTemplateCacheTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private final CompilerConfiguration configuration = new CompilerConfiguration();
+    private final GroovyClassLoader loader = new GroovyClassLoader(getClass().getClassLoader());
+
+    @Test
+    public void shouldLoadCompiledClassesFromCacheFolder() throws Exception {
+        CompiledTemplateCache first = new CompiledTemplateCache(folder.getRoot());
+        assertThat(run(first.load("[1, 2].collect { it * 2 }.sum()", "test", configuration, loader))).isEqualTo(6);
+        assertThat(first.getCompiledCount()).isEqualTo(1);
+        assertThat(folder.getRoot().listFiles()).hasSize(1);
+
+        CompiledTemplateCache second = new CompiledTemplateCache(folder.getRoot());
+        assertThat(run(second.load("[1, 2].collect { it * 2 }.sum()", "test", configuration, loader))).isEqualTo(6);
+        assertThat(second.getCompiledCount()).isEqualTo(0);
+    }
+
+    @Test
+    public void shouldReuseLoadedClass() throws Exception {
+        CompiledTemplateCache cache = new CompiledTemplateCache(folder.getRoot());
+        Class<?> templateClass = cache.load("'a'", "test", configuration, loader);
+
+        assertThat(cache.load("'a'", "test", configuration, loader)).isSameAs(templateClass);
+        assertThat(cache.getCompiledCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void shouldCompileAgainWhenSourceOrSettingsChange() throws Exception {
+        CompiledTemplateCache cache = new CompiledTemplateCache(folder.getRoot());
+        cache.load("'a'", "test", configuration, loader);
+        assertThat(run(cache.load("'b'", "test", configuration, loader))).isEqualTo("b");
+        cache.load("'a'", "other", configuration, loader);
+
+        assertThat(cache.getCompiledCount()).isEqualTo(3);
+        assertThat(folder.getRoot().listFiles()).hasSize(3);
+    }
+
+    @Test
+    public void shouldCompileAgainWhenCachedClassesAreUnreadable() throws Exception {
+        new CompiledTemplateCache(folder.getRoot()).load("'a'", "test", configuration, loader);
+        File[] files = folder.getRoot().listFiles();
+        assertThat(files).hasSize(1);
+        Files.write(files[0].toPath(), "broken".getBytes(StandardCharsets.UTF_8));
+
+        CompiledTemplateCache cache = new CompiledTemplateCache(folder.getRoot());
+        assertThat(run(cache.load("'a'", "test", configuration, loader))).isEqualTo("a");
+        assertThat(cache.getCompiledCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void shouldPruneClassesNotUsedSinceBakeStarted() throws Exception {
+        CompiledTemplateCache first = new CompiledTemplateCache(folder.getRoot());
+        first.load("'a'", "test", configuration, loader);
+        first.load("'b'", "test", configuration, loader);
+        long since = System.currentTimeMillis();
+        for (File file : folder.getRoot().listFiles()) {
+            assertThat(file.setLastModified(since - 60000)).isTrue();
+        }
+
+        CompiledTemplateCache second = new CompiledTemplateCache(folder.getRoot());
+        assertThat(run(second.load("'a'", "test", configuration, loader))).isEqualTo("a");
+
+        assertThat(second.prune(since)).isEqualTo(1);
+        assertThat(folder.getRoot().listFiles()).hasSize(1);
+        assertThat(run(new CompiledTemplateCache(folder.getRoot()).load("'a'", "test", configuration, loader))).isEqualTo("a");
+        assertThat(second.getCompiledCount()).isEqualTo(0);
+    }
+
+    private Object run(Class<?> scriptClass) {
+        return InvokerHelper.createScript(scriptClass, new Binding()).run();
+    }
+}
@@ -0,0 +1,62 @@
+package org.jbake.template;
+
+import org.jbake.TestUtils;
+import org.jbake.app.configuration.ConfigUtil;
+import org.jbake.app.configuration.DefaultJBakeConfiguration;
+import org.jbake.template.model.TemplateModel;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class DelegatingTemplateEngineTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private DelegatingTemplateEngine engine;
+
+    @Before
+    public void setUp() throws Exception {
+        DefaultJBakeConfiguration config = (DefaultJBakeConfiguration) new ConfigUtil().loadConfig(TestUtils.getTestResourcesAsSourceFolder());
+        config.setTemplateFolder(folder.getRoot());
+        config.setTemplateCache("");
+        engine = new DelegatingTemplateEngine(null, config);
+    }
+
+    @Test
+    public void shouldRenderWithAlternativeTemplate() throws Exception {
+        write("index.ftl", "freemarker");
+
+        assertThat(render("index.tpl")).isEqualTo("freemarker");
+        assertThat(render("index.tpl")).isEqualTo("freemarker");
+    }
+
+    @Test
+    public void shouldResolveTemplateAgainWhenTemplateFolderChanges() throws Exception {
+        write("index.ftl", "freemarker");
+        assertThat(render("index.tpl")).isEqualTo("freemarker");
+
+        write("index.tpl", "yield 'markup'");
+        assertThat(folder.getRoot().setLastModified(folder.getRoot().lastModified() + 10000)).isTrue();
+
+        assertThat(render("index.tpl")).isEqualTo("markup");
+    }
+
+    private void write(String templateName, String content) throws Exception {
+        Files.write(new File(folder.getRoot(), templateName).toPath(), content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private String render(String templateName) throws Exception {
+        StringWriter writer = new StringWriter();
+        engine.renderDocument(new TemplateModel(), templateName, writer);
+        return writer.toString();
+    }
+}
@@ -0,0 +1,87 @@
+package org.jbake.template;
+
+import org.jbake.app.configuration.JBakeConfiguration;
+import org.jbake.template.model.TemplateModel;
+import org.jbake.util.ParallelExecutor;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class GroovyMarkupTemplateEngineTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private JBakeConfiguration config;
+    private GroovyMarkupTemplateEngine engine;
+
+    @Before
+    public void setUp() throws Exception {
+        config = mock(JBakeConfiguration.class);
+        when(config.getTemplateFolder()).thenReturn(folder.getRoot());
+        when(config.getTemplateEncoding()).thenReturn("UTF-8");
+        engine = new GroovyMarkupTemplateEngine(config, null);
+        write("greeting.tpl", "yield 'Hello '\ninclude template: 'greeted.tpl'");
+        write("greeted.tpl", "yield \"${who}\"");
+    }
+
+    @Test
+    public void shouldRenderTemplatesCompiledOnAnotherThread() throws Exception {
+        engine.compileTemplate("greeting.tpl");
+        write("greeting.tpl", "yield 'Goodbye'");
+
+        assertThat(renderConcurrently()).hasSize(16).containsOnly("Hello World");
+    }
+
+    @Test
+    public void shouldRenderConcurrentlyWithCachedClasses() throws Exception {
+        File cache = folder.newFolder("template-cache");
+        when(config.getTemplateCache()).thenReturn(cache.getAbsolutePath());
+        engine = new GroovyMarkupTemplateEngine(config, null);
+
+        assertThat(renderConcurrently()).hasSize(16).containsOnly("Hello World");
+        assertThat(cache.listFiles()).hasSize(2);
+    }
+
+    private List<String> renderConcurrently() {
+        final List<String> outputs = Collections.synchronizedList(new ArrayList<String>());
+        List<Callable<Void>> tasks = new ArrayList<>();
+        for (int i = 0; i < 16; i++) {
+            tasks.add(new Callable<Void>() {
+                @Override
+                public Void call() throws Exception {
+                    outputs.add(render());
+                    return null;
+                }
+            });
+        }
+        assertThat(ParallelExecutor.run(8, "markup", tasks)).isEmpty();
+        return outputs;
+    }
+
+    private void write(String templateName, String content) throws Exception {
+        Files.write(new File(folder.getRoot(), templateName).toPath(), content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private String render() throws Exception {
+        TemplateModel model = new TemplateModel();
+        model.put("who", "World");
+        StringWriter writer = new StringWriter();
+        engine.renderDocument(model, "greeting.tpl", writer);
+        return writer.toString();
+    }
+}
@@ -0,0 +1,126 @@
+package org.jbake.template;
+
+import org.jbake.app.configuration.JBakeConfiguration;
+import org.jbake.template.model.TemplateModel;
+import org.jbake.util.ParallelExecutor;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class GroovyTemplateEngineTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private JBakeConfiguration config;
+    private GroovyTemplateEngine engine;
+    private File template;
+
+    @Before
+    public void setUp() throws Exception {
+        config = mock(JBakeConfiguration.class);
+        when(config.getTemplateFolder()).thenReturn(folder.getRoot());
+        when(config.getTemplateEncoding()).thenReturn("UTF-8");
+        engine = new GroovyTemplateEngine(config, null);
+        template = folder.newFile("greeting.gsp");
+    }
+
+    @Test
+    public void shouldCompileChangedTemplateAgain() throws Exception {
+        write("Hello ${greeted}");
+        assertThat(render()).isEqualTo("Hello World");
+
+        write("Goodbye ${greeted}");
+        assertThat(template.setLastModified(template.lastModified() + 10000)).isTrue();
+        assertThat(render()).isEqualTo("Goodbye World");
+    }
+
+    @Test
+    public void shouldRenderConcurrently() throws Exception {
+        write("Hello ${greeted}");
+        final List<String> outputs = new ArrayList<>();
+        List<Callable<Void>> tasks = new ArrayList<>();
+        for (int i = 0; i < 32; i++) {
+            tasks.add(new Callable<Void>() {
+                @Override
+                public Void call() throws Exception {
+                    String output = render();
+                    synchronized (outputs) {
+                        outputs.add(output);
+                    }
+                    return null;
+                }
+            });
+        }
+
+        assertThat(ParallelExecutor.run(8, "groovy", tasks)).isEmpty();
+        assertThat(outputs).hasSize(32).containsOnly("Hello World");
+    }
+
+    @Test
+    public void shouldCompileDifferentTemplatesConcurrently() throws Exception {
+        final List<String> outputs = new ArrayList<>();
+        List<Callable<Void>> tasks = new ArrayList<>();
+        for (int i = 0; i < 16; i++) {
+            final String templateName = "greeting" + i + ".gsp";
+            Files.write(folder.newFile(templateName).toPath(), ("Hello ${greeted} " + i).getBytes(StandardCharsets.UTF_8));
+            tasks.add(new Callable<Void>() {
+                @Override
+                public Void call() throws Exception {
+                    String output = render(templateName);
+                    synchronized (outputs) {
+                        outputs.add(output);
+                    }
+                    return null;
+                }
+            });
+        }
+
+        assertThat(ParallelExecutor.run(8, "groovy", tasks)).isEmpty();
+        assertThat(outputs).hasSize(16).contains("Hello World 0", "Hello World 15");
+    }
+
+    @Test
+    public void shouldRenderTemplateCompiledByAnotherEngine() throws Exception {
+        File cache = folder.newFolder("template-cache");
+        when(config.getTemplateCache()).thenReturn(cache.getAbsolutePath());
+        write("Hello ${greeted}");
+
+        engine = new GroovyTemplateEngine(config, null);
+        assertThat(render()).isEqualTo("Hello World");
+        assertThat(cache.listFiles()).hasSize(1);
+
+        engine = new GroovyTemplateEngine(config, null);
+        assertThat(render()).isEqualTo("Hello World");
+        assertThat(cache.listFiles()).hasSize(1);
+    }
+
+    private void write(String content) throws Exception {
+        Files.write(template.toPath(), content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private String render() throws Exception {
+        return render("greeting.gsp");
+    }
+
+    private String render(String templateName) throws Exception {
+        TemplateModel model = new TemplateModel();
+        model.put("greeted", "World");
+        StringWriter writer = new StringWriter();
+        engine.renderDocument(model, templateName, writer);
+        return writer.toString();
+    }
+}
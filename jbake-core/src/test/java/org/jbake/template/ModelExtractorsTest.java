@@ -1,11 +1,16 @@
 package org.jbake.template;
 
+import org.jbake.app.ContentStore;
 import org.jbake.model.DocumentTypes;
 import org.junit.After;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.ExpectedException;
 
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
 import static org.assertj.core.api.Assertions.assertThat;
 
 public class ModelExtractorsTest {
@@ -15,6 +20,7 @@ public class ModelExtractorsTest {
 
     @After
     public void tearDown() throws Exception {
+        ModelExtractors.getInstance().stopMemoizing();
         ModelExtractors.getInstance().reset();
     }
 
@@ -38,6 +44,7 @@ public class ModelExtractorsTest {
             "tag_posts",
             "tags",
             "tagged_documents",
+            "asset",
         };
 
         for (String aKey : expectedKeys) {
@@ -91,13 +98,58 @@ public class ModelExtractorsTest {
         ModelExtractors.getInstance().registerExtractorsForCustomTypes(newDocumentType);
 
         //expect:
-        assertThat(ModelExtractors.getInstance().keySet().size()).isEqualTo(18);
+        assertThat(ModelExtractors.getInstance().keySet().size()).isEqualTo(19);
 
         //when:
         ModelExtractors.getInstance().reset();
 
         //then:
-        assertThat(ModelExtractors.getInstance().keySet().size()).isEqualTo(16);
+        assertThat(ModelExtractors.getInstance().keySet().size()).isEqualTo(17);
+
+    }
+
+    @Test
+    public void shouldShareResultsOfPageIndependentExtractorsWhileMemoizing() throws Exception {
+        CountingExtractor shared = new CountingExtractor(false);
+        CountingExtractor perPage = new CountingExtractor(true);
+        ModelExtractors.getInstance().registerEngine("shared", shared);
+        ModelExtractors.getInstance().registerEngine("per_page", perPage);
+        TemplateEngineAdapter.NoopAdapter adapter = new TemplateEngineAdapter.NoopAdapter();
+        Map<String, Object> model = new HashMap<>();
+
+        ModelExtractors.getInstance().startMemoizing();
+        Object first = ModelExtractors.getInstance().extractAndTransform(null, "shared", model, adapter);
+        Object second = ModelExtractors.getInstance().extractAndTransform(null, "shared", model, adapter);
+        ModelExtractors.getInstance().extractAndTransform(null, "per_page", model, adapter);
+        ModelExtractors.getInstance().extractAndTransform(null, "per_page", model, adapter);
+
+        assertThat(second).isSameAs(first);
+        assertThat(shared.calls.get()).isEqualTo(1);
+        assertThat(perPage.calls.get()).isEqualTo(2);
+
+        // the next render phase computes the result again
+        ModelExtractors.getInstance().stopMemoizing();
+        ModelExtractors.getInstance().extractAndTransform(null, "shared", model, adapter);
+        assertThat(shared.calls.get()).isEqualTo(2);
+    }
 
+    private static class CountingExtractor implements ModelExtractor<Object> {
+        private final AtomicInteger calls = new AtomicInteger();
+        private final boolean pageDependent;
+
+        private CountingExtractor(boolean pageDependent) {
+            this.pageDependent = pageDependent;
+        }
+
+        @Override
+        public Object get(ContentStore db, Map model, String key) {
+            calls.incrementAndGet();
+            return new Object();
+        }
+
+        @Override
+        public boolean isPageDependent(Map model) {
+            return pageDependent;
+        }
     }
 }
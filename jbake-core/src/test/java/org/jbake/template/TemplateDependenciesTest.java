@@ -0,0 +1,122 @@
+package org.jbake.template;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TemplateDependenciesTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Before
+    public void setup() throws Exception {
+        write("header.ftl", "<html><head></head>");
+        write("footer.ftl", "</html>");
+        write("post.ftl", "<#include \"header.ftl\"><p>${content.body}</p><#include \"footer.ftl\">");
+        write("page.ftl", "<#include \"footer.ftl\">");
+        write("feed.ftl", "<feed></feed>");
+    }
+
+    @Test
+    public void shouldFindChangedTemplates() throws Exception {
+        TemplateDependencies before = new TemplateDependencies(folder.getRoot(), "UTF-8");
+        Map<String, String> previous = new HashMap<>(before.getSignatures());
+
+        write("header.ftl", "<html><head><title>changed</title></head>");
+        new File(folder.getRoot(), "feed.ftl").delete();
+        TemplateDependencies after = new TemplateDependencies(folder.getRoot(), "UTF-8");
+
+        assertThat(after.findChanged(previous)).containsOnly("header.ftl", "feed.ftl");
+        assertThat(after.findChanged(after.getSignatures())).isEmpty();
+    }
+
+    @Test
+    public void shouldFollowIncludes() throws Exception {
+        TemplateDependencies dependencies = new TemplateDependencies(folder.getRoot(), "UTF-8");
+        Set<String> changed = Collections.singleton("header.ftl");
+
+        assertThat(dependencies.dependsOn("post.ftl", changed)).isTrue();
+        assertThat(dependencies.dependsOn("page.ftl", changed)).isFalse();
+        assertThat(dependencies.dependsOn("feed.ftl", changed)).isFalse();
+        assertThat(dependencies.dependsOn("page.ftl", Collections.singleton("footer.ftl"))).isTrue();
+    }
+
+    @Test
+    public void shouldOnlyFollowIncludeSyntax() throws Exception {
+        write("tags.ftl", "<#include \"footer.ftl\"><header>tags</header>");
+        write("index.tpl", "layout 'layout/main.tpl', true, title: 'feed'");
+        write("layout/main.tpl", "include template: 'menu.tpl'");
+        write("menu.tpl", "nav()");
+        write("archive.thyme", "<div th:replace=\"~{header :: head}\"></div>");
+        write("post.jade", "extends layout.jade");
+        write("layout.jade", "include footer");
+        TemplateDependencies dependencies = new TemplateDependencies(folder.getRoot(), "UTF-8");
+
+        assertThat(dependencies.dependsOn("tags.ftl", Collections.singleton("footer.ftl"))).isTrue();
+        assertThat(dependencies.dependsOn("tags.ftl", Collections.singleton("header.ftl"))).isFalse();
+        assertThat(dependencies.dependsOn("index.tpl", Collections.singleton("menu.tpl"))).isTrue();
+        assertThat(dependencies.dependsOn("index.tpl", Collections.singleton("feed.ftl"))).isFalse();
+        assertThat(dependencies.dependsOn("archive.thyme", Collections.singleton("header.ftl"))).isTrue();
+        assertThat(dependencies.dependsOn("post.jade", Collections.singleton("footer.ftl"))).isTrue();
+    }
+
+    @Test
+    public void shouldDependOnAllTemplatesIfIncludeIsComputed() throws Exception {
+        write("archive.ftl", "<#include \"${name}.ftl\">");
+        write("tags.ftl", "<#include name + \".ftl\">");
+        TemplateDependencies dependencies = new TemplateDependencies(folder.getRoot(), "UTF-8");
+
+        assertThat(dependencies.dependsOn("archive.ftl", Collections.singleton("feed.ftl"))).isTrue();
+        assertThat(dependencies.dependsOn("tags.ftl", Collections.singleton("header.ftl"))).isTrue();
+        assertThat(dependencies.dependsOn("feed.ftl", Collections.singleton("header.ftl"))).isFalse();
+    }
+
+    @Test
+    public void shouldFindTemplatesNotIncludedByAnyTemplate() throws Exception {
+        write("sidebar.ftl", "<aside></aside>");
+        write("tags.ftl", "<@macros.sidebar/>");
+        TemplateDependencies dependencies = new TemplateDependencies(folder.getRoot(), "UTF-8");
+
+        assertThat(dependencies.findUnattributed(Arrays.asList("post.ftl", "page.ftl", "feed.ftl", "tags.ftl"),
+            Arrays.asList("header.ftl", "footer.ftl", "sidebar.ftl", "feed.thyme"))).containsOnly("sidebar.ftl");
+    }
+
+    @Test
+    public void shouldChangeSignatureOnlyIfTemplateOrIncludeChanged() throws Exception {
+        TemplateDependencies before = new TemplateDependencies(folder.getRoot(), "UTF-8");
+
+        write("header.ftl", "<html><head><title>changed</title></head>");
+        TemplateDependencies after = new TemplateDependencies(folder.getRoot(), "UTF-8");
+
+        assertThat(after.getSignature("post.ftl")).isNotEqualTo(before.getSignature("post.ftl"));
+        assertThat(after.getSignature("page.ftl")).isEqualTo(before.getSignature("page.ftl"));
+        assertThat(after.getSignature("feed.ftl")).isEqualTo(before.getSignature("feed.ftl"));
+    }
+
+    @Test
+    public void shouldFallBackToTemplateWithOtherExtension() throws Exception {
+        TemplateDependencies dependencies = new TemplateDependencies(folder.getRoot(), "UTF-8");
+
+        assertThat(dependencies.getSignature("post.thyme")).isEqualTo(dependencies.getSignature("post.ftl"));
+        assertThat(dependencies.dependsOn("post.thyme", Collections.singleton("header.ftl"))).isTrue();
+    }
+
+    private void write(String name, String content) throws Exception {
+        File file = new File(folder.getRoot(), name);
+        file.getParentFile().mkdirs();
+        Files.write(file.toPath(), content.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,58 @@
+package org.jbake.template.model;
+
+import org.jbake.FakeDocumentBuilder;
+import org.jbake.app.ContentStoreIntegrationTest;
+import org.jbake.app.DocumentList;
+import org.jbake.model.DocumentTypes;
+import org.jbake.model.ModelAttributes;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TagsExtractorTest extends ContentStoreIntegrationTest {
+
+    private Map<String, Object> model;
+
+    @Before
+    public void setUpOwn() {
+        DocumentTypes.addDocumentType("post");
+        DocumentTypes.addDocumentType("page");
+        Map<String, Object> configModel = new HashMap<>();
+        configModel.put("tag_path", "tags");
+        configModel.put("output_extension", ".html");
+        model = new HashMap<>();
+        model.put(ModelAttributes.CONFIG, configModel);
+    }
+
+    @Test
+    public void shouldCountTaggedDocumentsWithoutLoadingThem() {
+        new FakeDocumentBuilder("post").withUri("first.html").withTags("java", "groovy").withStatus("published").build();
+        new FakeDocumentBuilder("post").withUri("second.html").withTags("java").withStatus("published").build();
+        new FakeDocumentBuilder("page").withUri("about.html").withTags("java").withStatus("published").build();
+        new FakeDocumentBuilder("post").withUri("draft.html").withTags("java", "draft").withStatus("draft").build();
+
+        DocumentList tags = new TagsExtractor().get(db, model, "tags");
+
+        assertThat(tags).hasSize(2);
+        TemplateModel groovy = (TemplateModel) tags.get(0);
+        TemplateModel java = (TemplateModel) tags.get(1);
+        assertThat(groovy.get("name")).isEqualTo("groovy");
+        assertThat(java.get("name")).isEqualTo("java");
+        assertThat(java.get("uri")).isEqualTo("tags/java.html");
+        assertThat(java.get(ModelAttributes.TAGGED_POSTS_COUNT)).isEqualTo(2);
+        assertThat(java.get(ModelAttributes.TAGGED_DOCUMENTS_COUNT)).isEqualTo(3);
+
+        LazyDocumentList taggedPosts = (LazyDocumentList) java.get(ModelAttributes.TAGGED_POSTS);
+        assertThat(taggedPosts.size()).isEqualTo(2);
+        assertThat(taggedPosts.isLoaded()).isFalse();
+
+        assertThat((List<?>) java.get(ModelAttributes.TAGGED_DOCUMENTS)).hasSize(3);
+        assertThat(taggedPosts.get(0)).isNotNull();
+        assertThat(taggedPosts.isLoaded()).isTrue();
+    }
+}
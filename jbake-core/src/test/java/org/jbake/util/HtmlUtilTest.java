@@ -5,13 +5,22 @@ import org.jbake.app.configuration.ConfigUtil;
 import org.jbake.app.configuration.DefaultJBakeConfiguration;
 import org.jbake.model.DocumentModel;
 import org.junit.Before;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.File;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
 
 public class HtmlUtilTest {
 
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
     private DefaultJBakeConfiguration config;
 
     @Before
@@ -174,4 +183,42 @@ public class HtmlUtilTest {
 
         assertThat(body).contains("src=\"https://example.com/first.jpg\"");
     }
+
+    @Test
+    public void shouldAddSrcsetOfImageVariants() {
+        DocumentModel fileContent = new DocumentModel();
+        fileContent.setRootPath("../../../");
+        fileContent.setUri("blog/2017/05/first_post.html");
+        fileContent.setBody("<div><img src='/img/first.jpg' /><img src='https://example.com/first.jpg' />"
+            + "<img src='/img/second.jpg' srcset='/img/second@2x.jpg 2x' /><img src='/img/logo.svg' /></div>");
+        config.setImgDerivativeWidths(320, 640);
+
+        HtmlUtil.addImageSrcset(fileContent, config);
+
+        String body = fileContent.getBody();
+
+        assertThat(body).contains("src=\"/img/first.jpg\" srcset=\"/img/first-320w.jpg 320w, /img/first-640w.jpg 640w\"");
+        assertThat(body).contains("src=\"https://example.com/first.jpg\">");
+        assertThat(body).contains("srcset=\"/img/second@2x.jpg 2x\"");
+        assertThat(body).contains("src=\"/img/logo.svg\">");
+    }
+
+    @Test
+    public void shouldOnlyAddSrcsetOfVariantsNarrowerThanImage() throws Exception {
+        File images = folder.newFolder("img");
+        ImageIO.write(new BufferedImage(500, 100, BufferedImage.TYPE_INT_RGB), "png", new File(images, "photo.png"));
+        ImageIO.write(new BufferedImage(200, 100, BufferedImage.TYPE_INT_RGB), "png", new File(images, "icon.png"));
+        config.setAssetFolder(folder.getRoot());
+        config.setImgDerivativeWidths(320, 640, 1024);
+        DocumentModel fileContent = new DocumentModel();
+        fileContent.setUri("blog/2017/05/first_post.html");
+        fileContent.setBody("<div><img src='/img/photo.png' /><img src='/img/icon.png' /></div>");
+
+        HtmlUtil.addImageSrcset(fileContent, config);
+
+        String body = fileContent.getBody();
+
+        assertThat(body).contains("src=\"/img/photo.png\" srcset=\"/img/photo-320w.png 320w, /img/photo.png 500w\"");
+        assertThat(body).contains("src=\"/img/icon.png\">");
+    }
 }
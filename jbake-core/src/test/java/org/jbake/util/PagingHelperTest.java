@@ -61,4 +61,15 @@ public class PagingHelperTest {
 
         Assert.assertThat("3/", is( nextFileName) );
     }
-}
\ No newline at end of file
+
+    @Test
+    public void shouldReturnFileNamesOfPagesNextToFirstPage() throws Exception {
+        PagingHelper helper = new PagingHelper(5,2);
+
+        Assert.assertNull( helper.getPreviousFileName(1, "java.html") );
+        Assert.assertThat("java.html", is( helper.getPreviousFileName(2, "java.html") ) );
+        Assert.assertThat("2/java.html", is( helper.getPreviousFileName(3, "java.html") ) );
+        Assert.assertThat("3/java.html", is( helper.getNextFileName(2, "java.html") ) );
+        Assert.assertNull( helper.getNextFileName(3, "java.html") );
+    }
+}
@@ -0,0 +1,54 @@
+package org.jbake.util;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class RenderTimingsTest {
+
+    @Test
+    public void shouldNotRecordWhenNotStarted() {
+        RenderTimings timings = new RenderTimings();
+
+        assertThat(timings.begin()).isZero();
+        timings.recordTemplate("post.ftl", System.nanoTime() - 5000000L);
+
+        assertThat(timings.report(10)).doesNotContain("post.ftl");
+    }
+
+    @Test
+    public void shouldReportSlowestFirst() throws Exception {
+        RenderTimings timings = new RenderTimings();
+        timings.start();
+
+        long start = timings.begin();
+        timings.recordOutput("fast.html", start);
+        timings.recordTemplate("page.ftl", start);
+        start = timings.begin();
+        Thread.sleep(20);
+        timings.recordOutput("slow.html", start);
+        timings.recordTemplate("post.ftl", start);
+        timings.recordExtractor("all_content", start);
+        timings.stop();
+
+        String report = timings.report(1);
+        assertThat(report).contains("slow.html").doesNotContain("fast.html");
+        assertThat(report).contains("post.ftl (1 renders, p50").doesNotContain("page.ftl");
+        assertThat(report).contains("all_content (1 calls)");
+        assertThat(timings.report(10)).contains("fast.html").contains("page.ftl");
+    }
+
+    @Test
+    public void shouldComputeTemplatePercentiles() {
+        RenderTimings timings = new RenderTimings();
+        timings.start();
+        for (int i = 1; i <= 100; i++) {
+            timings.recordTemplate("post.ftl", System.nanoTime() - i * 1000000L);
+        }
+
+        assertThat(timings.getTemplatePercentile("post.ftl", 50)).isBetween(50L, 52L);
+        assertThat(timings.getTemplatePercentile("post.ftl", 95)).isBetween(95L, 97L);
+        assertThat(timings.getTemplatePercentile("post.ftl", 99)).isBetween(99L, 101L);
+        assertThat(timings.getTemplatePercentile("page.ftl", 50)).isZero();
+    }
+}